@@ -0,0 +1,79 @@
+package org.vaadin.miki.superfields.collections;
+
+import com.github.mvysny.kaributesting.v10.MockVaadin;
+import com.vaadin.flow.component.textfield.TextField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks of repainting {@link CollectionField}.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CollectionFieldBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private CollectionField<String, List<String>> field;
+
+    private List<String> values;
+
+    private List<String> otherValues;
+
+    private boolean other;
+
+    @Setup
+    public void setUp() {
+        MockVaadin.setup();
+        this.values = IntStream.range(0, this.size).mapToObj(i -> "item " + i).collect(Collectors.toCollection(ArrayList::new));
+        // one element removed from the middle, one added at the end
+        this.otherValues = new ArrayList<>(this.values);
+        this.otherValues.remove(this.size / 2);
+        this.otherValues.add("extra item");
+        this.field = new CollectionField<>(ArrayList::new, (CollectionValueComponentProvider<String, TextField>) (index, controller) -> new TextField());
+        this.field.setValue(this.values);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockVaadin.tearDown();
+    }
+
+    @Benchmark
+    public CollectionField<String, List<String>> repaintFields() {
+        this.field.repaintFields(this.values);
+        return this.field;
+    }
+
+    @Benchmark
+    public CollectionField<String, List<String>> setValue() {
+        this.other = !this.other;
+        this.field.setValue(this.other ? this.otherValues : this.values);
+        return this.field;
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.vaadin.miki.superfields.dates;
+
+import com.github.mvysny.kaributesting.v10.MockVaadin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.miki.shared.dates.DatePattern;
+import org.vaadin.miki.shared.dates.DatePatterns;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of formatting dates with {@link DatePattern}s.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatePatternBenchmark {
+
+    /**
+     * Names of the patterns in {@link DatePatterns}.
+     */
+    @Param({"YYYY_MM_DD", "D_M_YY_DOTTED", "D_MMMM_YYYY"})
+    private String patternName;
+
+    private DatePatternDelegate<SuperDatePicker> delegate;
+
+    private final LocalDate date = LocalDate.of(2026, 10, 8);
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        MockVaadin.setup();
+        final SuperDatePicker picker = new SuperDatePicker(Locale.ENGLISH);
+        picker.setDatePattern((DatePattern) DatePatterns.class.getField(this.patternName).get(null));
+        this.delegate = new DatePatternDelegate<>(picker);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockVaadin.tearDown();
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return this.delegate.formatDate(this.date);
+    }
+
+}
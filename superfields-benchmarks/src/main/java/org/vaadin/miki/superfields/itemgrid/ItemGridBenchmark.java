@@ -0,0 +1,95 @@
+package org.vaadin.miki.superfields.itemgrid;
+
+import com.github.mvysny.kaributesting.v10.MockVaadin;
+import com.vaadin.flow.data.provider.ListDataProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks of repainting {@link ItemGrid}.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemGridBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private ItemGrid<Integer> grid;
+
+    private ItemGrid<Integer> incrementalGrid;
+
+    private ItemGrid<Integer> lazyGrid;
+
+    private List<Integer> items;
+
+    private List<Integer> otherItems;
+
+    private boolean other;
+
+    @Setup
+    public void setUp() {
+        MockVaadin.setup();
+        this.items = IntStream.range(0, this.size).boxed().toList();
+        // every tenth item is different
+        this.otherItems = IntStream.range(0, this.size).map(i -> i % 10 == 0 ? -i - 1 : i).boxed().toList();
+        this.grid = new ItemGrid<Integer>().withColumnCount(5);
+        this.grid.setItems(this.items);
+        this.incrementalGrid = new ItemGrid<Integer>().withColumnCount(5).withIncrementalRepaintEnabled(true);
+        this.incrementalGrid.setItems(this.items);
+        this.lazyGrid = new ItemGrid<Integer>().withColumnCount(5).withDataProvider(new ListDataProvider<>(this.items));
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockVaadin.tearDown();
+    }
+
+    @Benchmark
+    public ItemGrid<Integer> repaintAllItems() {
+        this.grid.repaintAllItems();
+        return this.grid;
+    }
+
+    @Benchmark
+    public ItemGrid<Integer> setItems() {
+        this.other = !this.other;
+        this.grid.setItems(this.other ? this.otherItems : this.items);
+        return this.grid;
+    }
+
+    @Benchmark
+    public ItemGrid<Integer> repaintLazily() {
+        this.lazyGrid.repaintAllItems();
+        return this.lazyGrid;
+    }
+
+    @Benchmark
+    public ItemGrid<Integer> setItemsIncrementally() {
+        this.other = !this.other;
+        this.incrementalGrid.setItems(this.other ? this.otherItems : this.items);
+        return this.incrementalGrid;
+    }
+
+}
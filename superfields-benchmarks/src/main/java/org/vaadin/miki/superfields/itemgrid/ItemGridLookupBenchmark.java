@@ -0,0 +1,108 @@
+package org.vaadin.miki.superfields.itemgrid;
+
+import com.github.mvysny.kaributesting.v10.MockVaadin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks of finding cells in {@link ItemGrid}, compared to scanning all cells.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemGridLookupBenchmark {
+
+    private static final int COLUMNS = 10;
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private ItemGrid<Integer> grid;
+
+    private List<CellInformation<Integer>> cells;
+
+    private int counter;
+
+    @Setup
+    public void setUp() {
+        MockVaadin.setup();
+        this.grid = new ItemGrid<Integer>().withColumnCount(COLUMNS);
+        this.grid.setItems(IntStream.range(0, this.size).boxed().toList());
+        this.cells = this.grid.getCellInformation();
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockVaadin.tearDown();
+    }
+
+    // looks at different cells each time, but mostly at those in the second half of the grid
+    private int nextItem() {
+        this.counter = (this.counter + 7919) % this.size;
+        return (this.size + this.counter) / 2;
+    }
+
+    @Benchmark
+    public Optional<CellInformation<Integer>> findByValue() {
+        return this.grid.getCellInformation(Integer.valueOf(this.nextItem()));
+    }
+
+    @Benchmark
+    public Optional<CellInformation<Integer>> scanByValue() {
+        final Integer value = this.nextItem();
+        return this.cells.stream().filter(cell -> Objects.equals(cell.getValue(), value)).findFirst();
+    }
+
+    @Benchmark
+    public Optional<CellInformation<Integer>> findByPosition() {
+        final int item = this.nextItem();
+        return this.grid.getCellInformation(item / COLUMNS, item % COLUMNS);
+    }
+
+    @Benchmark
+    public Optional<CellInformation<Integer>> scanByPosition() {
+        final int item = this.nextItem();
+        return this.cells.stream().filter(cell -> cell.getRow() == item / COLUMNS && cell.getColumn() == item % COLUMNS).findFirst();
+    }
+
+    @Benchmark
+    public List<CellInformation<Integer>> findRow() {
+        return this.grid.getRowCellInformation(this.nextItem() / COLUMNS);
+    }
+
+    @Benchmark
+    public List<CellInformation<Integer>> scanRow() {
+        final int row = this.nextItem() / COLUMNS;
+        return this.cells.stream().filter(cell -> cell.getRow() == row).toList();
+    }
+
+    @Benchmark
+    public ItemGrid<Integer> selectValue() {
+        // setting the value looks up the cell to select
+        this.grid.setValue(this.nextItem());
+        return this.grid;
+    }
+
+}
@@ -0,0 +1,101 @@
+package org.vaadin.miki.superfields.numbers;
+
+import com.github.mvysny.kaributesting.v10.MockVaadin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of parsing and formatting in number fields.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberFieldBenchmark {
+
+    @Param({"en", "de-DE", "pl-PL", "de-CH"})
+    private String languageTag;
+
+    private SuperIntegerField integerField;
+    private SuperDoubleField doubleField;
+    private SuperBigDecimalField bigDecimalField;
+
+    private DecimalFormat format;
+
+    private String integerText;
+    private String doubleText;
+    private String bigDecimalText;
+
+    private final Double[] doubleValues = {1234567.891, -0.5, 42.0, 98765.4321};
+    private int index = 0;
+
+    @Setup
+    public void setUp() {
+        MockVaadin.setup();
+        final Locale locale = Locale.forLanguageTag(this.languageTag);
+        this.integerField = new SuperIntegerField(locale);
+        this.doubleField = new SuperDoubleField(locale);
+        this.doubleField.setMaximumFractionDigits(4);
+        this.bigDecimalField = new SuperBigDecimalField(locale, 6);
+        this.format = (DecimalFormat) NumberFormat.getInstance(locale);
+
+        this.integerText = this.format.format(-12345678);
+        this.doubleText = this.format.format(1234567.891);
+        this.bigDecimalText = this.format.format(new BigDecimal("-123456789012.345678"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        MockVaadin.tearDown();
+    }
+
+    @Benchmark
+    public Integer parseInteger() throws ParseException {
+        return this.integerField.parseRawValue(this.integerText);
+    }
+
+    @Benchmark
+    public Double parseDouble() throws ParseException {
+        return this.doubleField.parseRawValue(this.doubleText);
+    }
+
+    @Benchmark
+    public BigDecimal parseBigDecimal() throws ParseException {
+        return this.bigDecimalField.parseRawValue(this.bigDecimalText);
+    }
+
+    @Benchmark
+    public String formatDouble() {
+        this.index = (this.index + 1) % this.doubleValues.length;
+        this.doubleField.setValue(this.doubleValues[this.index]);
+        return this.doubleField.getRawValue();
+    }
+
+    @Benchmark
+    public String buildRegularExpression() {
+        return this.doubleField.buildRegularExpression(new StringBuilder(), this.format).toString();
+    }
+
+}
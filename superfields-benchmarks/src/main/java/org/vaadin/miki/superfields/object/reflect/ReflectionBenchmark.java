@@ -0,0 +1,189 @@
+package org.vaadin.miki.superfields.object.reflect;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vaadin.miki.superfields.object.Property;
+import org.vaadin.miki.util.ReflectTools;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of scanning classes for properties.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectionBenchmark {
+
+    /**
+     * Superclass of the scanned type, so that scanning the hierarchy is included.
+     */
+    public static class BaseBean {
+        private long id;
+        private String createdBy;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getCreatedBy() {
+            return createdBy;
+        }
+
+        public void setCreatedBy(String createdBy) {
+            this.createdBy = createdBy;
+        }
+    }
+
+    /**
+     * A typical data object.
+     */
+    public static class Bean extends BaseBean {
+        private String firstName;
+        private String lastName;
+        private int age;
+        private boolean active;
+        private BigDecimal balance;
+        private LocalDate birthDate;
+        private List<String> tags;
+        private Double rating;
+        private String notes;
+        private transient int notAProperty;
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public void setLastName(String lastName) {
+            this.lastName = lastName;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public BigDecimal getBalance() {
+            return balance;
+        }
+
+        public void setBalance(BigDecimal balance) {
+            this.balance = balance;
+        }
+
+        public LocalDate getBirthDate() {
+            return birthDate;
+        }
+
+        public void setBirthDate(LocalDate birthDate) {
+            this.birthDate = birthDate;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public Double getRating() {
+            return rating;
+        }
+
+        public void setRating(Double rating) {
+            this.rating = rating;
+        }
+
+        public String getNotes() {
+            return notes;
+        }
+
+        public void setNotes(String notes) {
+            this.notes = notes;
+        }
+    }
+
+    private final Bean instance = new Bean();
+
+    private final ReflectivePropertyProvider cachingProvider = new ReflectivePropertyProvider();
+
+    private final List<Property<Bean, ?>> properties = this.cachingProvider.getObjectPropertyDefinitions(Bean.class, this.instance);
+
+    @Benchmark
+    public Map<Field, Method[]> extractFieldsWithMethods() {
+        return ReflectTools.extractFieldsWithMethods(Bean.class, false);
+    }
+
+    @Benchmark
+    public PropertyScan scanProperties() {
+        // bypasses the shared scans, so this measures the full scan (accessors are still reused from MethodAccessors)
+        return new PropertyScan(Bean.class);
+    }
+
+    @Benchmark
+    public List<Property<Bean, ?>> getObjectPropertyDefinitions() {
+        // a new provider has no properties cached, but the scan of the type is shared, so this measures building the properties
+        return new ReflectivePropertyProvider().getObjectPropertyDefinitions(Bean.class, this.instance);
+    }
+
+    @Benchmark
+    public List<Property<Bean, ?>> getCachedObjectPropertyDefinitions() {
+        return this.cachingProvider.getObjectPropertyDefinitions(Bean.class, this.instance);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Bean copyPropertyValues() {
+        // this is what ObjectField does when the value is set and read back
+        final Bean copy = new Bean();
+        for (Property<Bean, ?> property : this.properties) {
+            final Property<Bean, Object> definition = (Property<Bean, Object>) property;
+            definition.getSetter().ifPresent(setter -> setter.accept(copy, definition.getGetter().orElseThrow().apply(this.instance)));
+        }
+        return copy;
+    }
+
+}
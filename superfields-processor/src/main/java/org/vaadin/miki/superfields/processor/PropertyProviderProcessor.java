@@ -0,0 +1,409 @@
+package org.vaadin.miki.superfields.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Generates a {@code PropertyProvider} for each type marked with {@code GeneratePropertyProvider}.
+ * The types are scanned the same way {@code ReflectivePropertyProvider} does it at runtime, and the generated
+ * properties have the same metadata as the ones configured by {@code ObjectFieldFactory}. The difference is that
+ * getters and setters are plain lambdas and metadata is computed only once, so no reflection is needed.
+ * Types that use {@code UseActualType} are skipped with a warning, as their properties depend on the instance.
+ * Two marked types whose providers would have the same name (such as {@code Outer.Inner} and {@code Outer_Inner}) are reported as errors.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+@SupportedAnnotationTypes(PropertyProviderProcessor.GENERATE_ANNOTATION)
+public class PropertyProviderProcessor extends AbstractProcessor {
+
+    // the processor does not depend on superfields, so the names are repeated here
+    static final String GENERATE_ANNOTATION = "org.vaadin.miki.superfields.util.factory.GeneratePropertyProvider";
+    static final String GENERATED_CLASS_SUFFIX = "_PropertyProvider";
+
+    private static final String REFLECT_PACKAGE = "org.vaadin.miki.superfields.object.reflect.";
+    private static final String FACTORY_PACKAGE = "org.vaadin.miki.superfields.util.factory.";
+    private static final String IGNORE_ANNOTATION = REFLECT_PACKAGE + "Ignore";
+    private static final String DO_NOT_SCAN_SUPERCLASSES_ANNOTATION = REFLECT_PACKAGE + "DoNotScanSuperclasses";
+    private static final String USE_ACTUAL_TYPE_ANNOTATION = REFLECT_PACKAGE + "UseActualType";
+
+    private static final String PROPERTY = "org.vaadin.miki.superfields.object.Property";
+    private static final String PROPERTY_METADATA = "org.vaadin.miki.superfields.object.PropertyMetadata";
+    private static final String METADATA_PROPERTIES = FACTORY_PACKAGE + "MetadataProperties.";
+
+    /**
+     * How the value of an annotation is turned into metadata.
+     */
+    private enum ValueKind {
+        STRING("java.lang.String.class"), INT("int.class"), PRESENCE("boolean.class"), CLASS("java.lang.Class.class"), STRING_ARRAY("java.lang.String[].class");
+
+        private final String typeLiteral;
+
+        ValueKind(String typeLiteral) {
+            this.typeLiteral = typeLiteral;
+        }
+    }
+
+    /**
+     * Annotations mapped to metadata, in the same way as in {@code ObjectFieldFactory}.
+     * Each entry is: annotation name, metadata constant, value kind.
+     */
+    private static final Object[][] ANNOTATION_METADATA = {
+            {FACTORY_PACKAGE + "FieldGroup", "GROUP_METADATA_PROPERTY", ValueKind.STRING},
+            {FACTORY_PACKAGE + "FieldOrder", "ORDER_METADATA_PROPERTY", ValueKind.INT},
+            {FACTORY_PACKAGE + "BigField", "MULTILINE_METADATA_PROPERTY", ValueKind.PRESENCE},
+            {FACTORY_PACKAGE + "FieldCaption", "CAPTION_METADATA_PROPERTY", ValueKind.STRING},
+            {FACTORY_PACKAGE + "ShowFieldAs", "SHOW_AS_COMPONENT_METADATA_PROPERTY", ValueKind.CLASS},
+            {FACTORY_PACKAGE + "BuildFieldWith", "COMPONENT_BUILDER_METADATA_PROPERTY", ValueKind.CLASS},
+            {FACTORY_PACKAGE + "ComponentId", "COMPONENT_ID_METADATA_PROPERTY", ValueKind.STRING},
+            {FACTORY_PACKAGE + "ComponentStyle", "COMPONENT_STYLE_METADATA_PROPERTY", ValueKind.STRING_ARRAY},
+    };
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations)
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS)
+                    this.error(element, "only classes can have generated property providers");
+                else if (element.getModifiers().contains(Modifier.PRIVATE) || ((TypeElement) element).getNestingKind() == NestingKind.MEMBER && !element.getModifiers().contains(Modifier.STATIC))
+                    this.error(element, "property providers cannot be generated for private or inner (non-static) classes");
+                else this.generate((TypeElement) element);
+            }
+        return false;
+    }
+
+    private void error(Element element, String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void generate(TypeElement type) {
+        final List<ScannedProperty> properties = this.scan(type);
+        final Optional<ScannedProperty> actualType = properties.stream().filter(property -> this.findAnnotation(property.getField(), USE_ACTUAL_TYPE_ANNOTATION).isPresent()).findFirst();
+        if (actualType.isPresent()) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "properties depend on the actual type of the value, so the provider will not be generated; reflection will be used instead", actualType.get().getField());
+            return;
+        }
+
+        final String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        final String className = this.getGeneratedSimpleName(type);
+        final Optional<TypeElement> clash = this.findTypeWithSameGeneratedName(type, packageName, className);
+        if (clash.isPresent()) {
+            this.error(type, "the property provider would have the same name as the one generated for " + clash.get().getQualifiedName() + "; rename one of the types");
+            return;
+        }
+        final String typeName = this.typeName(type.asType());
+        try (PrintWriter out = new PrintWriter(this.processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? className : packageName + "." + className, type).openWriter())) {
+            if (!packageName.isEmpty())
+                out.printf("package %s;%n%n", packageName);
+            out.printf("/**%n * Properties of {@link %s}, generated at compile time.%n */%n", typeName);
+            out.printf("@javax.annotation.processing.Generated(\"%s\")%n", PropertyProviderProcessor.class.getName());
+            out.printf("@SuppressWarnings({\"unchecked\", \"rawtypes\", \"serial\"})%n");
+            out.printf("public final class %s implements org.vaadin.miki.superfields.object.PropertyProvider {%n%n", className);
+            out.printf("    private static final java.util.List<%s<%s, ?>> PROPERTIES = java.util.List.of(", PROPERTY, typeName);
+            for (int index = 0; index < properties.size(); index++)
+                out.printf("%s%n            %s", index == 0 ? "" : ",", this.propertyExpression(typeName, properties.get(index)));
+            out.printf("%n    );%n%n");
+            out.printf("    @Override%n");
+            out.printf("    public <T> java.util.List<%s<T, ?>> getObjectPropertyDefinitions(java.lang.Class<T> type, T instance) {%n", PROPERTY);
+            out.printf("        return (java.util.List) PROPERTIES;%n");
+            out.printf("    }%n%n}%n");
+        } catch (IOException e) {
+            this.error(type, "could not generate the property provider: " + e.getMessage());
+        }
+    }
+
+    private String getGeneratedSimpleName(TypeElement type) {
+        final StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Element enclosing = type.getEnclosingElement(); !(enclosing instanceof PackageElement); enclosing = enclosing.getEnclosingElement())
+            name.insert(0, enclosing.getSimpleName() + "_");
+        return name.append(GENERATED_CLASS_SUFFIX).toString();
+    }
+
+    /**
+     * Finds another type marked with {@code GeneratePropertyProvider} that would get a provider with the same name.
+     * As enclosing types are separated with {@code _}, {@code Outer.Inner} and {@code Outer_Inner} are both candidates.
+     * @param type Type to generate the provider for.
+     * @param packageName Package of the type.
+     * @param className Simple name of the generated provider.
+     * @return The other type, if any.
+     */
+    private Optional<TypeElement> findTypeWithSameGeneratedName(TypeElement type, String packageName, String className) {
+        final String[] parts = className.substring(0, className.length() - GENERATED_CLASS_SUFFIX.length()).split("_", -1);
+        // each underscore is either a part of a name or a separator of enclosing types
+        for (long separators = 0; separators < 1L << (parts.length - 1); separators++) {
+            final StringBuilder name = new StringBuilder(packageName.isEmpty() ? "" : packageName + ".").append(parts[0]);
+            for (int index = 1; index < parts.length; index++)
+                name.append((separators & 1L << (index - 1)) == 0 ? "_" : ".").append(parts[index]);
+            // names with empty parts (from leading, trailing or doubled underscores) cannot be nested
+            final boolean valid = name.indexOf("..") < 0 && name.charAt(0) != '.' && name.charAt(name.length() - 1) != '.';
+            final TypeElement candidate = valid ? this.processingEnv.getElementUtils().getTypeElement(name) : null;
+            if (candidate != null && !candidate.equals(type) && this.findAnnotation(candidate, GENERATE_ANNOTATION).isPresent())
+                return Optional.of(candidate);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds fields with getters and setters, following the same rules as {@code ReflectTools.extractFieldsWithMethods}.
+     * Just like there, each field is a separate property, even if a superclass declares a field with the same name.
+     * @param type Type to scan.
+     * @return Properties, in the order of declaration, starting from the given type.
+     */
+    private List<ScannedProperty> scan(TypeElement type) {
+        final List<VariableElement> fields = new ArrayList<>();
+        final boolean ignoreSuperclasses = this.findAnnotation(type, DO_NOT_SCAN_SUPERCLASSES_ANNOTATION).isPresent();
+        TypeElement toScan = type;
+        while (toScan != null && !toScan.getQualifiedName().contentEquals(Object.class.getName())) {
+            fields.addAll(ElementFilter.fieldsIn(toScan.getEnclosedElements()));
+            toScan = ignoreSuperclasses || toScan.getSuperclass().getKind() != TypeKind.DECLARED ? null : (TypeElement) ((DeclaredType) toScan.getSuperclass()).asElement();
+        }
+
+        // the same methods as Class.getMethods(), so static ones are still here
+        final List<ExecutableElement> methods = ElementFilter.methodsIn(this.processingEnv.getElementUtils().getAllMembers(type)).stream()
+                .filter(method -> method.getModifiers().contains(Modifier.PUBLIC))
+                .toList();
+
+        final List<ScannedProperty> result = new ArrayList<>();
+        for (VariableElement field : fields) {
+            if (this.findAnnotation(field, IGNORE_ANNOTATION).isPresent())
+                continue;
+            final ExecutableElement getter = this.findGetter(field, methods);
+            final ExecutableElement setter = this.findSetter(field, methods);
+            if (getter != null || setter != null)
+                result.add(new ScannedProperty(field, getter, setter));
+        }
+        return result;
+    }
+
+    private static String capitalised(VariableElement field) {
+        final String name = field.getSimpleName().toString();
+        return name.substring(0, 1).toUpperCase(Locale.ROOT) + name.substring(1);
+    }
+
+    private static boolean isStatic(ExecutableElement method) {
+        return method.getModifiers().contains(Modifier.STATIC);
+    }
+
+    /**
+     * Finds a no-argument method of a given name, the same way {@code ReflectTools} does: when there is more than one
+     * (e.g. due to covariant return types), the one with the most specific return type is chosen.
+     * @param methods Methods to look in.
+     * @param name Name of the method.
+     * @return The method, or {@code null} when there is none.
+     */
+    private ExecutableElement findNoArgMethod(List<ExecutableElement> methods, String name) {
+        ExecutableElement result = null;
+        for (ExecutableElement method : methods)
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().isEmpty()) {
+                final TypeMirror returnType = this.erasure(method.getReturnType());
+                if (result == null || !this.processingEnv.getTypeUtils().isSameType(this.erasure(result.getReturnType()), returnType) && this.isAssignable(returnType, this.erasure(result.getReturnType())))
+                    result = method;
+            }
+        return result;
+    }
+
+    private ExecutableElement findGetter(VariableElement field, List<ExecutableElement> methods) {
+        final TypeMirror fieldType = this.erasure(field.asType());
+        final boolean isBoolean = fieldType.getKind() == TypeKind.BOOLEAN || this.typeName(fieldType).equals(Boolean.class.getName());
+        for (String prefix : isBoolean ? new String[]{"is", "get", "are"} : new String[]{"get"}) {
+            final ExecutableElement method = this.findNoArgMethod(methods, prefix + capitalised(field));
+            // the most specific method is checked, not the first compatible one
+            if (method != null && !isStatic(method) && this.isAssignable(fieldType, this.erasure(method.getReturnType())))
+                return method;
+        }
+        return null;
+    }
+
+    private ExecutableElement findSetter(VariableElement field, List<ExecutableElement> methods) {
+        final TypeMirror fieldType = this.erasure(field.asType());
+        final String name = "set" + capitalised(field);
+        for (ExecutableElement method : methods)
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == 1 && !isStatic(method) && this.isAssignable(this.erasure(method.getParameters().get(0).asType()), fieldType))
+                return method;
+        return null;
+    }
+
+    /**
+     * Checks types the same way as {@link Class#isAssignableFrom(Class)}, so primitives must match exactly.
+     * @param type Type to check.
+     * @param target Type to assign to.
+     * @return Whether a value of {@code type} can be assigned to {@code target}.
+     */
+    private boolean isAssignable(TypeMirror type, TypeMirror target) {
+        if (type.getKind().isPrimitive() || target.getKind().isPrimitive())
+            return this.processingEnv.getTypeUtils().isSameType(type, target);
+        else return this.processingEnv.getTypeUtils().isSubtype(type, target);
+    }
+
+    private TypeMirror erasure(TypeMirror type) {
+        return this.processingEnv.getTypeUtils().erasure(type);
+    }
+
+    /**
+     * Returns the name of a type that can be used in the generated code.
+     * @param type Type. Generics are ignored.
+     * @return Name of the type.
+     */
+    private String typeName(TypeMirror type) {
+        final TypeMirror erased = this.erasure(type);
+        if (erased.getKind() == TypeKind.DECLARED)
+            return ((TypeElement) ((DeclaredType) erased).asElement()).getQualifiedName().toString();
+        else if (erased.getKind() == TypeKind.ARRAY)
+            return this.typeName(((ArrayType) erased).getComponentType()) + "[]";
+        else return erased.toString();
+    }
+
+    /**
+     * Same as {@link #typeName(TypeMirror)}, except primitives are boxed, so that the result can be used as a type argument.
+     * @param type Type.
+     * @return Name of the type.
+     */
+    private String boxedTypeName(TypeMirror type) {
+        if (type.getKind().isPrimitive())
+            return this.processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        else return this.typeName(type);
+    }
+
+    private Optional<AnnotationMirror> findAnnotation(Element element, String annotationName) {
+        if (element == null)
+            return Optional.empty();
+        return element.getAnnotationMirrors().stream()
+                .filter(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName))
+                .findFirst()
+                .map(AnnotationMirror.class::cast);
+    }
+
+    private String propertyExpression(String ownerName, ScannedProperty property) {
+        final TypeMirror fieldType = property.getField().asType();
+        final String valueName = this.boxedTypeName(this.erasure(fieldType));
+        final String setter;
+        if (property.getSetter() == null)
+            setter = "null";
+        else {
+            final TypeMirror parameterType = this.erasure(property.getSetter().getParameters().get(0).asType());
+            final String cast = this.processingEnv.getTypeUtils().isSameType(parameterType, this.erasure(fieldType)) ? "" : "(" + this.typeName(parameterType) + ") ";
+            setter = String.format("(object, value) -> object.%s(%svalue)", property.getSetter().getSimpleName(), cast);
+        }
+        final String getter;
+        if (property.getGetter() == null)
+            getter = "null";
+        else {
+            final TypeMirror returnType = this.erasure(property.getGetter().getReturnType());
+            final String cast = this.processingEnv.getTypeUtils().isSameType(returnType, this.erasure(fieldType)) ? "" : "(" + valueName + ") ";
+            getter = String.format("object -> %sobject.%s()", cast, property.getGetter().getSimpleName());
+        }
+        return String.format("new %s<%s, %s>(%s.class, \"%s\", %s.class,%n                    %s,%n                    %s,%n                    %s)",
+                PROPERTY, ownerName, valueName, ownerName, property.getName(), this.typeName(fieldType), setter, getter, this.metadataExpression(property));
+    }
+
+    /**
+     * Builds the metadata, the same way as the property provider in {@code ObjectFieldFactory} does.
+     * The processor does not depend on superfields, so the rules are repeated here; {@code PropertyProviderProcessorTest} checks that they match.
+     * @param property Property.
+     * @return Code that creates a list of metadata.
+     */
+    private String metadataExpression(ScannedProperty property) {
+        final List<String> metadata = new ArrayList<>();
+        for (Object[] mapping : ANNOTATION_METADATA)
+            this.findAnnotation(property.getField(), (String) mapping[0])
+                    .or(() -> this.findAnnotation(property.getSetter(), (String) mapping[0]))
+                    .or(() -> this.findAnnotation(property.getGetter(), (String) mapping[0]))
+                    .ifPresent(annotation -> metadata.add(this.metadata((String) mapping[1], (ValueKind) mapping[2], annotation)));
+        if (property.getSetter() == null)
+            metadata.add(this.metadata("READ_ONLY_METADATA_PROPERTY", "boolean.class", "true"));
+
+        final TypeMirror fieldType = property.getField().asType();
+        this.enumMetadata(fieldType).ifPresent(metadata::add);
+        final Element declaringType = property.getField().getEnclosingElement();
+        final String ownerName = this.typeName(declaringType.asType());
+        final List<? extends TypeMirror> typeArguments = fieldType.getKind() == TypeKind.DECLARED ? ((DeclaredType) fieldType).getTypeArguments() : List.of();
+        if (this.isSubtypeOf(fieldType, Collection.class.getName()) && !typeArguments.isEmpty() && this.isClass(typeArguments.get(0))) {
+            metadata.add(this.metadata("COLLECTION_ELEMENT_TYPE_METADATA_PROPERTY", PROPERTY + ".class", this.elementPropertyExpression(ownerName, property.getName(), typeArguments.get(0), false)));
+            this.enumMetadata(typeArguments.get(0)).ifPresent(metadata::add);
+        }
+        else if (this.isSubtypeOf(fieldType, Map.class.getName()) && typeArguments.size() > 1 && this.isClass(typeArguments.get(0)) && this.isClass(typeArguments.get(1))) {
+            metadata.add(this.metadata("MAP_KEY_TYPE_METADATA_PROPERTY", PROPERTY + ".class", this.elementPropertyExpression(ownerName, property.getName(), typeArguments.get(0), true)));
+            metadata.add(this.metadata("MAP_VALUE_TYPE_METADATA_PROPERTY", PROPERTY + ".class", this.elementPropertyExpression(ownerName, property.getName(), typeArguments.get(1), true)));
+        }
+        return metadata.isEmpty() ? "java.util.List.of()" : "java.util.List.of(\n                        " + String.join(",\n                        ", metadata) + ")";
+    }
+
+    private boolean isClass(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED || type.getKind() == TypeKind.ARRAY;
+    }
+
+    private boolean isSubtypeOf(TypeMirror type, String superTypeName) {
+        final TypeElement superType = this.processingEnv.getElementUtils().getTypeElement(superTypeName);
+        return type.getKind() == TypeKind.DECLARED && this.processingEnv.getTypeUtils().isAssignable(this.erasure(type), this.erasure(superType.asType()));
+    }
+
+    private String elementPropertyExpression(String ownerName, String name, TypeMirror type, boolean withEnumMetadata) {
+        final String metadata = withEnumMetadata ? this.enumMetadata(type).map(enumMetadata -> ", java.util.List.of(" + enumMetadata + ")").orElse(", java.util.List.of()") : "";
+        return String.format("new %s<%s, %s>(%s.class, \"%s\", %s.class, null, null%s)", PROPERTY, ownerName, this.typeName(type), ownerName, name, this.typeName(type), metadata);
+    }
+
+    private Optional<String> enumMetadata(TypeMirror type) {
+        final TypeMirror erased = this.erasure(type);
+        if (erased.getKind() == TypeKind.DECLARED && ((DeclaredType) erased).asElement().getKind() == ElementKind.ENUM)
+            return Optional.of(this.metadata("AVAILABLE_ITEMS_METADATA_PROPERTY", "java.util.List.class", "java.util.Arrays.asList(" + this.typeName(erased) + ".values())"));
+        else return Optional.empty();
+    }
+
+    private String metadata(String constant, String typeLiteral, String value) {
+        return String.format("new %s(%s%s, %s, %s)", PROPERTY_METADATA, METADATA_PROPERTIES, constant, typeLiteral, value);
+    }
+
+    private String metadata(String constant, ValueKind kind, AnnotationMirror annotation) {
+        final AnnotationValue value = this.processingEnv.getElementUtils().getElementValuesWithDefaults(annotation).entrySet().stream()
+                .filter(entry -> entry.getKey().getSimpleName().contentEquals("value"))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+        final String code = switch (kind) {
+            case PRESENCE -> "true";
+            case STRING, INT -> this.processingEnv.getElementUtils().getConstantExpression(value.getValue());
+            case CLASS -> this.typeName((TypeMirror) value.getValue()) + ".class";
+            case STRING_ARRAY -> {
+                final List<String> strings = new ArrayList<>();
+                for (Object element : (List<?>) value.getValue())
+                    strings.add(this.processingEnv.getElementUtils().getConstantExpression(((AnnotationValue) element).getValue()));
+                yield "new java.lang.String[]{" + String.join(", ", strings) + "}";
+            }
+        };
+        return this.metadata(constant, kind.typeLiteral, code);
+    }
+
+}
@@ -0,0 +1,49 @@
+package org.vaadin.miki.superfields.processor;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.VariableElement;
+
+/**
+ * A field found in a type, together with its getter and setter (at least one of them is present).
+ * This is the compile-time counterpart of what {@code ReflectTools.extractFieldsWithMethods} finds at runtime.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+final class ScannedProperty {
+
+    private final VariableElement field;
+    private final ExecutableElement getter;
+    private final ExecutableElement setter;
+
+    ScannedProperty(VariableElement field, ExecutableElement getter, ExecutableElement setter) {
+        this.field = field;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    String getName() {
+        return this.field.getSimpleName().toString();
+    }
+
+    VariableElement getField() {
+        return field;
+    }
+
+    /**
+     * Returns the getter.
+     * @return The getter, or {@code null} when there is none.
+     */
+    ExecutableElement getGetter() {
+        return getter;
+    }
+
+    /**
+     * Returns the setter.
+     * @return The setter, or {@code null} when there is none.
+     */
+    ExecutableElement getSetter() {
+        return setter;
+    }
+
+}
@@ -0,0 +1,260 @@
+package org.vaadin.miki.superfields.processor;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vaadin.miki.superfields.object.Property;
+import org.vaadin.miki.superfields.object.PropertyMetadata;
+import org.vaadin.miki.superfields.object.PropertyProvider;
+import org.vaadin.miki.superfields.object.util.GeneratedPropertyProvider;
+import org.vaadin.miki.superfields.util.factory.MetadataProperties;
+import org.vaadin.miki.superfields.util.factory.ObjectFieldFactory;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class PropertyProviderProcessorTest {
+
+    private static final String SOURCE = """
+            package test.model;
+
+            import org.vaadin.miki.superfields.object.reflect.Ignore;
+            import org.vaadin.miki.superfields.util.factory.*;
+            import java.util.List;
+
+            @GeneratePropertyProvider
+            public class Person extends Base {
+                public enum Kind { FIRST, SECOND }
+                @FieldCaption("Full name") @FieldOrder(2) private String name;
+                @BigField private String notes;
+                private int age;
+                private List<Kind> kinds;
+                @Ignore private String ignored;
+                private String hidden;
+                public String getName() { return name; }
+                public void setName(String name) { this.name = name; }
+                @FieldGroup("extra") public String getNotes() { return notes; }
+                public void setNotes(String notes) { this.notes = notes; }
+                public int getAge() { return age; }
+                public void setAge(int age) { this.age = age; }
+                public List<Kind> getKinds() { return kinds; }
+                public void setKinds(List<Kind> kinds) { this.kinds = kinds; }
+                public String getIgnored() { return ignored; }
+            }
+            """;
+
+    private static final String BASE_SOURCE = """
+            package test.model;
+
+            public class Base {
+                private long id;
+                public long getId() { return id; }
+            }
+            """;
+
+    private static final String PARITY_SOURCE = """
+            package test.model;
+
+            import com.vaadin.flow.component.textfield.TextArea;
+            import org.vaadin.miki.superfields.util.factory.*;
+            import java.util.List;
+            import java.util.Map;
+            import java.util.Set;
+
+            @GeneratePropertyProvider
+            public class Account extends Owned {
+                public enum Level { LOW, HIGH }
+                private Integer value;
+                private boolean active;
+                @ComponentId("level-field") private Level level;
+                @ComponentStyle({"first", "second"}) private Set<Level> levels;
+                private Map<Level, String> labels;
+                @ShowFieldAs(TextArea.class) private List<String> tags;
+                @Override @FieldCaption("Value") public Integer getValue() { return value; }
+                public void setValue(Integer value) { this.value = value; }
+                public boolean isActive() { return active; }
+                public static void setActive(boolean active) { }
+                public Level getLevel() { return level; }
+                public void setLevel(Level level) { this.level = level; }
+                public Set<Level> getLevels() { return levels; }
+                public void setLevels(Set<Level> levels) { this.levels = levels; }
+                public Map<Level, String> getLabels() { return labels; }
+                public void setLabels(Map<Level, String> labels) { this.labels = labels; }
+                public List<String> getTags() { return tags; }
+            }
+            """;
+
+    private static final String PARITY_BASE_SOURCE = """
+            package test.model;
+
+            import org.vaadin.miki.superfields.util.factory.*;
+
+            public class Owned {
+                @FieldGroup("owner") private boolean active;
+                public Number getValue() { return null; }
+                public boolean getActive() { return active; }
+                public void setActive(Boolean active) { this.active = active; }
+            }
+            """;
+
+    private static final String NESTED_SOURCE = """
+            package test.model;
+
+            import org.vaadin.miki.superfields.util.factory.GeneratePropertyProvider;
+
+            public class Outer {
+                @GeneratePropertyProvider
+                public static class Inner {
+                    private String name;
+                    public String getName() { return name; }
+                }
+            }
+            """;
+
+    private static final String CLASHING_SOURCE = """
+            package test.model;
+
+            import org.vaadin.miki.superfields.util.factory.GeneratePropertyProvider;
+
+            @GeneratePropertyProvider
+            public class Outer_Inner {
+                private int count;
+                public int getCount() { return count; }
+            }
+            """;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static JavaFileObject source(String name, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///test/model/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    private JavaCompiler.CompilationTask compilationTask(File output, DiagnosticCollector<JavaFileObject> diagnostics, JavaFileObject... sources) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics,
+                List.of("-d", output.getAbsolutePath(), "-classpath", System.getProperty("java.class.path")),
+                null, List.of(sources));
+        task.setProcessors(List.of(new PropertyProviderProcessor()));
+        return task;
+    }
+
+    private File compile(JavaFileObject... sources) throws Exception {
+        final File output = this.folder.newFolder();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Assert.assertTrue(diagnostics.getDiagnostics().stream().map(Diagnostic::toString).collect(Collectors.joining("\n")), this.compilationTask(output, diagnostics, sources).call());
+        return output;
+    }
+
+    private List<String> compileWithErrors(JavaFileObject... sources) throws Exception {
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Assert.assertFalse(this.compilationTask(this.folder.newFolder(), diagnostics, sources).call());
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .toList();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGeneratedProviderMatchesAnnotations() throws Exception {
+        final File output = this.compile(source("Person", SOURCE), source("Base", BASE_SOURCE));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toURI().toURL()}, this.getClass().getClassLoader())) {
+            final Class<Object> type = (Class<Object>) loader.loadClass("test.model.Person");
+            final PropertyProvider generated = GeneratedPropertyProvider.findGeneratedProvider(type).orElseThrow();
+            Assert.assertEquals("test.model.Person_PropertyProvider", generated.getClass().getName());
+
+            final Map<String, Property<Object, ?>> properties = generated.getObjectPropertyDefinitions(type, null).stream().collect(Collectors.toMap(Property::getName, Function.identity()));
+            Assert.assertEquals(Set.of("name", "notes", "age", "kinds", "id"), properties.keySet());
+
+            final Map<String, PropertyMetadata> name = properties.get("name").getMetadata();
+            Assert.assertEquals("Full name", name.get(MetadataProperties.CAPTION_METADATA_PROPERTY).getValue());
+            Assert.assertEquals(2, name.get(MetadataProperties.ORDER_METADATA_PROPERTY).getValue());
+            Assert.assertEquals(2, name.size());
+
+            final Map<String, PropertyMetadata> notes = properties.get("notes").getMetadata();
+            Assert.assertEquals("extra", notes.get(MetadataProperties.GROUP_METADATA_PROPERTY).getValue());
+            Assert.assertEquals(true, notes.get(MetadataProperties.MULTILINE_METADATA_PROPERTY).getValue());
+
+            final Map<String, PropertyMetadata> kinds = properties.get("kinds").getMetadata();
+            Assert.assertEquals(type.getClasses()[0], ((Property<?, ?>) kinds.get(MetadataProperties.COLLECTION_ELEMENT_TYPE_METADATA_PROPERTY).getValue()).getType());
+            Assert.assertEquals(2, ((List<?>) kinds.get(MetadataProperties.AVAILABLE_ITEMS_METADATA_PROPERTY).getValue()).size());
+
+            final Property<Object, ?> id = properties.get("id");
+            Assert.assertEquals(long.class, id.getType());
+            Assert.assertTrue(id.getSetter().isEmpty());
+            Assert.assertEquals(true, id.getMetadata().get(MetadataProperties.READ_ONLY_METADATA_PROPERTY).getValue());
+
+            final Property<Object, Object> age = (Property<Object, Object>) properties.get("age");
+            final Object person = type.getConstructor().newInstance();
+            age.getSetter().orElseThrow().accept(person, 42);
+            Assert.assertEquals(42, age.getGetter().orElseThrow().apply(person));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGeneratedProviderMatchesReflectiveProvider() throws Exception {
+        final File output = this.compile(source("Account", PARITY_SOURCE), source("Owned", PARITY_BASE_SOURCE));
+        // the provider configured by default, before it is wrapped to use generated providers
+        final PropertyProvider reflective = new ObjectFieldFactory() {
+            PropertyProvider reflectiveProvider() {
+                return this.buildAndConfigurePropertyProvider();
+            }
+        }.reflectiveProvider();
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toURI().toURL()}, this.getClass().getClassLoader())) {
+            final Class<Object> type = (Class<Object>) loader.loadClass("test.model.Account");
+            final List<Property<Object, ?>> expected = reflective.getObjectPropertyDefinitions(type, null);
+            final List<Property<Object, ?>> generated = GeneratedPropertyProvider.findGeneratedProvider(type).orElseThrow().getObjectPropertyDefinitions(type, null);
+            // both "active" fields are properties, and the getter with the most specific type brings its caption
+            Assert.assertEquals(7, expected.size());
+            Assert.assertEquals(expected.size(), generated.size());
+            // names, types and metadata must be the same; the order of reflective properties is not defined
+            for (Property<Object, ?> property : expected)
+                Assert.assertTrue("generated properties do not match " + property, generated.stream().anyMatch(property::isStructurallyEqual));
+            // setters and getters are present for the same properties
+            for (Property<Object, ?> property : generated)
+                Assert.assertTrue("reflective properties do not match " + property, expected.stream().anyMatch(candidate -> candidate.isStructurallyEqual(property)
+                        && candidate.getSetter().isPresent() == property.getSetter().isPresent()
+                        && candidate.getGetter().isPresent() == property.getGetter().isPresent()));
+        }
+    }
+
+    @Test
+    public void testClashingGeneratedNamesAreRejected() throws Exception {
+        // on its own, a nested type gets a provider named after its enclosing type
+        final File output = this.compile(source("Outer", NESTED_SOURCE));
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toURI().toURL()}, this.getClass().getClassLoader())) {
+            final Class<?> type = loader.loadClass("test.model.Outer$Inner");
+            Assert.assertEquals("test.model.Outer_Inner_PropertyProvider", GeneratedPropertyProvider.findGeneratedProvider(type).orElseThrow().getClass().getName());
+        }
+
+        // but not when a top-level type would get the same name
+        final List<String> errors = this.compileWithErrors(source("Outer", NESTED_SOURCE), source("Outer_Inner", CLASHING_SOURCE));
+        Assert.assertEquals(2, errors.size());
+        Assert.assertTrue(errors.stream().anyMatch(error -> error.endsWith("generated for test.model.Outer_Inner; rename one of the types")));
+        Assert.assertTrue(errors.stream().anyMatch(error -> error.endsWith("generated for test.model.Outer.Inner; rename one of the types")));
+    }
+
+}
@@ -43,6 +43,17 @@ public interface CollectionController extends Serializable {
         this.add(this.size());
     }
 
+    /**
+     * Adds a number of new components at a specified position, moving subsequent elements by that number.
+     * By default, it has the same effect as calling {@link #add(int)} for each new position, but implementations are encouraged to do it at once.
+     * @param atIndex Index to add at.
+     * @param count Number of components to add.
+     */
+    default void addAll(int atIndex, int count) {
+        for(int zmp1 = 0; zmp1 < count; zmp1++)
+            this.add(atIndex + zmp1);
+    }
+
     /**
      * Removes a component at given index. All subsequent components are moved forward by one.
      * @param atIndex Index to remove component at.
@@ -56,4 +67,15 @@ public interface CollectionController extends Serializable {
     default void remove() {
         this.remove(this.size() - 1);
     }
+
+    /**
+     * Removes components in a given range. All subsequent components are moved forward by the number of components removed.
+     * By default, it has the same effect as calling {@link #remove(int)} for each index in the range, but implementations are encouraged to do it at once.
+     * @param fromIndex Index of the first component to remove.
+     * @param toIndex Index after the last component to remove.
+     */
+    default void removeRange(int fromIndex, int toIndex) {
+        for(int zmp1 = toIndex - 1; zmp1 >= fromIndex; zmp1--)
+            this.remove(zmp1);
+    }
 }
@@ -0,0 +1,107 @@
+package org.vaadin.miki.superfields.collections;
+
+import com.vaadin.flow.component.ComponentEvent;
+
+/**
+ * Information about a single element of a {@link CollectionField} that has been added, removed or changed.
+ * Such events are fired in addition to value change events. When several elements change at once, the events are fired
+ * in an order in which the changes can be applied, one after another, to the previous value of the field.
+ * @param <T> Type of elements.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+public abstract class CollectionElementEvent<T> extends ComponentEvent<CollectionField<T, ?>> {
+
+    /**
+     * Fired when an element is added.
+     * @param <T> Type of elements.
+     */
+    public static class ElementAdded<T> extends CollectionElementEvent<T> {
+
+        /**
+         * Creates the event.
+         * @param source Source of the event.
+         * @param fromClient Whether the change originated from the client.
+         * @param index Index at which the element was added.
+         * @param value Added element.
+         */
+        public ElementAdded(CollectionField<T, ?> source, boolean fromClient, int index, T value) {
+            super(source, fromClient, index, value);
+        }
+    }
+
+    /**
+     * Fired when an element is removed.
+     * @param <T> Type of elements.
+     */
+    public static class ElementRemoved<T> extends CollectionElementEvent<T> {
+
+        /**
+         * Creates the event.
+         * @param source Source of the event.
+         * @param fromClient Whether the change originated from the client.
+         * @param index Index at which the element was before it was removed.
+         * @param value Removed element.
+         */
+        public ElementRemoved(CollectionField<T, ?> source, boolean fromClient, int index, T value) {
+            super(source, fromClient, index, value);
+        }
+    }
+
+    /**
+     * Fired when an element is replaced with a different one.
+     * @param <T> Type of elements.
+     */
+    public static class ElementChanged<T> extends CollectionElementEvent<T> {
+
+        private final T oldValue;
+
+        /**
+         * Creates the event.
+         * @param source Source of the event.
+         * @param fromClient Whether the change originated from the client.
+         * @param index Index of the element.
+         * @param oldValue Element before the change.
+         * @param value Element after the change.
+         */
+        public ElementChanged(CollectionField<T, ?> source, boolean fromClient, int index, T oldValue, T value) {
+            super(source, fromClient, index, value);
+            this.oldValue = oldValue;
+        }
+
+        /**
+         * Returns the element before the change.
+         * @return Previous element.
+         */
+        public T getOldValue() {
+            return oldValue;
+        }
+    }
+
+    private final int index;
+
+    private final T value;
+
+    private CollectionElementEvent(CollectionField<T, ?> source, boolean fromClient, int index, T value) {
+        super(source, fromClient);
+        this.index = index;
+        this.value = value;
+    }
+
+    /**
+     * Returns the index of the element. Indices are the same as those used by {@link CollectionController}.
+     * @return Index of the element.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the element. For removals, this is the removed element; for changes, this is the new element.
+     * @return The element.
+     */
+    public T getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,14 @@
+package org.vaadin.miki.superfields.collections;
+
+import com.vaadin.flow.component.ComponentEventListener;
+
+/**
+ * Marker interface for objects that listen to {@link CollectionElementEvent}s.
+ * @param <T> Type of elements.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+@FunctionalInterface
+public interface CollectionElementListener<T> extends ComponentEventListener<CollectionElementEvent<T>> {
+}
@@ -9,7 +9,10 @@ import com.vaadin.flow.component.HasValue;
 import com.vaadin.flow.component.Tag;
 import com.vaadin.flow.component.customfield.CustomField;
 import com.vaadin.flow.component.dependency.JsModule;
+import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.orderedlayout.FlexLayout;
+import com.vaadin.flow.function.SerializableBiConsumer;
+import com.vaadin.flow.function.SerializableFunction;
 import com.vaadin.flow.function.SerializablePredicate;
 import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.shared.Registration;
@@ -21,18 +24,33 @@ import org.vaadin.miki.markers.WithIdMixin;
 import org.vaadin.miki.markers.WithLabelMixin;
 import org.vaadin.miki.markers.WithLabelPositionableMixin;
 import org.vaadin.miki.markers.WithValueMixin;
+import org.vaadin.miki.superfields.lazyload.ComponentObservationEvent;
+import org.vaadin.miki.superfields.lazyload.ComponentObserver;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.SortedSet;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * All-purpose field for editing and maintaining values that are {@link Collection}s.
  * Allows filtering individual elements through {@link #setCollectionElementFilter(SerializablePredicate)} (by default filters out all {@code null}s).
+ * When elements can be identified with a key (see {@link #setElementKeyFunction(SerializableFunction)}), components of elements are reused and moved
+ * rather than given new values whenever elements are added, removed or reordered.
+ * For large collections, the value can be maintained incrementally (see {@link #setIncrementalModel(boolean)}),
+ * and only some of the elements can have components (see {@link #setVirtualised(boolean)}).
  *
  * @param <T> Type of the element in the collection.
  * @param <C> Type of the collection.
@@ -57,6 +75,31 @@ public class CollectionField<T, C extends Collection<T>> extends CustomField<C>
      */
     public static final int NO_ITEM_INDEX = -1;
 
+    /**
+     * Default number of elements that have components when the field is virtualised.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 50;
+
+    /**
+     * CSS class name of the placeholder for elements before the ones that have components, when the field is virtualised.
+     */
+    public static final String ELEMENTS_BEFORE_STYLE_NAME = "collection-field-elements-before";
+
+    /**
+     * CSS class name of the placeholder for elements after the ones that have components, when the field is virtualised.
+     */
+    public static final String ELEMENTS_AFTER_STYLE_NAME = "collection-field-elements-after";
+
+    /**
+     * Name of the CSS property with the estimated height of a single element, used to size the placeholders when the field is virtualised.
+     */
+    public static final String ELEMENT_HEIGHT_CSS_PROPERTY = "--collection-field-element-height";
+
+    /**
+     * Default estimated height of a single element, used when {@link #ELEMENT_HEIGHT_CSS_PROPERTY} is not set.
+     */
+    public static final String DEFAULT_ESTIMATED_ELEMENT_HEIGHT = "2.5em";
+
     /**
      * Default layout provider. Produces a column-based {@link FlexLayout}.
      */
@@ -80,6 +123,49 @@ public class CollectionField<T, C extends Collection<T>> extends CustomField<C>
 
     private SerializablePredicate<T> collectionElementFilter = Objects::nonNull;
 
+    private SerializableFunction<T, ?> elementKeyFunction;
+
+    private boolean incrementalModel = false;
+
+    // last generated value, kept only when the model is maintained incrementally
+    private C model;
+
+    private boolean modelPatched = false;
+
+    private boolean modelChangedInPlace = false;
+
+    private final Map<HasValue<?, T>, Integer> fieldIndices = new IdentityHashMap<>();
+
+    // notified whenever an element is changed in place, so that fields built on top of this one can follow
+    private SerializableBiConsumer<T, T> elementPatchListener;
+
+    // element events are fired only after the value has been updated, which may change the elements again
+    private final List<CollectionElementEvent<T>> queuedElementEvents = new ArrayList<>();
+
+    private boolean virtualised = false;
+
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+
+    private String estimatedElementHeight = DEFAULT_ESTIMATED_ELEMENT_HEIGHT;
+
+    // index of the element shown by the first component, when virtualised
+    private int windowStart = 0;
+
+    // all elements, when virtualised; those that have components are up to date only after synchronising
+    private final List<T> elements = new ArrayList<>();
+
+    private final Deque<HasValue<?, T>> recycledFields = new ArrayDeque<>();
+
+    private ComponentObserver windowObserver;
+
+    private Div elementsBefore;
+
+    private Div elementsAfter;
+
+    private boolean elementsBeforeVisible = false;
+
+    private boolean elementsAfterVisible = false;
+
     /**
      * Creates new field using {@link #DEFAULT_LAYOUT_PROVIDER} as root layout provider.
      * @param emptyCollectionSupplier Provides an empty collection of elements.
@@ -130,7 +216,10 @@ public class CollectionField<T, C extends Collection<T>> extends CustomField<C>
         if(this.layout != null)
             this.remove((Component) this.layout);
         this.layout = newLayout;
-        this.add(newLayout);
+        // placeholders must stay around the layout
+        if(this.virtualised)
+            this.getElement().insertChild(this.getElement().indexOfChild(this.elementsAfter.getElement()), newLayout.getElement());
+        else this.add(newLayout);
         if(this.layout instanceof HasStyle hasStyle)
             hasStyle.addClassName(LAYOUT_STYLE_NAME);
     }
@@ -163,10 +252,23 @@ public class CollectionField<T, C extends Collection<T>> extends CustomField<C>
 
     @Override
     protected C generateModelValue() {
-        return this.fields.stream()
-                .map(HasValue::getValue)
+        if(this.modelPatched) {
+            this.modelPatched = false;
+            this.modelChangedInPlace = true;
+            return this.model;
+        }
+        final C result = this.streamElements()
                 .filter(this.getCollectionElementFilter()) // fixes #374
                 .collect(Collectors.toCollection(this.emptyCollectionSupplier));
+        this.model = this.incrementalModel ? result : null;
+        this.fieldIndices.clear();
+        return result;
+    }
+
+    @Override
+    protected boolean valueEquals(C value1, C value2) {
+        // a collection changed in place is the same collection, but its contents are different
+        return !this.modelChangedInPlace && super.valueEquals(value1, value2);
     }
 
     @Override
@@ -174,8 +276,12 @@ public class CollectionField<T, C extends Collection<T>> extends CustomField<C>
         if(!this.valueUpdateInProgress) {
             super.updateValue();
             // when using sets, it is possible for duplicates to appear, and they should not be possible
-            if ((super.getValue() != null && this.fields.size() != super.getValue().size()) || (super.getValue() == null && !this.fields.isEmpty()))
+            if ((super.getValue() != null && this.size() != super.getValue().size()) || (super.getValue() == null && !this.isEmpty())) {
+                final List<T> before = this.hasElementListeners() ? this.getElements(0, this.size()) : null;
                 this.repaintFields(super.getValue());
+                if(before != null)
+                    this.queueElementEvents(true, 0, before, this.getElements(0, this.size()));
+            }
         }
     }
 
@@ -183,44 +289,327 @@ public class CollectionField<T, C extends Collection<T>> extends CustomField<C>
     protected void setPresentationValue(C ts) {
         if(ts == null)
             ts = this.emptyCollectionSupplier.get();
+        // a value change listener may set the value while an outer change still has its events pending
+        // those describe the elements as they are now, so they go out before the ones computed below
+        this.fireQueuedElementEvents();
+        final List<T> before = this.hasElementListeners() ? this.getElements(0, this.size()) : null;
         this.repaintFields(ts);
+        if(before != null) {
+            this.queueElementEvents(false, 0, before, this.getElements(0, this.size()));
+            this.fireQueuedElementEvents();
+        }
+    }
+
+    private boolean hasElementListeners() {
+        return !this.valueUpdateInProgress && (this.getEventBus().hasListener(CollectionElementEvent.ElementAdded.class)
+                || this.getEventBus().hasListener(CollectionElementEvent.ElementRemoved.class)
+                || this.getEventBus().hasListener(CollectionElementEvent.ElementChanged.class));
+    }
+
+    private List<T> getElements(int fromIndex, int toIndex) {
+        if(!this.virtualised)
+            return this.fields.subList(fromIndex, toIndex).stream().map(HasValue::getValue).collect(Collectors.toList());
+        this.synchroniseWindow();
+        return new ArrayList<>(this.elements.subList(fromIndex, toIndex));
+    }
+
+    /**
+     * Queues {@link CollectionElementEvent}s describing how elements in a range have changed.
+     * Elements at the same positions are reported as changed (unless equal), and the remaining ones as removed (in descending order) or added.
+     * @param fromClient Whether the change originated from the client.
+     * @param fromIndex Index of the first element in the range.
+     * @param before Elements in the range before the change.
+     * @param after Elements in the range after the change.
+     */
+    private void queueElementEvents(boolean fromClient, int fromIndex, List<T> before, List<T> after) {
+        final int common = Math.min(before.size(), after.size());
+        for(int zmp1 = 0; zmp1 < common; zmp1++)
+            if(!Objects.equals(before.get(zmp1), after.get(zmp1)))
+                this.queuedElementEvents.add(new CollectionElementEvent.ElementChanged<>(this, fromClient, fromIndex + zmp1, before.get(zmp1), after.get(zmp1)));
+        for(int zmp1 = before.size() - 1; zmp1 >= common; zmp1--)
+            this.queuedElementEvents.add(new CollectionElementEvent.ElementRemoved<>(this, fromClient, fromIndex + zmp1, before.get(zmp1)));
+        for(int zmp1 = common; zmp1 < after.size(); zmp1++)
+            this.queuedElementEvents.add(new CollectionElementEvent.ElementAdded<>(this, fromClient, fromIndex + zmp1, after.get(zmp1)));
+    }
+
+    private void fireQueuedElementEvents() {
+        // listeners may change this field, which queues more events
+        final List<CollectionElementEvent<T>> events = new ArrayList<>(this.queuedElementEvents);
+        this.queuedElementEvents.clear();
+        events.forEach(this::fireEvent);
     }
 
     @Override
     public int size() {
-        return this.fields.size();
+        return this.virtualised ? this.elements.size() : this.fields.size();
     }
 
     /**
      * Updates all indices on all fields that implement {@link HasIndex}.
      * This method is called after a component is removed or added, but before the value of the component is changed.
-     * @param fromIndex Index, from which the reindexing should occur.
+     * When virtualised, the index given to each component is that of the element it shows.
+     * @param fromIndex Index (of a component), from which the reindexing should occur.
      */
     protected void updateIndices(int fromIndex) {
         // update index of each component that has it
         for(int zmp1 = fromIndex; zmp1 < this.fields.size(); zmp1++)
             if(this.fields.get(zmp1) instanceof HasIndex hasIndex)
-                hasIndex.setIndex(zmp1);
+                hasIndex.setIndex(this.windowStart + zmp1);
     }
 
-    @Override
-    public void add(int atIndex) {
+    private Stream<T> streamElements() {
+        if(!this.virtualised)
+            return this.fields.stream().map(HasValue::getValue);
+        this.synchroniseWindow();
+        return this.elements.stream();
+    }
+
+    /**
+     * Copies values of components to the elements they show.
+     */
+    private void synchroniseWindow() {
+        for(int zmp1 = 0; zmp1 < this.fields.size(); zmp1++)
+            this.elements.set(this.windowStart + zmp1, this.fields.get(zmp1).getValue());
+    }
+
+    /**
+     * Makes sure that elements in the window, and only them, have components, and that the components show these elements.
+     * Components no longer needed are kept for later, up to the size of the window.
+     */
+    private void renderWindow() {
+        final boolean updateInProgress = this.valueUpdateInProgress;
+        this.valueUpdateInProgress = true;
+        this.windowStart = Math.max(0, Math.min(this.windowStart, this.elements.size() - this.windowSize));
+        final int count = Math.min(this.windowSize, this.elements.size() - this.windowStart);
+        while(this.fields.size() > count) {
+            final HasValue<?, T> field = this.fields.remove(this.fields.size() - 1);
+            this.layout.remove((Component) field);
+            if(this.recycledFields.size() < this.windowSize)
+                this.recycledFields.push(field);
+            else this.eventRegistrations.remove((Component) field).remove();
+        }
+        while(this.fields.size() < count) {
+            final int index = this.fields.size();
+            final HasValue<?, T> field = this.recycledFields.isEmpty() ? this.buildField(this.windowStart + index) : this.recycledFields.pop();
+            this.fields.add(field);
+            this.layout.addComponentAtIndex(index, (Component) field);
+        }
+        this.fieldIndices.clear();
+        this.updateIndices(0);
+        for(int zmp1 = 0; zmp1 < count; zmp1++) {
+            final T element = this.elements.get(this.windowStart + zmp1);
+            final HasValue<?, T> field = this.fields.get(zmp1);
+            if(!Objects.equals(field.getValue(), element))
+                field.setValue(element);
+        }
+        this.updatePlaceholders();
+        this.valueUpdateInProgress = updateInProgress;
+    }
+
+    private String getPlaceholderHeight(int elementCount) {
+        return "calc(" + elementCount + " * var(" + ELEMENT_HEIGHT_CSS_PROPERTY + ", " + this.estimatedElementHeight + "))";
+    }
+
+    private void updatePlaceholders() {
+        this.elementsBefore.getStyle().set("height", this.getPlaceholderHeight(this.windowStart));
+        this.elementsAfter.getStyle().set("height", this.getPlaceholderHeight(this.elements.size() - this.windowStart - this.fields.size()));
+        // observing again reports current visibility, so the window keeps moving for as long as a placeholder is visible
+        this.windowObserver.unobserve(this.elementsBefore, this.elementsAfter);
+        this.windowObserver.observe(this.elementsBefore, this.elementsAfter);
+    }
+
+    private void placeholderObserved(ComponentObservationEvent event) {
+        final boolean visible = !event.isNotVisible();
+        if(event.getObservedComponent() == this.elementsBefore)
+            this.elementsBeforeVisible = visible;
+        else if(event.getObservedComponent() == this.elementsAfter)
+            this.elementsAfterVisible = visible;
+        // when both are visible, the window is too small to fill the viewport, and moving it would not help
+        if(!this.virtualised || this.elementsBeforeVisible == this.elementsAfterVisible)
+            return;
+        final int step = Math.max(1, this.windowSize / 2);
+        if(this.elementsBeforeVisible && this.windowStart > 0)
+            this.setWindowStart(this.windowStart - step);
+        else if(this.elementsAfterVisible && this.windowStart + this.fields.size() < this.elements.size())
+            this.setWindowStart(this.windowStart + step);
+    }
+
+    private void startVirtualisation() {
+        this.elements.clear();
+        this.fields.forEach(field -> this.elements.add(field.getValue()));
+        if(this.windowObserver == null) {
+            this.elementsBefore = new Div();
+            this.elementsBefore.addClassName(ELEMENTS_BEFORE_STYLE_NAME);
+            this.elementsAfter = new Div();
+            this.elementsAfter.addClassName(ELEMENTS_AFTER_STYLE_NAME);
+            this.windowObserver = new ComponentObserver();
+            this.windowObserver.addComponentObservationListener(this::placeholderObserved);
+            // observed components stop being observed when detached
+            this.addAttachListener(event -> {
+                if(this.virtualised)
+                    this.windowObserver.observe(this.elementsBefore, this.elementsAfter);
+            });
+        }
+        final int layoutIndex = this.getElement().indexOfChild(((Component) this.layout).getElement());
+        this.getElement().insertChild(layoutIndex + 1, this.elementsAfter.getElement());
+        this.getElement().insertChild(layoutIndex, this.elementsBefore.getElement());
+        this.add(this.windowObserver);
+        this.elementsBeforeVisible = false;
+        this.elementsAfterVisible = false;
+        this.windowStart = 0;
+        this.virtualised = true;
+        this.renderWindow();
+    }
+
+    private void stopVirtualisation() {
+        this.synchroniseWindow();
+        final List<T> all = new ArrayList<>(this.elements);
+        this.removeFields(0, this.fields.size());
+        this.dropRecycledFields();
+        this.elements.clear();
+        this.windowStart = 0;
+        this.virtualised = false;
+        this.remove(this.elementsBefore, this.elementsAfter, this.windowObserver);
+        // all elements get their components back
+        final boolean updateInProgress = this.valueUpdateInProgress;
+        this.valueUpdateInProgress = true;
+        this.insertFields(0, all.size());
+        for(int zmp1 = 0; zmp1 < all.size(); zmp1++)
+            this.fields.get(zmp1).setValue(all.get(zmp1));
+        this.updateIndices(0);
+        this.fieldIndices.clear();
+        this.valueUpdateInProgress = updateInProgress;
+    }
+
+    private void dropRecycledFields() {
+        this.recycledFields.forEach(field -> this.eventRegistrations.remove((Component) field).remove());
+        this.recycledFields.clear();
+    }
+
+    private T getEmptyElement(int atIndex) {
+        if(!this.fields.isEmpty())
+            return this.fields.get(0).getEmptyValue();
+        if(this.recycledFields.isEmpty())
+            this.recycledFields.push(this.buildField(atIndex));
+        return this.recycledFields.peek().getEmptyValue();
+    }
+
+    private HasValue<?, T> buildField(int atIndex) {
         final HasValue<?, T> hasValue = this.getCollectionValueComponentProvider().provideComponent(atIndex, this);
         // make sure this component is updated whenever anything changes for single element
-        this.eventRegistrations.put((Component) hasValue, hasValue.addValueChangeListener(this::valueChangedInSubComponent));
-        this.fields.add(atIndex, hasValue);
-        this.layout.addComponentAtIndex(atIndex, (Component) hasValue);
-        this.updateIndices(atIndex);
+        this.eventRegistrations.put((Component) hasValue, hasValue.addValueChangeListener(event -> this.valueChangedInSubComponent(hasValue, event)));
+        return hasValue;
+    }
+
+    private void insertFields(int atIndex, int count) {
+        Objects.checkIndex(atIndex, this.fields.size() + 1);
+        final List<HasValue<?, T>> added = new ArrayList<>(count);
+        for(int zmp1 = 0; zmp1 < count; zmp1++) {
+            final HasValue<?, T> hasValue = this.buildField(atIndex + zmp1);
+            added.add(hasValue);
+            this.layout.addComponentAtIndex(atIndex + zmp1, (Component) hasValue);
+        }
+        this.fields.addAll(atIndex, added);
+    }
+
+    private void removeFields(int fromIndex, int toIndex) {
+        final List<HasValue<?, T>> range = this.fields.subList(fromIndex, toIndex);
+        final Component[] removed = range.stream().map(Component.class::cast).toArray(Component[]::new);
+        range.clear();
+        this.layout.remove(removed);
+        for(Component component : removed)
+            this.eventRegistrations.remove(component).remove(); // brilliant line of code
+    }
+
+    @Override
+    public void add(int atIndex) {
+        this.addAll(atIndex, 1);
+    }
+
+    @Override
+    public void addAll(int atIndex, int count) {
+        if(this.virtualised) {
+            Objects.checkIndex(atIndex, this.elements.size() + 1);
+            this.synchroniseWindow();
+            this.elements.addAll(atIndex, Collections.nCopies(count, this.getEmptyElement(atIndex)));
+            this.renderWindow();
+        }
+        else {
+            this.insertFields(atIndex, count);
+            this.updateIndices(atIndex);
+        }
+        if(this.hasElementListeners())
+            this.queueElementEvents(true, atIndex, Collections.emptyList(), this.getElements(atIndex, atIndex + count));
         this.updateValue();
+        this.fireQueuedElementEvents();
     }
 
     @Override
     public void remove(int atIndex) {
-        final Component removed = (Component) this.fields.remove(atIndex);
-        this.layout.remove(removed);
-        this.eventRegistrations.remove(removed).remove(); // brilliant line of code
-        this.updateIndices(atIndex);
+        this.removeRange(atIndex, atIndex + 1);
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, this.size());
+        final List<T> before = this.hasElementListeners() ? this.getElements(fromIndex, toIndex) : null;
+        if(this.virtualised) {
+            this.synchroniseWindow();
+            this.elements.subList(fromIndex, toIndex).clear();
+            this.renderWindow();
+        }
+        else {
+            this.removeFields(fromIndex, toIndex);
+            this.updateIndices(fromIndex);
+        }
+        if(before != null)
+            this.queueElementEvents(true, fromIndex, before, Collections.emptyList());
         this.updateValue();
+        this.fireQueuedElementEvents();
+    }
+
+    /**
+     * Replaces elements in a given range with given elements. Components in the range are reused, and only the missing ones are added (or excess ones removed).
+     * There is at most one value change event.
+     * @param fromIndex Index of the first element to replace.
+     * @param toIndex Index after the last element to replace.
+     * @param elements Elements to put in place of the range. May be more or fewer than the elements replaced.
+     */
+    public void replaceAll(int fromIndex, int toIndex, Collection<? extends T> elements) {
+        Objects.checkFromToIndex(fromIndex, toIndex, this.size());
+        final List<T> before = this.hasElementListeners() ? this.getElements(fromIndex, toIndex) : null;
+        if(this.virtualised) {
+            this.synchroniseWindow();
+            final List<T> range = this.elements.subList(fromIndex, toIndex);
+            range.clear();
+            range.addAll(elements);
+            this.renderWindow();
+        }
+        else this.replaceFieldValues(fromIndex, toIndex, elements);
+        if(before != null)
+            this.queueElementEvents(true, fromIndex, before, this.getElements(fromIndex, fromIndex + elements.size()));
+        this.updateValue();
+        this.fireQueuedElementEvents();
+    }
+
+    private void replaceFieldValues(int fromIndex, int toIndex, Collection<? extends T> elements) {
+        this.valueUpdateInProgress = true;
+        final Iterator<? extends T> iterator = elements.iterator();
+        int index = fromIndex;
+        for(; index < toIndex && iterator.hasNext(); index++)
+            this.fields.get(index).setValue(iterator.next());
+        // components after the last reused one move, unless the number of elements is the same
+        final int firstMoved = index;
+        if(index < toIndex)
+            this.removeFields(index, toIndex);
+        else if(iterator.hasNext()) {
+            this.insertFields(index, elements.size() - (index - fromIndex));
+            while(iterator.hasNext())
+                this.fields.get(index++).setValue(iterator.next());
+        }
+        if(index != toIndex)
+            this.updateIndices(firstMoved);
+        this.valueUpdateInProgress = false;
     }
 
     @Override
@@ -234,23 +623,173 @@ public class CollectionField<T, C extends Collection<T>> extends CustomField<C>
      */
     protected void repaintFields(C ts) {
         this.valueUpdateInProgress = true;
-        // if there are more fields than elements, remove the excess ones
-        while(this.fields.size() > ts.size())
-            this.remove();
-        // if there are more elements than fields, create additional ones
-        while(this.fields.size() < ts.size())
-            this.add();
-        // now, both collections are of the same size, so update all components to show elements in collection
-        int zmp1 = 0;
-        for(T t: ts)
-            this.fields.get(zmp1++).setValue(t);
+        if(this.virtualised) {
+            // keys do not matter, as components are recycled anyway
+            this.elements.clear();
+            this.elements.addAll(ts);
+            this.renderWindow();
+        }
+        else if(this.elementKeyFunction != null)
+            this.reconcileFields(ts);
+        else {
+            // if there are more fields than elements, remove the excess ones
+            if (this.fields.size() > ts.size())
+                this.removeRange(ts.size(), this.fields.size());
+            // if there are more elements than fields, create additional ones
+            else if (this.fields.size() < ts.size())
+                this.addAll(this.fields.size(), ts.size() - this.fields.size());
+            // now, both collections are of the same size, so update all components to show elements in collection
+            int zmp1 = 0;
+            for (T t : ts)
+                this.fields.get(zmp1++).setValue(t);
+        }
         this.valueUpdateInProgress = false;
         this.updateValue();
     }
 
-    private void valueChangedInSubComponent(ValueChangeEvent<T> o) {
-        if(!this.valueUpdateInProgress)
+    private Object getElementKey(T element) {
+        return element == null ? null : this.elementKeyFunction.apply(element);
+    }
+
+    /**
+     * Matches existing components with elements by their keys. Components of elements that are no longer present are removed,
+     * components of new elements are created, and those that are out of order are moved. Only components that show a different value are updated.
+     * Components in the longest sequence that is already in the right order stay where they are.
+     * @param ts Collection with elements.
+     */
+    private void reconcileFields(C ts) {
+        final List<T> elements = new ArrayList<>(ts);
+        // keys can repeat, in which case components are matched in order
+        final Map<Object, Deque<Integer>> oldIndices = new HashMap<>();
+        for(int zmp1 = 0; zmp1 < this.fields.size(); zmp1++) {
+            final Object key = this.getElementKey(this.fields.get(zmp1).getValue());
+            if(key != null)
+                oldIndices.computeIfAbsent(key, k -> new ArrayDeque<>()).add(zmp1);
+        }
+        final int[] sources = new int[elements.size()];
+        final boolean[] reused = new boolean[this.fields.size()];
+        for(int zmp1 = 0; zmp1 < sources.length; zmp1++) {
+            final Deque<Integer> candidates = oldIndices.get(this.getElementKey(elements.get(zmp1)));
+            sources[zmp1] = candidates == null || candidates.isEmpty() ? NO_ITEM_INDEX : candidates.poll();
+            if(sources[zmp1] != NO_ITEM_INDEX)
+                reused[sources[zmp1]] = true;
+        }
+        final boolean[] staying = findLongestIncreasingSequence(sources);
+        // components that are not reused go away, and those that are moved are taken out for now
+        for(int zmp1 = 0; zmp1 < sources.length; zmp1++)
+            if(sources[zmp1] != NO_ITEM_INDEX && !staying[zmp1])
+                this.layout.remove((Component) this.fields.get(sources[zmp1]));
+        for(int zmp1 = 0; zmp1 < reused.length; zmp1++)
+            if(!reused[zmp1]) {
+                final Component removed = (Component) this.fields.get(zmp1);
+                this.layout.remove(removed);
+                this.eventRegistrations.remove(removed).remove();
+            }
+        // components that stay are in order, so the others can be put in place one by one
+        final List<HasValue<?, T>> oldFields = new ArrayList<>(this.fields);
+        this.fields.clear();
+        for(int zmp1 = 0; zmp1 < sources.length; zmp1++) {
+            final HasValue<?, T> field = sources[zmp1] == NO_ITEM_INDEX ? this.buildField(zmp1) : oldFields.get(sources[zmp1]);
+            this.fields.add(field);
+            if(!staying[zmp1])
+                this.layout.addComponentAtIndex(zmp1, (Component) field);
+        }
+        this.updateIndices(0);
+        for(int zmp1 = 0; zmp1 < sources.length; zmp1++) {
+            final HasValue<?, T> field = this.fields.get(zmp1);
+            if(sources[zmp1] == NO_ITEM_INDEX || !Objects.equals(field.getValue(), elements.get(zmp1)))
+                field.setValue(elements.get(zmp1));
+        }
+    }
+
+    /**
+     * Finds the longest strictly increasing subsequence of given indices, ignoring {@link #NO_ITEM_INDEX}.
+     * @param sources Indices.
+     * @return An array of the same size, with {@code true} for each position that belongs to the subsequence.
+     */
+    private static boolean[] findLongestIncreasingSequence(int[] sources) {
+        // tails[k] is the position of the smallest index that ends an increasing subsequence of length k+1
+        final int[] tails = new int[sources.length];
+        final int[] previous = new int[sources.length];
+        int length = 0;
+        for(int zmp1 = 0; zmp1 < sources.length; zmp1++) {
+            if(sources[zmp1] == NO_ITEM_INDEX)
+                continue;
+            int low = 0;
+            int high = length;
+            while(low < high) {
+                final int middle = (low + high) >>> 1;
+                if(sources[tails[middle]] < sources[zmp1])
+                    low = middle + 1;
+                else high = middle;
+            }
+            previous[zmp1] = low > 0 ? tails[low - 1] : NO_ITEM_INDEX;
+            tails[low] = zmp1;
+            if(low == length)
+                length++;
+        }
+        final boolean[] result = new boolean[sources.length];
+        for(int position = length > 0 ? tails[length - 1] : NO_ITEM_INDEX; position != NO_ITEM_INDEX; position = previous[position])
+            result[position] = true;
+        return result;
+    }
+
+    private void valueChangedInSubComponent(HasValue<?, T> field, ValueChangeEvent<T> o) {
+        if(!this.valueUpdateInProgress) {
+            // the position may no longer be known once the value is generated
+            final int index = this.hasElementListeners() ? this.getFieldIndex(field) : NO_ITEM_INDEX;
+            if(index != NO_ITEM_INDEX)
+                this.queuedElementEvents.add(new CollectionElementEvent.ElementChanged<>(this, o.isFromClient(), this.windowStart + index, o.getOldValue(), o.getValue()));
+            this.modelPatched = this.incrementalModel && this.patchModel(field, o.getOldValue(), o.getValue());
+            if(this.modelPatched && this.elementPatchListener != null)
+                this.elementPatchListener.accept(o.getOldValue(), o.getValue());
             this.updateValue();
+            this.modelChangedInPlace = false;
+            this.fireQueuedElementEvents();
+        }
+    }
+
+    private int getFieldIndex(HasValue<?, T> field) {
+        if(this.fieldIndices.isEmpty())
+            for(int zmp1 = 0; zmp1 < this.fields.size(); zmp1++)
+                this.fieldIndices.put(this.fields.get(zmp1), zmp1);
+        return this.fieldIndices.getOrDefault(field, NO_ITEM_INDEX);
+    }
+
+    /**
+     * Replaces an element in the last generated value, without going through all the components.
+     * @param field Component that shows the element.
+     * @param oldElement Element shown before.
+     * @param newElement Element shown now.
+     * @return Whether the value has been changed; when {@code false}, the value must be generated again.
+     */
+    private boolean patchModel(HasValue<?, T> field, T oldElement, T newElement) {
+        if(this.model == null || !this.collectionElementFilter.test(oldElement) || !this.collectionElementFilter.test(newElement))
+            return false;
+        if(this.model instanceof List<T> list) {
+            // positions of elements match positions of components only when nothing is filtered out
+            if(list.size() != this.size())
+                return false;
+            final int position = this.getFieldIndex(field);
+            final int index = this.windowStart + position;
+            if(position == NO_ITEM_INDEX || !Objects.equals(list.get(index), oldElement))
+                return false;
+            list.set(index, newElement);
+            return true;
+        }
+        // only sets that do not keep the order of components can be patched; duplicates must be removed by repainting
+        // when components show equal elements, the set holds just one of them, and removing it would lose the others
+        else if(this.model instanceof SortedSet<?> || (this.model instanceof HashSet<?> && !(this.model instanceof LinkedHashSet<?>)))
+            return this.model.size() == this.size() && !this.model.contains(newElement) && this.model.remove(oldElement) && this.model.add(newElement);
+        else return false;
+    }
+
+    /**
+     * Sets a listener to be notified whenever an element is changed in place, when the model is maintained incrementally.
+     * @param elementPatchListener A listener that receives the old and the new element. May be {@code null}.
+     */
+    void setElementPatchListener(SerializableBiConsumer<T, T> elementPatchListener) {
+        this.elementPatchListener = elementPatchListener;
     }
 
     @Override
@@ -259,6 +798,7 @@ public class CollectionField<T, C extends Collection<T>> extends CustomField<C>
         this.valueUpdateInProgress = true; // setting it here
         this.layout.remove(this.fields.stream().map(Component.class::cast).toArray(Component[]::new));
         this.fields.clear();
+        this.dropRecycledFields();
         this.repaintFields(this.getValue());
     }
 
@@ -278,6 +818,220 @@ public class CollectionField<T, C extends Collection<T>> extends CustomField<C>
         return collectionElementFilter;
     }
 
+    /**
+     * Returns the function that identifies elements.
+     * @return A function, or {@code null} when elements are not identified.
+     */
+    public SerializableFunction<T, ?> getElementKeyFunction() {
+        return elementKeyFunction;
+    }
+
+    /**
+     * Sets the function that identifies elements. When set, components showing elements with the same keys are reused and moved as needed
+     * when a new value is set. Otherwise, components are assigned to elements by their positions.
+     * Keys should have proper {@link Object#equals(Object)} and {@link Object#hashCode()}. {@code null} keys and elements are never matched.
+     * @param elementKeyFunction A function that returns a key of a given element. May be {@code null}.
+     */
+    public void setElementKeyFunction(SerializableFunction<T, ?> elementKeyFunction) {
+        this.elementKeyFunction = elementKeyFunction;
+    }
+
+    /**
+     * Chains {@link #setElementKeyFunction(SerializableFunction)} and returns itself.
+     * @param elementKeyFunction A function that returns a key of a given element. May be {@code null}.
+     * @return This.
+     * @see #setElementKeyFunction(SerializableFunction)
+     */
+    public final CollectionField<T, C> withElementKeyFunction(SerializableFunction<T, ?> elementKeyFunction) {
+        this.setElementKeyFunction(elementKeyFunction);
+        return this;
+    }
+
+    /**
+     * Checks whether the value of this field is maintained incrementally.
+     * @return When {@code true}, changes made to elements are applied to the current value.
+     * @see #setIncrementalModel(boolean)
+     */
+    public boolean isIncrementalModel() {
+        return incrementalModel;
+    }
+
+    /**
+     * Allows maintaining the value of this field incrementally. By default, each change in any component produces a new collection
+     * with elements from all components. When maintained incrementally, a change in a single component replaces the element in the current value,
+     * so that editing a large collection does not depend on its size. A new collection is only produced when components are added or removed,
+     * or when the change cannot be applied in place.
+     * Elements can be replaced in {@link List}s (unless some elements are filtered out), and in {@link SortedSet}s and {@link HashSet}s (but not {@link LinkedHashSet}s).
+     * Note that in such case the old and the new value of a value change event can be the same object, and a copy must be made to keep the previous state.
+     * @param incrementalModel Whether to maintain the value incrementally.
+     */
+    public void setIncrementalModel(boolean incrementalModel) {
+        this.incrementalModel = incrementalModel;
+        if(!incrementalModel)
+            this.model = null;
+    }
+
+    /**
+     * Chains {@link #setIncrementalModel(boolean)} and returns itself.
+     * @param incrementalModel Whether to maintain the value incrementally.
+     * @return This.
+     * @see #setIncrementalModel(boolean)
+     */
+    public final CollectionField<T, C> withIncrementalModel(boolean incrementalModel) {
+        this.setIncrementalModel(incrementalModel);
+        return this;
+    }
+
+    /**
+     * Adds a listener that is notified about each element that is added, removed or changed, in addition to value change listeners.
+     * Changes made through {@link CollectionController} methods, {@link #replaceAll(int, int, Collection)} and components of elements are reported exactly.
+     * When the value is set, it is compared with the previous one position by position.
+     * @param listener Listener to add.
+     * @return Registration that can be used to stop listening.
+     * @see CollectionElementEvent
+     */
+    public Registration addCollectionElementListener(CollectionElementListener<T> listener) {
+        // events are delivered to listeners of their exact type
+        return Registration.combine(
+                this.addElementListener(CollectionElementEvent.ElementAdded.class, listener),
+                this.addElementListener(CollectionElementEvent.ElementRemoved.class, listener),
+                this.addElementListener(CollectionElementEvent.ElementChanged.class, listener)
+        );
+    }
+
+    @SuppressWarnings("unchecked") // the field only fires events with elements of its type
+    private <E extends CollectionElementEvent<T>> Registration addElementListener(Class<?> eventType, CollectionElementListener<T> listener) {
+        return this.getEventBus().addListener((Class<E>) eventType, listener::onComponentEvent);
+    }
+
+    /**
+     * Checks whether this field is virtualised.
+     * @return When {@code true}, only some elements have components.
+     * @see #setVirtualised(boolean)
+     */
+    public boolean isVirtualised() {
+        return virtualised;
+    }
+
+    /**
+     * Allows virtualising this field. When virtualised, only elements in a window (see {@link #setWindowSize(int)}) have components.
+     * Other elements are kept as values and do not have components. Components of elements that leave the window are reused for elements that enter it.
+     * Indices given to components that implement {@link HasIndex}, as well as indices used by {@link CollectionController} methods, are those of elements.
+     * <p>
+     * Elements before and after the window are represented by placeholders (with CSS class names {@link #ELEMENTS_BEFORE_STYLE_NAME} and {@link #ELEMENTS_AFTER_STYLE_NAME}),
+     * which are sized based on the estimated height of an element, taken from CSS property {@link #ELEMENT_HEIGHT_CSS_PROPERTY} or, if that is not set,
+     * from {@link #setEstimatedElementHeight(String)}. The estimate should be close to the actual height, otherwise the content jumps when the window moves.
+     * When a placeholder becomes visible, the window is moved towards it by half of its size. The window can also be moved with {@link #setWindowStart(int)}.
+     * <p>
+     * The window should be large enough to fill the viewport, with some margin.
+     * When virtualised, {@link #setElementKeyFunction(SerializableFunction) keys of elements} are not used.
+     * @param virtualised Whether to virtualise this field.
+     */
+    public void setVirtualised(boolean virtualised) {
+        if(virtualised && !this.virtualised)
+            this.startVirtualisation();
+        else if(!virtualised && this.virtualised)
+            this.stopVirtualisation();
+    }
+
+    /**
+     * Chains {@link #setVirtualised(boolean)} and returns itself.
+     * @param virtualised Whether to virtualise this field.
+     * @return This.
+     * @see #setVirtualised(boolean)
+     */
+    public final CollectionField<T, C> withVirtualised(boolean virtualised) {
+        this.setVirtualised(virtualised);
+        return this;
+    }
+
+    /**
+     * Returns the number of elements that have components when this field is virtualised.
+     * @return Size of the window.
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Sets the number of elements that have components when this field is virtualised. Defaults to {@link #DEFAULT_WINDOW_SIZE}.
+     * @param windowSize Size of the window. Must be positive.
+     */
+    public void setWindowSize(int windowSize) {
+        if(windowSize <= 0)
+            throw new IllegalArgumentException("window size must be positive, got "+windowSize);
+        this.windowSize = windowSize;
+        if(this.virtualised) {
+            this.synchroniseWindow();
+            this.renderWindow();
+        }
+    }
+
+    /**
+     * Chains {@link #setWindowSize(int)} and returns itself.
+     * @param windowSize Size of the window. Must be positive.
+     * @return This.
+     * @see #setWindowSize(int)
+     */
+    public final CollectionField<T, C> withWindowSize(int windowSize) {
+        this.setWindowSize(windowSize);
+        return this;
+    }
+
+    /**
+     * Returns the estimated height of a single element.
+     * @return A CSS length.
+     * @see #setEstimatedElementHeight(String)
+     */
+    public String getEstimatedElementHeight() {
+        return estimatedElementHeight;
+    }
+
+    /**
+     * Sets the estimated height of a single element, used to size placeholders of elements without components when this field is virtualised.
+     * It is overridden by CSS property {@link #ELEMENT_HEIGHT_CSS_PROPERTY}, if that is set. Defaults to {@link #DEFAULT_ESTIMATED_ELEMENT_HEIGHT}.
+     * @param estimatedElementHeight A CSS length, for example {@code 40px}. Must be neither {@code null} nor blank.
+     */
+    public void setEstimatedElementHeight(String estimatedElementHeight) {
+        if(estimatedElementHeight == null || estimatedElementHeight.isBlank())
+            throw new IllegalArgumentException("estimated element height must be a CSS length, got "+estimatedElementHeight);
+        this.estimatedElementHeight = estimatedElementHeight;
+        if(this.virtualised)
+            this.updatePlaceholders();
+    }
+
+    /**
+     * Chains {@link #setEstimatedElementHeight(String)} and returns itself.
+     * @param estimatedElementHeight A CSS length. Must be neither {@code null} nor blank.
+     * @return This.
+     * @see #setEstimatedElementHeight(String)
+     */
+    public final CollectionField<T, C> withEstimatedElementHeight(String estimatedElementHeight) {
+        this.setEstimatedElementHeight(estimatedElementHeight);
+        return this;
+    }
+
+    /**
+     * Returns the index of the first element that has a component.
+     * @return Index of the first element in the window; always {@code 0} when this field is not virtualised.
+     */
+    public int getWindowStart() {
+        return windowStart;
+    }
+
+    /**
+     * Moves the window so that it starts at a given element. The window is always full, if there are enough elements.
+     * Does nothing when this field is not virtualised.
+     * @param windowStart Index of the first element that should have a component.
+     */
+    public void setWindowStart(int windowStart) {
+        if(this.virtualised) {
+            this.synchroniseWindow();
+            this.windowStart = windowStart;
+            this.renderWindow();
+        }
+    }
+
     @Override
     public void focus() {
         if(!this.fields.isEmpty() && this.fields.get(0) instanceof Focusable<?>)
@@ -286,14 +1040,17 @@ public class CollectionField<T, C extends Collection<T>> extends CustomField<C>
     }
 
     /**
-     * Gets the component at specified position. No range checking.
+     * Gets the component at specified position.
      * For testing purposes only.
-     * @param index Index to get a component at.
+     * @param index Index to get a component at. When virtualised, only elements in the window have components.
      * @return A non-{@code null} component at a given index.
+     * @throws IndexOutOfBoundsException when there is no component for the element at given index.
      */
     @SuppressWarnings("squid:S1452") // only the type is relevant here, could not find a way to narrow down the event type
     final HasValue<?, T> getField(int index) {
-        return this.fields.get(index);
+        if(index < this.windowStart || index >= this.windowStart + this.fields.size())
+            throw new IndexOutOfBoundsException("there is no component for element at index "+index+", only for indices from "+this.windowStart+" to "+(this.windowStart + this.fields.size() - 1));
+        return this.fields.get(index - this.windowStart);
     }
 
 }
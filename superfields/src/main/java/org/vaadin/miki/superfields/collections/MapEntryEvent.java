@@ -0,0 +1,110 @@
+package org.vaadin.miki.superfields.collections;
+
+import com.vaadin.flow.component.ComponentEvent;
+
+/**
+ * Information about a single entry of a {@link MapField} that has been added, removed or changed.
+ * Entries are identified by their keys. Such events are fired in addition to value change events.
+ * @param <K> Type of keys.
+ * @param <V> Type of values.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+public abstract class MapEntryEvent<K, V> extends ComponentEvent<MapField<K, V>> {
+
+    /**
+     * Fired when a key appears in the map.
+     * @param <K> Type of keys.
+     * @param <V> Type of values.
+     */
+    public static class EntryAdded<K, V> extends MapEntryEvent<K, V> {
+
+        /**
+         * Creates the event.
+         * @param source Source of the event.
+         * @param fromClient Whether the change originated from the client.
+         * @param key Added key.
+         * @param value Value of the added key.
+         */
+        public EntryAdded(MapField<K, V> source, boolean fromClient, K key, V value) {
+            super(source, fromClient, key, value);
+        }
+    }
+
+    /**
+     * Fired when a key is no longer in the map.
+     * @param <K> Type of keys.
+     * @param <V> Type of values.
+     */
+    public static class EntryRemoved<K, V> extends MapEntryEvent<K, V> {
+
+        /**
+         * Creates the event.
+         * @param source Source of the event.
+         * @param fromClient Whether the change originated from the client.
+         * @param key Removed key.
+         * @param value Value the key had before it was removed.
+         */
+        public EntryRemoved(MapField<K, V> source, boolean fromClient, K key, V value) {
+            super(source, fromClient, key, value);
+        }
+    }
+
+    /**
+     * Fired when the value of a key changes.
+     * @param <K> Type of keys.
+     * @param <V> Type of values.
+     */
+    public static class EntryChanged<K, V> extends MapEntryEvent<K, V> {
+
+        private final V oldValue;
+
+        /**
+         * Creates the event.
+         * @param source Source of the event.
+         * @param fromClient Whether the change originated from the client.
+         * @param key Key.
+         * @param oldValue Value before the change.
+         * @param value Value after the change.
+         */
+        public EntryChanged(MapField<K, V> source, boolean fromClient, K key, V oldValue, V value) {
+            super(source, fromClient, key, value);
+            this.oldValue = oldValue;
+        }
+
+        /**
+         * Returns the value before the change.
+         * @return Previous value.
+         */
+        public V getOldValue() {
+            return oldValue;
+        }
+    }
+
+    private final K key;
+
+    private final V value;
+
+    private MapEntryEvent(MapField<K, V> source, boolean fromClient, K key, V value) {
+        super(source, fromClient);
+        this.key = key;
+        this.value = value;
+    }
+
+    /**
+     * Returns the key of the entry.
+     * @return The key.
+     */
+    public K getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the value of the entry. For removals, this is the value the key had; for changes, this is the new value.
+     * @return The value.
+     */
+    public V getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,15 @@
+package org.vaadin.miki.superfields.collections;
+
+import com.vaadin.flow.component.ComponentEventListener;
+
+/**
+ * Marker interface for objects that listen to {@link MapEntryEvent}s.
+ * @param <K> Type of keys.
+ * @param <V> Type of values.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+@FunctionalInterface
+public interface MapEntryListener<K, V> extends ComponentEventListener<MapEntryEvent<K, V>> {
+}
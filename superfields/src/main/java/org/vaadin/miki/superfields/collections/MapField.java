@@ -10,6 +10,7 @@ import com.vaadin.flow.component.customfield.CustomField;
 import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.function.SerializablePredicate;
 import com.vaadin.flow.function.SerializableSupplier;
+import com.vaadin.flow.shared.Registration;
 import org.vaadin.miki.markers.WithHelperMixin;
 import org.vaadin.miki.markers.WithHelperPositionableMixin;
 import org.vaadin.miki.markers.WithIdMixin;
@@ -23,12 +24,14 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Supplier;
 
 /**
  * Basic field to support values that are {@link Map}s.
  * This basically forwards everything to a {@link CollectionField} and wraps the value in a {@link Map}. It also expects
  * a component capable of displaying values of type {@link Map.Entry}.
+ * For large maps, the value can be maintained incrementally (see {@link #setIncrementalModel(boolean)}).
  *
  * @see MapEntryField
  * @see CollectionField
@@ -61,6 +64,20 @@ public class MapField<K, V> extends CustomField<Map<K, V>> implements HasStyle,
 
     private SerializablePredicate<Map.Entry<K, V>> entryFilter = nonNullEntryFilter();
 
+    private boolean incrementalModel = false;
+
+    // last generated value, kept only when the model is maintained incrementally
+    private Map<K, V> model;
+
+    private boolean modelPatched = false;
+
+    private boolean modelChangedInPlace = false;
+
+    // entry changed in place, reported to entry listeners when the value changes
+    private Map.Entry<K, V> patchedOldEntry;
+
+    private Map.Entry<K, V> patchedNewEntry;
+
     /**
      * Creates a new {@link MapField} with given empty map supplier, layout provider and entry component provider.
      * @param emptyMapSupplier A supplier of empty maps.
@@ -107,20 +124,118 @@ public class MapField<K, V> extends CustomField<Map<K, V>> implements HasStyle,
 
         this.collectionField = new CollectionField<>(ArrayList::new, mainLayoutProvider, entryValueComponentProvider);
         this.collectionField.addClassName("map-field-entry-collection");
-        this.collectionField.addValueChangeListener(event -> this.updateValue());
+        this.collectionField.addValueChangeListener(event -> {
+            this.updateValue();
+            this.modelChangedInPlace = false;
+        });
+        this.collectionField.setElementPatchListener(this::entryPatched);
+        this.addValueChangeListener(this::fireEntryEvents);
 
         this.add(this.collectionField);
     }
 
     @Override
     protected Map<K, V> generateModelValue() {
+        if(this.modelPatched) {
+            this.modelPatched = false;
+            this.modelChangedInPlace = true;
+            return this.model;
+        }
         final Map<K, V> result = this.emptyMapSupplier.get();
-        this.collectionField.getValue().stream()
-                .filter(this.getCollectionElementFilter())
-                .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        int included = 0;
+        for(Map.Entry<K, V> entry : this.collectionField.getValue())
+            if(this.getCollectionElementFilter().test(entry)) {
+                result.put(entry.getKey(), entry.getValue());
+                included++;
+            }
+        // when keys repeat, later entries win, so changes to entries cannot be simply applied
+        this.model = this.incrementalModel && result.size() == included ? result : null;
         return result;
     }
 
+    @Override
+    protected boolean valueEquals(Map<K, V> value1, Map<K, V> value2) {
+        // a map changed in place is the same map, but its contents are different
+        return !this.modelChangedInPlace && super.valueEquals(value1, value2);
+    }
+
+    private void entryPatched(Map.Entry<K, V> oldEntry, Map.Entry<K, V> newEntry) {
+        this.modelPatched = this.incrementalModel && this.patchModel(oldEntry, newEntry);
+        if(this.modelPatched) {
+            this.patchedOldEntry = oldEntry;
+            this.patchedNewEntry = newEntry;
+        }
+    }
+
+    /**
+     * Fires {@link MapEntryEvent}s that describe the change of value. Removed keys are reported first, followed by added and changed ones.
+     * @param event Value change event.
+     */
+    private void fireEntryEvents(ComponentValueChangeEvent<CustomField<Map<K, V>>, Map<K, V>> event) {
+        final Map.Entry<K, V> oldEntry = this.patchedOldEntry;
+        final Map.Entry<K, V> newEntry = this.patchedNewEntry;
+        this.patchedOldEntry = null;
+        this.patchedNewEntry = null;
+        if(!this.getEventBus().hasListener(MapEntryEvent.EntryAdded.class) && !this.getEventBus().hasListener(MapEntryEvent.EntryRemoved.class)
+                && !this.getEventBus().hasListener(MapEntryEvent.EntryChanged.class))
+            return;
+        // a map changed in place no longer has the previous values, but the change is known
+        if(event.getOldValue() == event.getValue()) {
+            if(oldEntry != null)
+                this.fireEvent(new MapEntryEvent.EntryChanged<>(this, event.isFromClient(), newEntry.getKey(), oldEntry.getValue(), newEntry.getValue()));
+            return;
+        }
+        final Map<K, V> before = event.getOldValue() == null ? Collections.emptyMap() : event.getOldValue();
+        final Map<K, V> after = event.getValue() == null ? Collections.emptyMap() : event.getValue();
+        before.forEach((key, value) -> {
+            if(!after.containsKey(key))
+                this.fireEvent(new MapEntryEvent.EntryRemoved<>(this, event.isFromClient(), key, value));
+        });
+        after.forEach((key, value) -> {
+            if(!before.containsKey(key))
+                this.fireEvent(new MapEntryEvent.EntryAdded<>(this, event.isFromClient(), key, value));
+            else if(!Objects.equals(before.get(key), value))
+                this.fireEvent(new MapEntryEvent.EntryChanged<>(this, event.isFromClient(), key, before.get(key), value));
+        });
+    }
+
+    /**
+     * Adds a listener that is notified about each key that is added or removed, and about each key with a changed value, in addition to value change listeners.
+     * The events are fired when the value of this field changes.
+     * @param listener Listener to add.
+     * @return Registration that can be used to stop listening.
+     * @see MapEntryEvent
+     */
+    public Registration addMapEntryListener(MapEntryListener<K, V> listener) {
+        // events are delivered to listeners of their exact type
+        return Registration.combine(
+                this.addEntryListener(MapEntryEvent.EntryAdded.class, listener),
+                this.addEntryListener(MapEntryEvent.EntryRemoved.class, listener),
+                this.addEntryListener(MapEntryEvent.EntryChanged.class, listener)
+        );
+    }
+
+    @SuppressWarnings("unchecked") // the field only fires events with entries of its types
+    private <E extends MapEntryEvent<K, V>> Registration addEntryListener(Class<?> eventType, MapEntryListener<K, V> listener) {
+        return this.getEventBus().addListener((Class<E>) eventType, listener::onComponentEvent);
+    }
+
+    /**
+     * Changes the value of an entry in the last generated value. Changing a key would change the order of entries, so it is not applied.
+     * @param oldEntry Entry shown before.
+     * @param newEntry Entry shown now.
+     * @return Whether the value has been changed; when {@code false}, the value must be generated again.
+     */
+    private boolean patchModel(Map.Entry<K, V> oldEntry, Map.Entry<K, V> newEntry) {
+        if(this.model == null || !this.entryFilter.test(oldEntry) || !this.entryFilter.test(newEntry) || !Objects.equals(oldEntry.getKey(), newEntry.getKey()))
+            return false;
+        final K key = newEntry.getKey();
+        if(!this.model.containsKey(key) || !Objects.equals(this.model.get(key), oldEntry.getValue()))
+            return false;
+        this.model.put(key, newEntry.getValue());
+        return true;
+    }
+
     @Override
     protected void setPresentationValue(Map<K, V> map) {
         this.collectionField.setValue(map == null ? Collections.emptyList() : new ArrayList<>(map.entrySet()));
@@ -137,6 +252,41 @@ public class MapField<K, V> extends CustomField<Map<K, V>> implements HasStyle,
         this.collectionField.focus();
     }
 
+    /**
+     * Checks whether the value of this field is maintained incrementally.
+     * @return When {@code true}, changes made to values of entries are applied to the current value.
+     * @see #setIncrementalModel(boolean)
+     */
+    public boolean isIncrementalModel() {
+        return incrementalModel;
+    }
+
+    /**
+     * Allows maintaining the value of this field incrementally. By default, each change in any entry produces a new map with all entries.
+     * When maintained incrementally, a change of the value of a single entry is applied to the current value, so that editing a large map does not depend on its size.
+     * A new map is only produced when entries are added or removed, when a key is changed, or when keys repeat.
+     * The underlying {@link CollectionField} is also maintained incrementally (see {@link CollectionField#setIncrementalModel(boolean)}).
+     * Note that in such case the old and the new value of a value change event can be the same object, and a copy must be made to keep the previous state.
+     * @param incrementalModel Whether to maintain the value incrementally.
+     */
+    public void setIncrementalModel(boolean incrementalModel) {
+        this.incrementalModel = incrementalModel;
+        this.collectionField.setIncrementalModel(incrementalModel);
+        if(!incrementalModel)
+            this.model = null;
+    }
+
+    /**
+     * Chains {@link #setIncrementalModel(boolean)} and returns itself.
+     * @param incrementalModel Whether to maintain the value incrementally.
+     * @return This.
+     * @see #setIncrementalModel(boolean)
+     */
+    public final MapField<K, V> withIncrementalModel(boolean incrementalModel) {
+        this.setIncrementalModel(incrementalModel);
+        return this;
+    }
+
     @Override
     public void setCollectionValueComponentProvider(CollectionValueComponentProvider<Map.Entry<K, V>, ?> provider) {
         this.collectionField.setCollectionValueComponentProvider(provider);
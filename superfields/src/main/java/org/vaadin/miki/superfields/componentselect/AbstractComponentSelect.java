@@ -8,6 +8,7 @@ import com.vaadin.flow.component.Focusable;
 import com.vaadin.flow.component.HasComponents;
 import com.vaadin.flow.component.HasStyle;
 import com.vaadin.flow.component.customfield.CustomField;
+import com.vaadin.flow.dom.DomListenerRegistration;
 import com.vaadin.flow.function.SerializableBiConsumer;
 import com.vaadin.flow.function.SerializableBiFunction;
 import org.vaadin.miki.markers.WithHelperMixin;
@@ -17,6 +18,7 @@ import org.vaadin.miki.markers.WithItemsMixin;
 import org.vaadin.miki.markers.WithLabelMixin;
 import org.vaadin.miki.markers.WithLabelPositionableMixin;
 import org.vaadin.miki.markers.WithValueMixin;
+import org.vaadin.miki.util.ComponentTools;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -48,6 +50,12 @@ public abstract class AbstractComponentSelect<C extends Component & ClickNotifie
    */
   public static final int NO_SELECTION = -1;
 
+  /**
+   * Attribute with the index of the option, used when clicks are handled by a single listener.
+   * @see #setDelegatedClickHandlingEnabled(boolean)
+   */
+  public static final String OPTION_INDEX_ATTRIBUTE = "data-component-select-index";
+
   /**
    * A no-op, default do-nothing operation for selection/deselection.
    * @return A bi-consumer that does nothing.
@@ -63,6 +71,7 @@ public abstract class AbstractComponentSelect<C extends Component & ClickNotifie
   private SerializableBiFunction<Integer, I, C> factory;
   private SerializableBiConsumer<Integer, C> whenSelected = noOp();
   private SerializableBiConsumer<Integer, C> whenDeselected = noOp();
+  private DomListenerRegistration delegatedClickRegistration;
 
   /**
    * Creates the select with given options.
@@ -104,6 +113,12 @@ public abstract class AbstractComponentSelect<C extends Component & ClickNotifie
       this.updateValue();
   }
 
+  private void onOptionIndexClicked(int index) {
+    // the index comes from the browser, so it is checked against the component, just like Flow does for listeners on the component itself
+    if(index < this.components.size() && ComponentTools.isClickable(this.components.get(index)) && this.itemClicked(index))
+      this.updateValue();
+  }
+
   /**
    * Deselects component at the given index.
    * @param index Index of a component to deselect.
@@ -131,7 +146,9 @@ public abstract class AbstractComponentSelect<C extends Component & ClickNotifie
     for(I option: this.options) {
       index++;
       final C component = this.getComponentFactory().apply(index, option);
-      component.addClickListener(this::onComponentClicked);
+      if(this.isDelegatedClickHandlingEnabled())
+        component.getElement().setAttribute(OPTION_INDEX_ATTRIBUTE, String.valueOf(index));
+      else component.addClickListener(this::onComponentClicked);
       if(!ignoreActions) {
         if (this.isSelected(index))
           this.getComponentSelectedAction().accept(index, component);
@@ -267,6 +284,44 @@ public abstract class AbstractComponentSelect<C extends Component & ClickNotifie
     return (SELF) this;
   }
 
+  /**
+   * Checks whether clicks on components are handled by a single listener.
+   * @return Whether delegated click handling is enabled. Defaults to {@code false}.
+   */
+  public boolean isDelegatedClickHandlingEnabled() {
+    return this.delegatedClickRegistration != null;
+  }
+
+  /**
+   * Enables or disables delegated click handling. Rebuilds the components.
+   * When enabled, instead of a click listener for each component, there is only one listener on the layout. Components are marked with
+   * the index of their option (in {@link #OPTION_INDEX_ATTRIBUTE}), which the browser reports back when a component is clicked.
+   * @param enabled Whether to enable delegated click handling.
+   */
+  public void setDelegatedClickHandlingEnabled(boolean enabled) {
+    if(enabled == this.isDelegatedClickHandlingEnabled())
+      return;
+    if(enabled)
+      this.delegatedClickRegistration = ComponentTools.addDelegatedClickListener(((Component) this.layout).getElement(), OPTION_INDEX_ATTRIBUTE, this::onOptionIndexClicked);
+    else {
+      this.delegatedClickRegistration.remove();
+      this.delegatedClickRegistration = null;
+    }
+    this.rebuildComponents();
+  }
+
+  /**
+   * Chains {@link #setDelegatedClickHandlingEnabled(boolean)} and returns itself.
+   * @param enabled Whether to enable delegated click handling.
+   * @return This.
+   * @see #setDelegatedClickHandlingEnabled(boolean)
+   */
+  @SuppressWarnings("unchecked") // should be fine
+  public final SELF withDelegatedClickHandlingEnabled(boolean enabled) {
+    this.setDelegatedClickHandlingEnabled(enabled);
+    return (SELF) this;
+  }
+
   @Override
   public void setItems(Collection<I> items) {
     this.options.clear();
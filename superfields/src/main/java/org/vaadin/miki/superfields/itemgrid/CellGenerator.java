@@ -20,4 +20,18 @@ public interface CellGenerator<T> {
      */
     Component generateComponent(T value, int row, int column);
 
+    /**
+     * Invoked when an {@link ItemGrid} with incremental repaint enabled moves a previously generated component to a different row or column.
+     * Such components are not generated again, so any details that depend on the position should be updated here.
+     * By default, this does nothing.
+     * @param component Component, as generated earlier by {@link #generateComponent(Object, int, int)}.
+     * @param value Value in the cell.
+     * @param row Row the component is now placed in.
+     * @param column Column the component is now placed in.
+     * @see ItemGrid#setIncrementalRepaintEnabled(boolean)
+     */
+    default void componentRelocated(Component component, T value, int row, int column) {
+        // nothing by default
+    }
+
 }
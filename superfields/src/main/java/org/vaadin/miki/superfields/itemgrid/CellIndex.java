@@ -0,0 +1,107 @@
+package org.vaadin.miki.superfields.itemgrid;
+
+import com.vaadin.flow.component.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Indexes of {@link CellInformation} in an {@link ItemGrid}, by value, by position, by component, by row and by column.
+ * Cells must be added in the order they appear in the grid; when there is more than one cell for a value, the first one is indexed.
+ * Values are used as keys in a hash map, so they should have {@link Object#hashCode()} consistent with {@link Object#equals(Object)}.
+ *
+ * @param <T> Type of data associated with the cells.
+ * @author miki
+ * @since 2026-10-18
+ */
+final class CellIndex<T> {
+
+    /**
+     * Builds a single key from row and column numbers.
+     * @param row Row number.
+     * @param column Column number.
+     * @return A key.
+     */
+    static long positionKey(int row, int column) {
+        return ((long) row << Integer.SIZE) | column;
+    }
+
+    private final Map<T, CellInformation<T>> byValue = new HashMap<>();
+
+    private final Map<Long, CellInformation<T>> byPosition = new HashMap<>();
+
+    private final Map<Component, CellInformation<T>> byComponent = new IdentityHashMap<>();
+
+    private final List<List<CellInformation<T>>> rows = new ArrayList<>();
+
+    private final List<List<CellInformation<T>>> columns = new ArrayList<>();
+
+    /**
+     * Adds a cell to the indexes.
+     * @param cell Cell to add.
+     */
+    void add(CellInformation<T> cell) {
+        this.byValue.putIfAbsent(cell.getValue(), cell);
+        this.byPosition.put(positionKey(cell.getRow(), cell.getColumn()), cell);
+        this.byComponent.put(cell.getComponent(), cell);
+        addTo(this.rows, cell.getRow(), cell);
+        addTo(this.columns, cell.getColumn(), cell);
+    }
+
+    private static <V> void addTo(List<List<CellInformation<V>>> lists, int index, CellInformation<V> cell) {
+        while (lists.size() <= index)
+            lists.add(new ArrayList<>());
+        lists.get(index).add(cell);
+    }
+
+    /**
+     * Removes everything from the indexes.
+     */
+    void clear() {
+        this.byValue.clear();
+        this.byPosition.clear();
+        this.byComponent.clear();
+        this.rows.clear();
+        this.columns.clear();
+    }
+
+    Optional<CellInformation<T>> getByValue(T value) {
+        return Optional.ofNullable(this.byValue.get(value));
+    }
+
+    Optional<CellInformation<T>> getByPosition(int row, int column) {
+        return Optional.ofNullable(this.byPosition.get(positionKey(row, column)));
+    }
+
+    Optional<CellInformation<T>> getByComponent(Component component) {
+        return Optional.ofNullable(this.byComponent.get(component));
+    }
+
+    /**
+     * Returns cells in given row.
+     * @param row Row number.
+     * @return An unmodifiable copy of the cells, in the order of columns. May be empty.
+     */
+    List<CellInformation<T>> getRow(int row) {
+        return copyOf(this.rows, row);
+    }
+
+    /**
+     * Returns cells in given column.
+     * @param column Column number.
+     * @return An unmodifiable copy of the cells, in the order of rows. May be empty.
+     */
+    List<CellInformation<T>> getColumn(int column) {
+        return copyOf(this.columns, column);
+    }
+
+    private static <V> List<CellInformation<V>> copyOf(List<List<CellInformation<V>>> lists, int index) {
+        return index < 0 || index >= lists.size() ? Collections.emptyList() : List.copyOf(lists.get(index));
+    }
+
+}
@@ -1,7 +1,9 @@
 package org.vaadin.miki.superfields.itemgrid;
 
 import com.vaadin.flow.component.AbstractField;
+import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.HasComponents;
 import com.vaadin.flow.component.HasStyle;
 import com.vaadin.flow.component.Tag;
@@ -9,6 +11,11 @@ import com.vaadin.flow.component.customfield.CustomField;
 import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.dom.ClassList;
+import com.vaadin.flow.dom.DomListenerRegistration;
+import com.vaadin.flow.shared.Registration;
 import org.vaadin.miki.markers.WithHelperMixin;
 import org.vaadin.miki.markers.WithHelperPositionableMixin;
 import org.vaadin.miki.markers.WithIdMixin;
@@ -16,13 +23,28 @@ import org.vaadin.miki.markers.WithItemsMixin;
 import org.vaadin.miki.markers.WithLabelMixin;
 import org.vaadin.miki.markers.WithLabelPositionableMixin;
 import org.vaadin.miki.markers.WithValueMixin;
+import org.vaadin.miki.superfields.lazyload.ComponentObservationEvent;
+import org.vaadin.miki.superfields.lazyload.ComponentObserver;
+import org.vaadin.miki.util.ComponentTools;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -30,7 +52,9 @@ import java.util.stream.Stream;
  * Grid of items, with defined number of columns.
  * Each cell in the grid corresponds to a single element from the underlying collection of data.
  *
- * Note: currently this is not lazy-loading the data and not reacting to changes in the underlying data set.
+ * By default, all items are kept in memory and each of them has its own component. Items can be loaded lazily from a {@link DataProvider} instead,
+ * in which case only the rows near the visible part of the grid are rendered.
+ * Note: items passed to {@link #setItems(Collection)} are not observed for changes.
  *
  * @param <T> Type of item stored in the grid.
  *
@@ -57,6 +81,35 @@ public class ItemGrid<T>
      */
     public static final String DEFAULT_SELECTED_ITEM_CLASS_NAME = "item-grid-selected-cell";
 
+    /**
+     * Number of rows in a block of a lazy-loading grid. Rows are fetched, rendered and removed in blocks.
+     * @see #setDataProvider(DataProvider)
+     */
+    public static final int LAZY_BLOCK_SIZE = 20;
+
+    /**
+     * Default number of rows rendered outside the visible part of a lazy-loading grid.
+     * @see #setOverscan(int)
+     */
+    public static final int DEFAULT_OVERSCAN = 20;
+
+    /**
+     * Default estimated height of a row in a lazy-loading grid.
+     * @see #setEstimatedRowHeight(String)
+     */
+    public static final String DEFAULT_ESTIMATED_ROW_HEIGHT = "2.5em";
+
+    /**
+     * Class name of each block of rows in a lazy-loading grid.
+     */
+    public static final String LAZY_BLOCK_CLASS_NAME = "item-grid-block";
+
+    /**
+     * Attribute with the position of the cell, used when clicks are handled by a single listener.
+     * @see #setDelegatedClickHandlingEnabled(boolean)
+     */
+    public static final String CELL_POSITION_ATTRIBUTE = "data-item-grid-cell";
+
     /**
      * Default {@link CellSelectionHandler}. It adds or removes {@link #DEFAULT_SELECTED_ITEM_CLASS_NAME} to the element of the component.
      * @param event Event.
@@ -116,10 +169,51 @@ public class ItemGrid<T>
         return number%2 == 0 ? "even" : "odd";
     }
 
+    /**
+     * Replaces the class name that ends with {@code even} or {@code odd} to match the given number.
+     * @param classes Class names to update.
+     * @param prefix Prefix of the class name.
+     * @param number Number to match.
+     */
+    private static void updateEvenOrOdd(ClassList classes, String prefix, int number) {
+        classes.remove(prefix + evenOrOdd(number + 1));
+        classes.add(prefix + evenOrOdd(number));
+    }
+
+    /**
+     * {@link CellGenerator} used when none is given. Uses {@link #defaultCellGenerator(Object, int, int)} and keeps the class names up to date when a cell is moved.
+     * @param <V> Item type.
+     */
+    private static final class DefaultCellGenerator<V> implements CellGenerator<V> {
+        @Override
+        public Component generateComponent(V value, int row, int column) {
+            return defaultCellGenerator(value, row, column);
+        }
+
+        @Override
+        public void componentRelocated(Component component, V value, int row, int column) {
+            final ClassList classes = component.getElement().getClassList();
+            updateEvenOrOdd(classes, "item-grid-cell-column-", column);
+            updateEvenOrOdd(classes, "item-grid-cell-row-", row);
+        }
+    }
+
+    /**
+     * Creates cells for given positions.
+     * @param <V> Item type.
+     */
+    @FunctionalInterface
+    private interface ValueCellFactory<V> {
+        CellInformation<V> buildCell(V item, int row, int column);
+    }
+
     private final HasComponents contents;
 
     private final List<CellInformation<T>> cells = new ArrayList<>();
 
+    // values of cells are not serialised, so neither is the index; it is rebuilt when needed
+    private transient CellIndex<T> cellIndex;
+
     private CellInformation<T> markedAsSelected;
 
     private transient CellGenerator<T> cellGenerator;
@@ -136,6 +230,28 @@ public class ItemGrid<T>
 
     private int columnCount = DEFAULT_COLUMN_COUNT;
 
+    private boolean incrementalRepaintEnabled = false;
+
+    private DataProvider<T, ?> dataProvider;
+
+    private Registration dataProviderRegistration;
+
+    private ComponentObserver blockObserver;
+
+    private RowLayout lazyLayout;
+
+    private final List<Div> blocks = new ArrayList<>();
+
+    private final NavigableMap<Integer, List<CellInformation<T>>> renderedBlocks = new TreeMap<>();
+
+    private final NavigableSet<Integer> visibleBlocks = new TreeSet<>();
+
+    private int overscan = DEFAULT_OVERSCAN;
+
+    private String estimatedRowHeight = DEFAULT_ESTIMATED_ROW_HEIGHT;
+
+    private DomListenerRegistration delegatedClickRegistration;
+
     /**
      * Creates the component with given items, using default {@link CellGenerator} and {@link CellSelectionHandler}.
      * @param items Items to add to the component.
@@ -201,7 +317,9 @@ public class ItemGrid<T>
      * Repaints all current items.
      */
     protected final void repaintAllItems() {
-        this.repaintAllItems(this.cells.stream().filter(CellInformation::isValueCell).map(CellInformation::getValue).toList());
+        if(this.isLazy())
+            this.repaintLazily();
+        else this.repaintAllItems(this.cells.stream().filter(CellInformation::isValueCell).map(CellInformation::getValue).toList());
     }
 
     protected final CellInformation<T> buildPaddingCell(int row, int column) {
@@ -222,50 +340,166 @@ public class ItemGrid<T>
         final T currentValue = this.getValue();
 
         this.contents.removeAll();
-        this.cells.clear();
+        this.clearCells();
 
-        // do all passed items
         int row = 0;
+        for (List<CellInformation<T>> rowCells : this.layOutCells(itemCollection, this::buildPaddingCell, this::buildValueCell)) {
+            // do processing and add to row component.
+            final HasComponents rowContainer = this.getRowComponentGenerator().generateRowComponent(row);
+            rowCells.forEach(cellInformation -> {
+                this.processCell(cellInformation, currentValue);
+                rowContainer.add(cellInformation.getComponent());
+            });
+            row += 1;
+            this.contents.add((Component)rowContainer);
+        }
+    }
 
-        int itemsLeft = itemCollection.size(); // used for padding
+    /**
+     * Updates the grid to show the items in the collection, reusing existing cells whenever possible.
+     * Value cells are matched by item equality (so items must have {@link Object#hashCode()} consistent with {@link Object#equals(Object)});
+     * padding cells are reused only when they stay in the same position. Components of reused cells are moved rather than generated again,
+     * and only the rows that actually changed are modified.
+     * @param itemCollection Collection with items to show.
+     * @see #setIncrementalRepaintEnabled(boolean)
+     * @see CellGenerator#componentRelocated(Component, Object, int, int)
+     */
+    protected void repaintChangedItems(Collection<T> itemCollection) {
+        final T currentValue = this.getValue();
+        final Component selectedComponent = this.markedAsSelected == null ? null : this.markedAsSelected.getComponent();
+
+        // existing cells, grouped by row, by value and by position
+        final List<List<Component>> oldRows = new ArrayList<>();
+        final Map<T, Deque<CellInformation<T>>> oldValueCells = new HashMap<>();
+        final Map<Long, CellInformation<T>> oldPaddingCells = new HashMap<>();
+        for (CellInformation<T> cell : this.cells) {
+            while (oldRows.size() <= cell.getRow())
+                oldRows.add(new ArrayList<>());
+            oldRows.get(cell.getRow()).add(cell.getComponent());
+            if (cell.isValueCell())
+                oldValueCells.computeIfAbsent(cell.getValue(), value -> new ArrayDeque<>()).add(cell);
+            else oldPaddingCells.put(CellIndex.positionKey(cell.getRow(), cell.getColumn()), cell);
+        }
 
-        final Iterator<T> iterator = itemCollection.iterator();
-        final ArrayList<CellInformation<T>> currentRow = new ArrayList<>();
+        final Set<Component> reused = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<List<CellInformation<T>>> layout = this.layOutCells(itemCollection,
+                (row, column) -> {
+                    final CellInformation<T> existing = oldPaddingCells.remove(CellIndex.positionKey(row, column));
+                    if (existing == null)
+                        return this.buildPaddingCell(row, column);
+                    reused.add(existing.getComponent());
+                    return existing;
+                },
+                (item, row, column) -> {
+                    final CellInformation<T> existing = Optional.ofNullable(oldValueCells.get(item)).map(Deque::poll).orElse(null);
+                    if (existing == null)
+                        return this.buildValueCell(item, row, column);
+                    reused.add(existing.getComponent());
+                    if (existing.getRow() == row && existing.getColumn() == column)
+                        return existing;
+                    this.getCellGenerator().componentRelocated(existing.getComponent(), item, row, column);
+                    final CellInformation<T> moved = new CellInformation<>(row, column, item, existing.getComponent());
+                    if(this.isDelegatedClickHandlingEnabled())
+                        this.markCellPosition(moved);
+                    return moved;
+                });
+
+        // components that are no longer needed go away first
+        this.cells.stream().map(CellInformation::getComponent).filter(component -> !reused.contains(component)).forEach(component -> component.getElement().removeFromParent());
+        this.clearCells();
+        this.markedAsSelected = null;
+
+        final List<Component> rowComponents = ((Component)this.contents).getChildren().toList();
+        for (int row = 0; row < layout.size(); row++) {
+            final List<CellInformation<T>> rowCells = layout.get(row);
+            final List<Component> oldRow = row < oldRows.size() ? oldRows.get(row) : Collections.emptyList();
+            final HasComponents rowContainer;
+            if (row < rowComponents.size())
+                rowContainer = (HasComponents) rowComponents.get(row);
+            else {
+                rowContainer = this.getRowComponentGenerator().generateRowComponent(row);
+                this.contents.add((Component)rowContainer);
+            }
+            // cells at the beginning of the row that did not change are left alone, the remaining ones are (re)added in order
+            boolean unchanged = true;
+            for (int column = 0; column < rowCells.size(); column++) {
+                final CellInformation<T> cell = rowCells.get(column);
+                if (reused.contains(cell.getComponent())) {
+                    this.addCell(cell);
+                    if (cell.getComponent() == selectedComponent)
+                        this.markedAsSelected = cell;
+                }
+                else this.processCell(cell, currentValue);
+                unchanged = unchanged && column < oldRow.size() && oldRow.get(column) == cell.getComponent();
+                if (!unchanged)
+                    rowContainer.add(cell.getComponent());
+            }
+        }
+        for (int row = rowComponents.size() - 1; row >= layout.size(); row--)
+            this.contents.remove(rowComponents.get(row));
+    }
+
+    private void clearCells() {
+        this.cells.clear();
+        this.getCellIndex().clear();
+    }
 
-        RowPadding padding = this.getRowPaddingStrategy().getRowPadding(row, this.getColumnCount(), itemsLeft);
+    private void addCell(CellInformation<T> cell) {
+        this.cells.add(cell);
+        this.getCellIndex().add(cell);
+    }
 
-        while (itemsLeft > 0) {
-            // there must be space for at least one cell from the data set
-            if(padding.getBeginning() + padding.getEnd() >= this.getColumnCount())
-                throw new IllegalStateException(String.format("row padding requires %d and %d cells - that is too many, as there are %d columns", padding.getBeginning(), padding.getEnd(), this.getColumnCount()));
+    private CellIndex<T> getCellIndex() {
+        if (this.cellIndex == null) {
+            this.cellIndex = new CellIndex<>();
+            this.cells.forEach(this.cellIndex::add);
+        }
+        return this.cellIndex;
+    }
 
-            currentRow.clear();
+    /**
+     * Arranges the items into rows, according to the current {@link RowPaddingStrategy}.
+     * @param itemCollection Items to arrange.
+     * @param paddingCellFactory Provides padding cells for given row and column.
+     * @param valueCellFactory Provides value cells for given item, row and column.
+     * @return A list of rows, each with cells in the order of columns.
+     */
+    private List<List<CellInformation<T>>> layOutCells(Collection<T> itemCollection, BiFunction<Integer, Integer, CellInformation<T>> paddingCellFactory, ValueCellFactory<T> valueCellFactory) {
+        final RowLayout layout = RowLayout.of(this.getRowPaddingStrategy(), this.getColumnCount(), itemCollection.size());
+        final Iterator<T> iterator = itemCollection.iterator();
+        final List<List<CellInformation<T>>> result = new ArrayList<>(layout.getRowCount());
+        for (int row = 0; row < layout.getRowCount(); row++)
+            result.add(this.layOutRow(layout, row, iterator, paddingCellFactory, valueCellFactory));
+        return result;
+    }
 
-            int column = 0;
-            // first, the padding at the beginning
-            for(; column < padding.getBeginning(); column++)
-                currentRow.add(this.buildPaddingCell(row, column));
+    /**
+     * Arranges items into a single row.
+     * @param layout Layout of the rows.
+     * @param row Row number.
+     * @param iterator Items, starting with the first item in the row.
+     * @param paddingCellFactory Provides padding cells for given row and column.
+     * @param valueCellFactory Provides value cells for given item, row and column.
+     * @return Cells in the row, in the order of columns.
+     */
+    private List<CellInformation<T>> layOutRow(RowLayout layout, int row, Iterator<T> iterator, BiFunction<Integer, Integer, CellInformation<T>> paddingCellFactory, ValueCellFactory<T> valueCellFactory) {
+        final List<CellInformation<T>> currentRow = new ArrayList<>();
 
-            // then, items
-            for(; iterator.hasNext() && column < this.getColumnCount()-padding.getEnd() && itemsLeft-- >= 0; column++)
-                currentRow.add(this.buildValueCell(iterator.next(), row, column));
+        int column = 0;
+        // first, the padding at the beginning
+        for(; column < layout.getBeginning(row); column++)
+            currentRow.add(paddingCellFactory.apply(row, column));
 
-            // end padding only when the padding is defined
-            if(padding.getEnd() > 0)
-                for(int zmp1 = column; zmp1 < Math.min(this.getColumnCount(), column + padding.getEnd()); zmp1++)
-                    currentRow.add(this.buildPaddingCell(row, zmp1));
+        // then, items
+        final int lastItemColumn = column + layout.getItemCount(row);
+        for(; iterator.hasNext() && column < lastItemColumn; column++)
+            currentRow.add(valueCellFactory.buildCell(iterator.next(), row, column));
 
-            // do processing and add to row component.
-            final HasComponents rowContainer = this.getRowComponentGenerator().generateRowComponent(row);
-            currentRow.forEach(cellInformation -> {
-                this.processCell(cellInformation, currentValue);
-                rowContainer.add(cellInformation.getComponent());
-            });
+        // end padding
+        for(int zmp1 = 0; zmp1 < layout.getEnd(row); zmp1++, column++)
+            currentRow.add(paddingCellFactory.apply(row, column));
 
-            row += 1;
-            this.contents.add((Component)rowContainer);
-            padding = this.getRowPaddingStrategy().getRowPadding(row, this.getColumnCount(), itemsLeft);
-        }
+        return currentRow;
     }
 
     /**
@@ -277,7 +511,7 @@ public class ItemGrid<T>
         final boolean selected = cellInformation.isValueCell() && Objects.equals(cellInformation.getValue(), currentValue);
         this.getCellSelectionHandler().cellSelectionChanged(new CellSelectionEvent<>(cellInformation, selected));
         this.registerClickEvents(cellInformation);
-        this.cells.add(cellInformation);
+        this.addCell(cellInformation);
 
         if (selected)
             this.markedAsSelected = cellInformation;
@@ -287,11 +521,33 @@ public class ItemGrid<T>
      * Adds a click listener to the dom element of the {@link Component} inside given {@link CellInformation}.
      * This click listener will select or deselect a cell and update the value of this grid.
      *
+     * When delegated click handling is enabled, no listener is added; instead, the element is marked with {@link #CELL_POSITION_ATTRIBUTE}.
+     *
      * Note: when overriding this method, please remember to call {@code super}.
+     * When incremental repaint is enabled, this method is called only once for each component, even if the component is later moved to another cell.
      * @param information Information. Never {@code null}.
+     * @see #setIncrementalRepaintEnabled(boolean)
+     * @see #setDelegatedClickHandlingEnabled(boolean)
      */
     protected void registerClickEvents(CellInformation<T> information) {
-        information.getComponent().getElement().addEventListener("click", event -> this.clickCellAndUpdateValue(information));
+        if(this.isDelegatedClickHandlingEnabled()) {
+            this.markCellPosition(information);
+            return;
+        }
+        final Component component = information.getComponent();
+        // the component may be moved to another cell, so the current information is looked up when clicked
+        component.getElement().addEventListener("click", event -> this.getCellIndex().getByComponent(component).ifPresent(this::clickCellAndUpdateValue));
+    }
+
+    private void markCellPosition(CellInformation<T> information) {
+        information.getComponent().getElement().setAttribute(CELL_POSITION_ATTRIBUTE, String.valueOf(information.getRow() * this.getColumnCount() + information.getColumn()));
+    }
+
+    private void onCellPositionClicked(int position) {
+        // the position comes from the browser, so it is checked against the component, just like Flow does for listeners on the component itself
+        this.getCellInformation(position / this.getColumnCount(), position % this.getColumnCount())
+                .filter(information -> ComponentTools.isClickable(information.getComponent()))
+                .ifPresent(this::clickCellAndUpdateValue);
     }
 
     private void clickCellAndUpdateValue(CellInformation<T> information) {
@@ -334,16 +590,22 @@ public class ItemGrid<T>
     protected void setPresentationValue(T t) {
         if(Objects.equals(t, this.getEmptyValue()) && this.markedAsSelected != null)
             this.clickCell(this.markedAsSelected);
-        else if(!Objects.equals(t, this.getEmptyValue()))
-            this.getCellInformation(t).ifPresent(this::clickCell);
+        else if(!Objects.equals(t, this.getEmptyValue())) {
+            final Optional<CellInformation<T>> cell = this.getCellInformation(t);
+            if(cell.isPresent())
+                cell.ifPresent(this::clickCell);
+            // the value may be in a cell that is not rendered, in which case the cell will be selected once rendered
+            else if(this.markedAsSelected != null)
+                this.clickCell(this.markedAsSelected);
+        }
     }
 
     /**
      * Sets new {@link CellGenerator}. Repaints all items.
-     * @param cellGenerator Cell generator. If {@code null} is passed, {@link #defaultCellGenerator(Object, int, int)} will be used.
+     * @param cellGenerator Cell generator. If {@code null} is passed, one that uses {@link #defaultCellGenerator(Object, int, int)} will be used.
      */
     public void setCellGenerator(CellGenerator<T> cellGenerator) {
-        this.cellGenerator = Optional.ofNullable(cellGenerator).orElse(ItemGrid::defaultCellGenerator);
+        this.cellGenerator = Optional.ofNullable(cellGenerator).orElseGet(DefaultCellGenerator::new);
         this.repaintAllItems();
     }
 
@@ -403,6 +665,8 @@ public class ItemGrid<T>
      * @see #setColumnCount(int)
      */
     public long getRowCount() {
+        if(this.isLazy())
+            return this.lazyLayout.getRowCount();
         return ((Component)this.contents).getChildren().count();
     }
 
@@ -436,11 +700,357 @@ public class ItemGrid<T>
 
     @Override
     public void setItems(Collection<T> collection) {
-        this.repaintAllItems(collection);
+        if(this.isLazy())
+            this.stopLazyLoading();
+        if(this.isIncrementalRepaintEnabled())
+            this.repaintChangedItems(collection);
+        else this.repaintAllItems(collection);
+    }
+
+    /**
+     * Checks whether clicks on cells are handled by a single listener.
+     * @return Whether delegated click handling is enabled. Defaults to {@code false}.
+     */
+    public boolean isDelegatedClickHandlingEnabled() {
+        return this.delegatedClickRegistration != null;
+    }
+
+    /**
+     * Enables or disables delegated click handling. Repaints all items.
+     * When enabled, instead of a click listener for each cell, there is only one listener on the main container. Cells are marked with
+     * their position (in {@link #CELL_POSITION_ATTRIBUTE}), which the browser reports back when a cell is clicked.
+     * This considerably reduces the amount of data needed for each cell, both in the session and in the initial response.
+     * @param delegatedClickHandlingEnabled Whether to enable delegated click handling.
+     * @see #registerClickEvents(CellInformation)
+     */
+    public void setDelegatedClickHandlingEnabled(boolean delegatedClickHandlingEnabled) {
+        if(delegatedClickHandlingEnabled == this.isDelegatedClickHandlingEnabled())
+            return;
+        if(delegatedClickHandlingEnabled)
+            this.delegatedClickRegistration = ComponentTools.addDelegatedClickListener(((Component)this.contents).getElement(), CELL_POSITION_ATTRIBUTE, this::onCellPositionClicked);
+        else {
+            this.delegatedClickRegistration.remove();
+            this.delegatedClickRegistration = null;
+        }
+        this.repaintAllItems();
+    }
+
+    /**
+     * Chains {@link #setDelegatedClickHandlingEnabled(boolean)} and returns itself.
+     * @param delegatedClickHandlingEnabled Whether to enable delegated click handling.
+     * @return This.
+     * @see #setDelegatedClickHandlingEnabled(boolean)
+     */
+    public ItemGrid<T> withDelegatedClickHandlingEnabled(boolean delegatedClickHandlingEnabled) {
+        this.setDelegatedClickHandlingEnabled(delegatedClickHandlingEnabled);
+        return this;
+    }
+
+    /**
+     * Checks whether setting items only updates the cells that changed.
+     * @return Whether incremental repaint is enabled. Defaults to {@code false}.
+     */
+    public boolean isIncrementalRepaintEnabled() {
+        return incrementalRepaintEnabled;
+    }
+
+    /**
+     * Enables or disables incremental repaint. When enabled, setting items reuses the cells of items that are already in the grid
+     * (matched by equality) and only creates, moves or removes the cells and rows that changed.
+     * Components of reused cells are not generated again, even if they end up in a different row or column -
+     * {@link CellGenerator#componentRelocated(Component, Object, int, int)} is called instead.
+     * Changing the column count, generators, selection handler or padding strategy always repaints all items.
+     * @param incrementalRepaintEnabled Whether to enable incremental repaint.
+     * @see #repaintChangedItems(Collection)
+     */
+    public void setIncrementalRepaintEnabled(boolean incrementalRepaintEnabled) {
+        this.incrementalRepaintEnabled = incrementalRepaintEnabled;
+    }
+
+    /**
+     * Chains {@link #setIncrementalRepaintEnabled(boolean)} and returns itself.
+     * @param incrementalRepaintEnabled Whether to enable incremental repaint.
+     * @return This.
+     * @see #setIncrementalRepaintEnabled(boolean)
+     */
+    public ItemGrid<T> withIncrementalRepaintEnabled(boolean incrementalRepaintEnabled) {
+        this.setIncrementalRepaintEnabled(incrementalRepaintEnabled);
+        return this;
+    }
+
+    /**
+     * Sets the {@link DataProvider} to lazily load the items from. Repaints all items.
+     * Only the rows near the visible part of the grid (plus {@link #getOverscan()} rows) are fetched and rendered; rows that scroll far away are removed.
+     * The rows are grouped in blocks of {@link #LAZY_BLOCK_SIZE}; each block that is not rendered is replaced with an empty placeholder,
+     * which height is based on {@link #getEstimatedRowHeight()}. For smooth scrolling, rows should have fixed height.
+     * Methods that return information about cells (e.g. {@link #size()} or {@link #getCellInformation(Object)}) only consider the rendered cells.
+     * The value of the grid can be set to any item, regardless of whether it is rendered.
+     * Setting items with {@link #setItems(Collection)} turns lazy loading off.
+     * Changes in the data provider are only followed while this grid is attached, and all items are repainted when it is attached again.
+     * @param dataProvider Data provider to use, e.g. {@link DataProvider#fromCallbacks(com.vaadin.flow.data.provider.CallbackDataProvider.FetchCallback, com.vaadin.flow.data.provider.CallbackDataProvider.CountCallback)}.
+     *                     If {@code null} is passed, lazy loading is turned off and the grid becomes empty.
+     */
+    public void setDataProvider(DataProvider<T, ?> dataProvider) {
+        if(dataProvider == null) {
+            if(this.isLazy())
+                this.stopLazyLoading();
+            this.repaintAllItems(Collections.emptyList());
+            return;
+        }
+        this.stopListeningToDataProvider();
+        this.dataProvider = dataProvider;
+        if(this.isAttached())
+            this.listenToDataProvider();
+        if(this.blockObserver == null) {
+            this.blockObserver = new ComponentObserver();
+            this.blockObserver.addComponentObservationListener(this::onBlockObserved);
+            // blocks are no longer observed after being detached
+            this.blockObserver.addAttachListener(event -> this.blockObserver.observe(this.blocks.toArray(Component[]::new)));
+            this.add(this.blockObserver);
+        }
+        this.repaintAllItems();
+    }
+
+    /**
+     * Returns the current {@link DataProvider}.
+     * @return A {@link DataProvider}, if lazy loading is on.
+     */
+    public Optional<DataProvider<T, ?>> getDataProvider() {
+        return Optional.ofNullable(this.dataProvider);
+    }
+
+    /**
+     * Chains {@link #setDataProvider(DataProvider)} and returns itself.
+     * @param dataProvider Data provider to use.
+     * @return This.
+     * @see #setDataProvider(DataProvider)
+     */
+    public ItemGrid<T> withDataProvider(DataProvider<T, ?> dataProvider) {
+        this.setDataProvider(dataProvider);
+        return this;
+    }
+
+    /**
+     * Returns the number of rows rendered outside the visible part of a lazy-loading grid.
+     * @return Number of rows. Defaults to {@link #DEFAULT_OVERSCAN}.
+     */
+    public int getOverscan() {
+        return overscan;
+    }
+
+    /**
+     * Sets the number of rows rendered above and below the visible part of a lazy-loading grid.
+     * This is rounded up to full blocks of {@link #LAZY_BLOCK_SIZE} rows.
+     * @param overscan Number of rows. Negative values are replaced with {@code 0}.
+     * @see #setDataProvider(DataProvider)
+     */
+    public void setOverscan(int overscan) {
+        this.overscan = Math.max(0, overscan);
+        if(this.isLazy())
+            this.updateRenderedBlocks();
+    }
+
+    /**
+     * Chains {@link #setOverscan(int)} and returns itself.
+     * @param overscan Number of rows.
+     * @return This.
+     * @see #setOverscan(int)
+     */
+    public ItemGrid<T> withOverscan(int overscan) {
+        this.setOverscan(overscan);
+        return this;
+    }
+
+    /**
+     * Returns the estimated height of a row, used for the placeholders of rows that are not rendered.
+     * @return A CSS length. Defaults to {@link #DEFAULT_ESTIMATED_ROW_HEIGHT}.
+     */
+    public String getEstimatedRowHeight() {
+        return estimatedRowHeight;
+    }
+
+    /**
+     * Sets the estimated height of a row, used for the placeholders of rows that are not rendered. Repaints all items.
+     * @param estimatedRowHeight A CSS length, e.g. {@code 40px}. If {@code null} is passed, {@link #DEFAULT_ESTIMATED_ROW_HEIGHT} will be used.
+     * @see #setDataProvider(DataProvider)
+     */
+    public void setEstimatedRowHeight(String estimatedRowHeight) {
+        this.estimatedRowHeight = Objects.requireNonNullElse(estimatedRowHeight, DEFAULT_ESTIMATED_ROW_HEIGHT);
+        if(this.isLazy())
+            this.repaintAllItems();
+    }
+
+    /**
+     * Chains {@link #setEstimatedRowHeight(String)} and returns itself.
+     * @param estimatedRowHeight A CSS length.
+     * @return This.
+     * @see #setEstimatedRowHeight(String)
+     */
+    public ItemGrid<T> withEstimatedRowHeight(String estimatedRowHeight) {
+        this.setEstimatedRowHeight(estimatedRowHeight);
+        return this;
+    }
+
+    private boolean isLazy() {
+        return this.dataProvider != null;
+    }
+
+    private void listenToDataProvider() {
+        this.dataProviderRegistration = this.dataProvider.addDataProviderListener(event -> this.repaintAllItems());
+    }
+
+    private void stopListeningToDataProvider() {
+        if(this.dataProviderRegistration != null) {
+            this.dataProviderRegistration.remove();
+            this.dataProviderRegistration = null;
+        }
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        if(this.isLazy()) {
+            this.listenToDataProvider();
+            // changes made while detached were not followed
+            if(!attachEvent.isInitialAttach())
+                this.repaintAllItems();
+        }
+    }
+
+    @Override
+    protected void onDetach(DetachEvent detachEvent) {
+        // the data provider may outlive this grid (and its UI)
+        this.stopListeningToDataProvider();
+        super.onDetach(detachEvent);
+    }
+
+    private void stopLazyLoading() {
+        this.stopListeningToDataProvider();
+        this.dataProvider = null;
+        this.lazyLayout = null;
+        this.blocks.clear();
+        this.renderedBlocks.clear();
+        this.visibleBlocks.clear();
+        this.remove(this.blockObserver);
+        this.blockObserver = null;
+        this.contents.removeAll();
+        this.clearCells();
+        this.markedAsSelected = null;
+    }
+
+    /**
+     * Replaces all rows with placeholders and renders the rows at the beginning of the grid.
+     */
+    private void repaintLazily() {
+        this.lazyLayout = RowLayout.of(this.getRowPaddingStrategy(), this.getColumnCount(), sizeOf(this.dataProvider));
+        this.blockObserver.unobserve(this.blocks.toArray(Component[]::new));
+        this.contents.removeAll();
+        this.clearCells();
+        this.markedAsSelected = null;
+        this.blocks.clear();
+        this.renderedBlocks.clear();
+        this.visibleBlocks.clear();
+        for(int row = 0; row < this.lazyLayout.getRowCount(); row += LAZY_BLOCK_SIZE) {
+            final Div block = new Div();
+            block.addClassName(LAZY_BLOCK_CLASS_NAME);
+            this.blocks.add(block);
+            this.showPlaceholder(this.blocks.size() - 1);
+            this.contents.add(block);
+        }
+        this.blockObserver.observe(this.blocks.toArray(Component[]::new));
+        // until the browser tells otherwise, the beginning of the grid is considered visible
+        if(!this.blocks.isEmpty())
+            this.visibleBlocks.add(0);
+        this.updateRenderedBlocks();
+    }
+
+    private void onBlockObserved(ComponentObservationEvent event) {
+        final int block = this.blocks.indexOf(event.getObservedComponent());
+        if(block >= 0)
+            this.blockVisibilityChanged(block, !event.isNotVisible());
+    }
+
+    private void blockVisibilityChanged(int block, boolean visible) {
+        if(visible)
+            this.visibleBlocks.add(block);
+        else this.visibleBlocks.remove(block);
+        this.updateRenderedBlocks();
+    }
+
+    /**
+     * Renders the blocks near the visible ones and removes those that are far away.
+     */
+    private void updateRenderedBlocks() {
+        // when nothing is visible, the grid is most likely scrolled away as a whole and will come back as it was
+        if(this.visibleBlocks.isEmpty())
+            return;
+        final int blockOverscan = (this.overscan + LAZY_BLOCK_SIZE - 1) / LAZY_BLOCK_SIZE;
+        // blocks just outside of the overscan are kept, so that scrolling back and forth does not render them over and over again
+        this.renderedBlocks.keySet().stream()
+                .filter(block -> this.distanceToVisibleBlock(block) > blockOverscan + 1)
+                .toList()
+                .forEach(this::removeBlock);
+        for(int visible : this.visibleBlocks)
+            for(int block = Math.max(0, visible - blockOverscan); block <= Math.min(this.blocks.size() - 1, visible + blockOverscan); block++)
+                if(!this.renderedBlocks.containsKey(block))
+                    this.renderBlock(block);
+        // cells are kept in the order of blocks
+        this.clearCells();
+        this.renderedBlocks.values().forEach(blockCells -> blockCells.forEach(this::addCell));
+    }
+
+    // the filter is always null, so its type does not matter
+    private static <V, F> int sizeOf(DataProvider<V, F> dataProvider) {
+        return dataProvider.size(new Query<>());
+    }
+
+    private static <V, F> Stream<V> fetch(DataProvider<V, F> dataProvider, int offset, int limit) {
+        return dataProvider.fetch(new Query<>(offset, limit, Collections.emptyList(), null, null));
+    }
+
+    private int distanceToVisibleBlock(int block) {
+        final Integer below = this.visibleBlocks.floor(block);
+        final Integer above = this.visibleBlocks.ceiling(block);
+        return Math.min(below == null ? Integer.MAX_VALUE : block - below, above == null ? Integer.MAX_VALUE : above - block);
+    }
+
+    private void showPlaceholder(int block) {
+        final int rows = Math.min(LAZY_BLOCK_SIZE, this.lazyLayout.getRowCount() - block * LAZY_BLOCK_SIZE);
+        this.blocks.get(block).getStyle().set("height", "calc(" + rows + " * " + this.getEstimatedRowHeight() + ")");
+    }
+
+    private void renderBlock(int block) {
+        final int firstRow = block * LAZY_BLOCK_SIZE;
+        final int lastRow = Math.min(this.lazyLayout.getRowCount(), firstRow + LAZY_BLOCK_SIZE);
+        final int offset = this.lazyLayout.getFirstItem(firstRow);
+        final Iterator<T> iterator = fetch(this.dataProvider, offset, this.lazyLayout.getFirstItem(lastRow) - offset).iterator();
+        final T currentValue = this.getValue();
+        final Div container = this.blocks.get(block);
+        container.getStyle().remove("height");
+        final List<CellInformation<T>> blockCells = new ArrayList<>();
+        for(int row = firstRow; row < lastRow; row++) {
+            final HasComponents rowContainer = this.getRowComponentGenerator().generateRowComponent(row);
+            this.layOutRow(this.lazyLayout, row, iterator, this::buildPaddingCell, this::buildValueCell).forEach(cellInformation -> {
+                this.processCell(cellInformation, currentValue);
+                rowContainer.add(cellInformation.getComponent());
+                blockCells.add(cellInformation);
+            });
+            container.add((Component)rowContainer);
+        }
+        this.renderedBlocks.put(block, blockCells);
+    }
+
+    private void removeBlock(int block) {
+        final List<CellInformation<T>> blockCells = this.renderedBlocks.remove(block);
+        if(blockCells.contains(this.markedAsSelected))
+            this.markedAsSelected = null;
+        this.blocks.get(block).removeAll();
+        this.showPlaceholder(block);
     }
 
     /**
      * Returns the number of cells.
+     * When the items are loaded lazily, only the rendered cells are counted.
      * @return Number of cells.
      */
     public int size() {
@@ -464,7 +1074,8 @@ public class ItemGrid<T>
     }
 
     /**
-     * Returns {@link CellInformation} that corresponds to the provided value.
+     * Returns {@link CellInformation} that corresponds to the provided value. When there is more than one such cell, the first one is returned.
+     * Cells are indexed by their values, so the values should have {@link Object#hashCode()} consistent with {@link Object#equals(Object)}.
      * @param value A value to look for.
      * @return A {@link CellInformation}, if a cell corresponding to the provided value is available.
      * @see #setItems(Object[])
@@ -472,7 +1083,7 @@ public class ItemGrid<T>
      * @see #setItems(Stream)
      */
     public Optional<CellInformation<T>> getCellInformation(T value) {
-        return this.cells.stream().filter(cell -> Objects.equals(cell.getValue(), value)).findFirst();
+        return this.getCellIndex().getByValue(value);
     }
 
     /**
@@ -485,7 +1096,7 @@ public class ItemGrid<T>
      * @see #getRowCount()
      */
     public Optional<CellInformation<T>> getCellInformation(int row, int column) {
-        return this.cells.stream().filter(cell -> cell.getRow() == row && cell.getColumn() == column).findFirst();
+        return this.getCellIndex().getByPosition(row, column);
     }
 
     /**
@@ -494,7 +1105,7 @@ public class ItemGrid<T>
      * @return An unmodifiable list. May be empty.
      */
     public List<CellInformation<T>> getRowCellInformation(int row) {
-        return this.cells.stream().filter(cell -> cell.getRow() == row).toList();
+        return this.getCellIndex().getRow(row);
     }
 
     /**
@@ -503,7 +1114,7 @@ public class ItemGrid<T>
      * @return An unmodifiable list. May be empty.
      */
     public List<CellInformation<T>> getColumnCellInformation(int column) {
-        return this.cells.stream().filter(cell -> cell.getColumn() == column).toList();
+        return this.getCellIndex().getColumn(column);
     }
 
     /**
@@ -646,4 +1257,16 @@ public class ItemGrid<T>
         this.getCellInformation(row, col).ifPresent(this::clickCellAndUpdateValue);
     }
 
+    /**
+     * Simulates a block of rows of a lazy-loading grid becoming visible or hidden in the browser.
+     *
+     * This method is For testing purposes only.
+     *
+     * @param block Block number.
+     * @param visible Whether the block is visible.
+     */
+    void simulateBlockVisibility(int block, boolean visible) {
+        this.blockVisibilityChanged(block, visible);
+    }
+
 }
@@ -0,0 +1,112 @@
+package org.vaadin.miki.superfields.itemgrid;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Arrangement of items into rows of an {@link ItemGrid}, according to a {@link RowPaddingStrategy}.
+ * Only the numbers of items and padding cells are computed, so the items themselves are not needed.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+final class RowLayout implements Serializable {
+
+    /**
+     * Computes the layout.
+     * @param strategy Padding strategy to use.
+     * @param columnCount Number of columns.
+     * @param itemCount Number of items.
+     * @return Layout of the rows.
+     * @throws IllegalStateException When the padding for any row takes all columns.
+     */
+    static RowLayout of(RowPaddingStrategy strategy, int columnCount, int itemCount) {
+        // enough for all rows when there is no padding, grown when needed
+        int capacity = itemCount / columnCount + 1;
+        int[] firstItems = new int[capacity + 1];
+        int[] beginnings = new int[capacity];
+        int[] ends = new int[capacity];
+
+        int row = 0;
+        int itemsLeft = itemCount;
+        while (itemsLeft > 0) {
+            if (row == capacity) {
+                capacity *= 2;
+                firstItems = Arrays.copyOf(firstItems, capacity + 1);
+                beginnings = Arrays.copyOf(beginnings, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+            }
+            final RowPadding padding = strategy.getRowPadding(row, columnCount, itemsLeft);
+            // there must be space for at least one cell from the data set
+            if(padding.getBeginning() + padding.getEnd() >= columnCount)
+                throw new IllegalStateException(String.format("row padding requires %d and %d cells - that is too many, as there are %d columns", padding.getBeginning(), padding.getEnd(), columnCount));
+            final int items = Math.min(itemsLeft, columnCount - padding.getBeginning() - padding.getEnd());
+            beginnings[row] = padding.getBeginning();
+            ends[row] = Math.min(padding.getEnd(), columnCount - padding.getBeginning() - items);
+            itemsLeft -= items;
+            firstItems[row + 1] = firstItems[row] + items;
+            row += 1;
+        }
+        return new RowLayout(row, firstItems, beginnings, ends);
+    }
+
+    private final int rowCount;
+
+    private final int[] firstItems;
+
+    private final int[] beginnings;
+
+    private final int[] ends;
+
+    private RowLayout(int rowCount, int[] firstItems, int[] beginnings, int[] ends) {
+        this.rowCount = rowCount;
+        this.firstItems = firstItems;
+        this.beginnings = beginnings;
+        this.ends = ends;
+    }
+
+    /**
+     * Returns the number of rows.
+     * @return Number of rows.
+     */
+    int getRowCount() {
+        return this.rowCount;
+    }
+
+    /**
+     * Returns the index of the first item in given row.
+     * @param row Row number, between {@code 0} and {@link #getRowCount()} (inclusive, which gives the total number of items).
+     * @return Index of the item.
+     */
+    int getFirstItem(int row) {
+        return this.firstItems[row];
+    }
+
+    /**
+     * Returns the number of items in given row.
+     * @param row Row number.
+     * @return Number of items.
+     */
+    int getItemCount(int row) {
+        return this.firstItems[row + 1] - this.firstItems[row];
+    }
+
+    /**
+     * Returns the number of padding cells at the beginning of given row.
+     * @param row Row number.
+     * @return Number of padding cells.
+     */
+    int getBeginning(int row) {
+        return this.beginnings[row];
+    }
+
+    /**
+     * Returns the number of padding cells at the end of given row.
+     * @param row Row number.
+     * @return Number of padding cells.
+     */
+    int getEnd(int row) {
+        return this.ends[row];
+    }
+
+}
@@ -15,8 +15,10 @@ import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.component.textfield.TextFieldVariant;
 import com.vaadin.flow.data.value.HasValueChangeMode;
 import com.vaadin.flow.data.value.ValueChangeMode;
+import com.vaadin.flow.dom.PropertyChangeEvent;
 import com.vaadin.flow.function.SerializableFunction;
 import com.vaadin.flow.function.SerializablePredicate;
+import com.vaadin.flow.internal.JacksonUtils;
 import com.vaadin.flow.shared.Registration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,18 +45,26 @@ import org.vaadin.miki.markers.WithValueMixin;
 import org.vaadin.miki.shared.labels.LabelPosition;
 import org.vaadin.miki.shared.text.TextInputMode;
 import org.vaadin.miki.superfields.text.SuperTextField;
+import org.vaadin.miki.util.ReflectTools;
 import org.vaadin.miki.util.RegexTools;
 import org.vaadin.miki.util.StringTools;
+import tools.jackson.databind.node.ObjectNode;
 
+import java.math.BigDecimal;
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -98,6 +108,18 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
    */
   private static final String REGEXP_START_ANY_DIGITS = "\\d{0,";
 
+  /**
+   * Whether the type parses its values with {@link #fromParsedNumber(NumberParser)}.
+   * That is only the case when {@link #parseRawValue(String, DecimalFormat)} is not overwritten in a subclass.
+   */
+  private static final ClassValue<Boolean> DIRECT_PARSING_TYPES = new ClassValue<>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      final Optional<Class<?>> parsing = ReflectTools.findDeclaringClass(type, "parseRawValue", String.class, DecimalFormat.class);
+      return parsing.isPresent() && parsing.equals(ReflectTools.findDeclaringClass(type, "fromParsedNumber", NumberParser.class));
+    }
+  };
+
   /**
    * Some grouping separators are non-breaking spaces - impossible to type.
    */
@@ -108,6 +130,16 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
    */
   private static final char SPACE = ' ';
 
+  /**
+   * Property of the element that holds the canonical value (digits, {@code -} and {@code .}) in client-side formatting mode.
+   */
+  private static final String CANONICAL_VALUE_PROPERTY = "canonicalValue";
+
+  /**
+   * Event fired by the element when the canonical value changes in client-side formatting mode.
+   */
+  private static final String CANONICAL_VALUE_CHANGED_EVENT = "canonical-value-changed";
+
   /**
    * Underlying text field.
    */
@@ -123,15 +155,20 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
    */
   private final SerializableFunction<T, T> turnToPositiveOperator;
 
+  /**
+   * Parser used to parse values without {@link DecimalFormat}, when possible.
+   */
+  private final NumberParser parser = new NumberParser();
+
   /**
    * Formatting information.
    */
   private DecimalFormat format;
 
   /**
-   * Regular expression to catch input as it is typed.
+   * Shared information about the current configuration, including the regular expression to catch input as it is typed.
    */
-  private String regexp;
+  private NumberFormatProfile profile;
 
   private boolean autoselect;
 
@@ -149,6 +186,19 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
 
   private Registration innerFieldValueChangeRegistration;
 
+  private Registration innerFieldFocusRegistration;
+
+  private Registration innerFieldBlurRegistration;
+
+  private boolean clientSideFormatting = false;
+
+  private Registration canonicalValueRegistration;
+
+  // in client-side formatting mode the text field does not synchronise its value, so the requested mode is kept here
+  private ValueChangeMode clientSideValueChangeMode;
+
+  private boolean clientSideFormatProfileUpdatePending = false;
+
   private final Set<Character> groupingAlternatives = new LinkedHashSet<>();
   private final Set<Character> decimalSeparatorAlternatives = new LinkedHashSet<>();
   private final Set<Character> negativeSignAlternatives = new LinkedHashSet<>();
@@ -189,14 +239,26 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
     this.field.setLabel(label);
     this.field.setWidthFull();
 
-    this.field.addFocusListener(this::onFieldSelected);
-    this.field.addBlurListener(this::onFieldBlurred);
+    this.listenToFocusChangesOfInnerField();
     this.field.addTextSelectionListener(this::onTextSelected);
 
     // the following line allows for ValueChangeMode to be effective (#337)
     // at the same time, it makes setting fraction/integer digits destructive (see #339)
     // (because without it the value would be updated on blur, and not on every change)
     this.listenToValueChangesFromInnerField();
+
+    // the element may be recreated in the browser, so the profile is sent again
+    this.addAttachListener(event -> {
+      if (this.isClientSideFormattingActive())
+        this.updateClientSideFormatProfile();
+    });
+  }
+
+  private void listenToFocusChangesOfInnerField() {
+    if (this.innerFieldFocusRegistration == null)
+      this.innerFieldFocusRegistration = this.field.addFocusListener(this::onFieldSelected);
+    if (this.innerFieldBlurRegistration == null)
+      this.innerFieldBlurRegistration = this.field.addBlurListener(this::onFieldBlurred);
   }
 
   private void listenToValueChangesFromInnerField() {
@@ -382,21 +444,72 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
     return builder;
   }
 
+  /**
+   * Adds to the key everything that affects the regular expression, the allowed characters and the parsing of the input.
+   * Fields with equal keys share the same {@link NumberFormatProfile}.
+   * Subclasses that overwrite {@link #buildRegularExpression(StringBuilder, DecimalFormat)} or {@link #buildAllowedCharPattern(StringBuilder)}
+   * and use their own settings there must add these settings to the key as well.
+   *
+   * @param key Key to add to.
+   * @return The passed key.
+   */
+  protected List<Object> buildFormatProfileKey(List<Object> key) {
+    final DecimalFormatSymbols symbols = this.format.getDecimalFormatSymbols();
+    key.add(this.getClass().getName());
+    key.add(this.locale);
+    key.add(this.format.toPattern());
+    key.add(this.format.getPositivePrefix());
+    key.add(this.format.getPositiveSuffix());
+    key.add(this.format.getNegativePrefix());
+    key.add(this.format.getNegativeSuffix());
+    key.add(this.format.getMultiplier());
+    key.add(this.format.isParseIntegerOnly());
+    key.add(this.format.isParseBigDecimal());
+    key.add(symbols.getZeroDigit());
+    key.add(symbols.getGroupingSeparator());
+    key.add(symbols.getDecimalSeparator());
+    key.add(symbols.getMinusSign());
+    key.add(this.format.getGroupingSize());
+    key.add(this.format.isGroupingUsed());
+    key.add(this.format.getMaximumIntegerDigits());
+    key.add(this.format.getMinimumFractionDigits());
+    key.add(this.format.getMaximumFractionDigits());
+    key.add(this.isNegativeValueAllowed());
+    key.add(this.isIntegerPartOptional());
+    // order of alternatives matters for the regular expression
+    key.add(new ArrayList<>(this.groupingAlternatives));
+    key.add(new ArrayList<>(this.decimalSeparatorAlternatives));
+    key.add(new ArrayList<>(this.negativeSignAlternatives));
+    // but it does not matter for disallowed characters
+    key.add(new TreeSet<>(this.disallowedAlternativeChars));
+    return key;
+  }
+
+  private NumberFormatProfile createFormatProfile(List<Object> key) {
+    return new NumberFormatProfile(key, this.format,
+        this.buildRegularExpression(new StringBuilder(), this.format).toString(),
+        this.buildAllowedCharPattern(new StringBuilder("[\\d")).append("]").toString(),
+        this.groupingAlternatives, this.decimalSeparatorAlternatives, this.negativeSignAlternatives,
+        this.isNegativeValueAllowed(), this.isIntegerPartOptional());
+  }
+
   /**
    * Builds the regular expression for matching the input.
+   * The expression (and the allowed characters) are only built when no other field has used the same configuration before.
    */
   protected final void updateRegularExpression() {
     // updating the expression may change formatting
     final T value = this.getValue();
 
-    this.regexp = this.buildRegularExpression(new StringBuilder(), this.format).toString();
-
-    this.field.setPattern(this.regexp);
+    // this used to happen only when building the expression, but the alternatives are part of the key
+    this.ensureSpaceGroupingPossible();
+    this.profile = NumberFormatProfile.intern(this.buildFormatProfileKey(new ArrayList<>()), this::createFormatProfile);
 
-    final String allowedChars = this.buildAllowedCharPattern(new StringBuilder("[\\d")).append("]").toString();
-    this.field.setAllowedCharPattern(allowedChars);
+    this.field.setPattern(this.profile.getRegularExpression());
+    this.field.setAllowedCharPattern(this.profile.getAllowedCharPattern());
+    this.updateFormattingMode();
 
-    LOGGER.debug("pattern updated to {}", this.regexp);
+    LOGGER.debug("pattern updated to {}", this.profile.getRegularExpression());
     if (!this.isNegativeValueAllowed() && value != null && this.negativityPredicate.test(value)) {
       LOGGER.debug("negative values are not allowed, so turning into positive value {}", value);
       this.setValue(this.turnToPositiveOperator.apply(value));
@@ -538,10 +651,20 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
   /**
    * Returns the regular expression that matches the numbers as they are typed.
    *
-   * @return A string with the regular expression.
+   * @return A string with the regular expression, or {@code null} when the format is not yet known (e.g. during construction).
    */
   public String getRegexp() {
-    return regexp;
+    return this.profile == null ? null : this.profile.getRegularExpression();
+  }
+
+  /**
+   * Returns the current format profile of this field.
+   * The profile is shared with all other fields that have the same configuration and is replaced whenever the configuration changes.
+   *
+   * @return A {@link NumberFormatProfile}.
+   */
+  public final NumberFormatProfile getFormatProfile() {
+    return this.profile;
   }
 
   @Override
@@ -554,9 +677,14 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
     // this block (from here to end) used to be run only when the field was not focused
     // this caused issue #537, where a value set by a global keybinding caused the component to be out of sync
     // seems that #337 (value change mode) is not affected, as events trigger happily without reformatting
-    final String formatted = number == null ? "" : this.format.format(number);
-    LOGGER.debug("value {} to be presented as {} with {} decimal digits", number, formatted, this.format.getMaximumFractionDigits());
-    this.field.setValue(formatted);
+    // in client-side mode the browser formats the canonical value on its own
+    if (this.isClientSideFormattingActive())
+      this.getElement().setProperty(CANONICAL_VALUE_PROPERTY, this.toCanonicalValue(number));
+    else {
+      final String formatted = number == null ? "" : this.format.format(number);
+      LOGGER.debug("value {} to be presented as {} with {} decimal digits", number, formatted, this.format.getMaximumFractionDigits());
+      this.field.setValue(formatted);
+    }
     // fixes #241 caused by a Vaadin bug https://github.com/vaadin/vaadin-text-field/issues/547
     this.field.getElement().getNode().runWhenAttached(ui -> ui.beforeClientResponse(this.field, context ->
         this.field.getElement().setProperty("invalid", super.isInvalid())
@@ -576,12 +704,28 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
    */
   protected abstract T parseRawValue(String rawValue, DecimalFormat format) throws ParseException;
 
+  /**
+   * Converts the value parsed by {@link NumberParser} into a proper typed value.
+   * It is only used when {@link #parseRawValue(String, DecimalFormat)} is declared in the same class as this method.
+   * By default, there is no such conversion and {@link #parseRawValue(String, DecimalFormat)} is always used.
+   *
+   * @param parsed Parser with a successfully parsed number.
+   * @return Typed value, or {@code null} when the conversion is not possible.
+   */
+  T fromParsedNumber(NumberParser parsed) {
+    return null;
+  }
+
   @Override
   protected T generateModelValue() {
+    // in client-side mode the text is not sent to the server, the value only comes with the canonical value
+    if (this.isClientSideFormattingActive())
+      return this.getValue();
     try {
       String fromEvent = this.field.getValue();
-      T value = this.parseRawValue(fromEvent);
-      LOGGER.debug("received raw value {}, matching? {} - parsed as {}", fromEvent, fromEvent.matches(this.regexp), value);
+      T value = this.parseRawValue(fromEvent, false);
+      if (LOGGER.isDebugEnabled())
+        LOGGER.debug("received raw value {}, matching? {} - parsed as {}", fromEvent, this.profile.getPattern().matcher(fromEvent).matches(), value);
       return value;
     } catch (ParseException | NullPointerException e) {
       // npe is thrown then there is no format present (which happens in constructor)
@@ -606,6 +750,7 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
    */
   public void setAutoselect(boolean autoselect) {
     this.autoselect = autoselect;
+    this.updateClientSideFormatProfile();
   }
 
   /**
@@ -640,6 +785,7 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
    */
   public void setGroupingSeparatorHiddenOnFocus(boolean groupingSeparatorHiddenOnFocus) {
     this.groupingSeparatorHiddenOnFocus = groupingSeparatorHiddenOnFocus;
+    this.updateClientSideFormatProfile();
   }
 
   /**
@@ -655,6 +801,198 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
     return (SELF) this;
   }
 
+  /**
+   * Whether the value is formatted and parsed in the browser.
+   * Defaults to {@code false}.
+   *
+   * @return {@code true} when client-side formatting is requested, {@code false} otherwise.
+   * @see #setClientSideFormatting(boolean)
+   */
+  public boolean isClientSideFormatting() {
+    return clientSideFormatting;
+  }
+
+  /**
+   * Changes whether the value is formatted and parsed in the browser.
+   * When enabled, the current {@link NumberFormatProfile} is sent to the browser, which then hides grouping separators on focus,
+   * formats the value on blur and only sends the canonical value (for example {@code -1234.5}) to the server, according to the {@link ValueChangeMode}.
+   * The text typed in the field is not sent to the server at all. This removes the round trips caused by focusing and blurring the field,
+   * as well as the ones caused by synchronising the text.
+   * Client-side formatting is only used when the format has no prefixes or suffixes, otherwise everything happens on the server, as usual.
+   * Note: in this mode {@link #getRawValue()} returns the current value formatted on the server, not the text in the browser.
+   *
+   * @param clientSideFormatting {@code true} to format the value in the browser, {@code false} to format it on the server.
+   */
+  public void setClientSideFormatting(boolean clientSideFormatting) {
+    this.clientSideFormatting = clientSideFormatting;
+    this.updateFormattingMode();
+  }
+
+  /**
+   * Chains {@link #setClientSideFormatting(boolean)} and returns itself.
+   *
+   * @param clientSideFormatting Whether to format the value in the browser.
+   * @return This.
+   * @see #setClientSideFormatting(boolean)
+   */
+  @SuppressWarnings("unchecked")
+  public final SELF withClientSideFormatting(boolean clientSideFormatting) {
+    this.setClientSideFormatting(clientSideFormatting);
+    return (SELF) this;
+  }
+
+  /**
+   * Checks whether the value is currently formatted and parsed in the browser.
+   *
+   * @return {@code true} when client-side formatting is requested and supported by the current format.
+   */
+  final boolean isClientSideFormattingActive() {
+    return this.canonicalValueRegistration != null;
+  }
+
+  /**
+   * Switches between server-side and client-side formatting, depending on the settings and the current profile.
+   */
+  private void updateFormattingMode() {
+    final boolean clientSide = this.clientSideFormatting && this.profile.isDirectParsingSupported();
+    if (clientSide == this.isClientSideFormattingActive()) {
+      // the profile may have changed
+      this.updateClientSideFormatProfile();
+      return;
+    }
+    if (clientSide) {
+      this.innerFieldFocusRegistration.remove();
+      this.innerFieldFocusRegistration = null;
+      this.innerFieldBlurRegistration.remove();
+      this.innerFieldBlurRegistration = null;
+      if (this.innerFieldValueChangeRegistration != null)
+        this.innerFieldValueChangeRegistration.remove();
+      this.innerFieldValueChangeRegistration = null;
+      // the browser sends the canonical value instead of the text
+      this.clientSideValueChangeMode = this.field.getValueChangeMode();
+      this.field.setValueChangeMode(null);
+      this.canonicalValueRegistration = this.getElement().addPropertyChangeListener(CANONICAL_VALUE_PROPERTY, CANONICAL_VALUE_CHANGED_EVENT, this::onCanonicalValueChanged);
+      this.getElement().setProperty(CANONICAL_VALUE_PROPERTY, this.toCanonicalValue(this.getValue()));
+    } else {
+      this.canonicalValueRegistration.remove();
+      this.canonicalValueRegistration = null;
+      this.field.setValueChangeMode(this.clientSideValueChangeMode);
+      this.clientSideValueChangeMode = null;
+      this.listenToFocusChangesOfInnerField();
+      this.listenToValueChangesFromInnerField();
+      // the text field was not updated in the meantime
+      this.setPresentationValue(this.getValue());
+    }
+    // sends the profile when switching on, and clears it when switching off
+    this.sendClientSideFormatProfile();
+  }
+
+  private void updateClientSideFormatProfile() {
+    if (this.isClientSideFormattingActive())
+      this.sendClientSideFormatProfile();
+  }
+
+  private void sendClientSideFormatProfile() {
+    // many settings may change in one go, but the profile is sent only once per response
+    if (this.clientSideFormatProfileUpdatePending)
+      return;
+    this.clientSideFormatProfileUpdatePending = true;
+    this.getElement().getNode().runWhenAttached(ui -> ui.beforeClientResponse(this, context -> {
+      this.clientSideFormatProfileUpdatePending = false;
+      this.getElement().callJsFunction("setFormatProfile", this.field.getElement(),
+          this.isClientSideFormattingActive() ? this.buildClientSideFormatProfile(JacksonUtils.createObjectNode()) : null);
+    }));
+  }
+
+  /**
+   * Builds the information needed by the browser to format and parse the value on its own.
+   * Subclasses that support more than plain numbers should add their settings here.
+   *
+   * @param profile Object to add the information to.
+   * @return The passed object.
+   * @see #setClientSideFormatting(boolean)
+   */
+  protected ObjectNode buildClientSideFormatProfile(ObjectNode profile) {
+    profile.put("groupingSeparator", String.valueOf(this.profile.getGroupingSeparator()));
+    profile.put("decimalSeparator", String.valueOf(this.profile.getDecimalSeparator()));
+    profile.put("minusSign", String.valueOf(this.profile.getMinusSign()));
+    profile.put("groupingSeparatorAlternatives", asString(this.profile.getGroupingSeparatorAlternatives()));
+    profile.put("decimalSeparatorAlternatives", asString(this.profile.getDecimalSeparatorAlternatives()));
+    profile.put("negativeSignAlternatives", asString(this.profile.getNegativeSignAlternatives()));
+    profile.put("groupingSize", this.profile.getGroupingSize());
+    profile.put("groupingUsed", this.profile.isGroupingUsed());
+    profile.put("maximumIntegerDigits", this.profile.getMaximumIntegerDigits());
+    profile.put("minimumFractionDigits", this.profile.getMinimumFractionDigits());
+    profile.put("maximumFractionDigits", this.profile.getMaximumFractionDigits());
+    profile.put("groupingSeparatorHiddenOnFocus", this.isGroupingSeparatorHiddenOnFocus());
+    profile.put("autoselect", this.isAutoselect());
+    profile.put("valueChangeMode", Objects.toString(this.getValueChangeMode(), ValueChangeMode.ON_CHANGE.name()));
+    profile.put("valueChangeTimeout", this.getValueChangeTimeout());
+    return profile;
+  }
+
+  private static String asString(Set<Character> characters) {
+    return characters.stream().map(String::valueOf).collect(Collectors.joining());
+  }
+
+  /**
+   * Converts the value to its canonical representation, used in client-side formatting mode.
+   *
+   * @param number Number to convert. Can be {@code null}.
+   * @return Plain representation of the number, with {@code -} as minus sign and {@code .} as decimal separator.
+   */
+  private String toCanonicalValue(T number) {
+    if (number == null)
+      return "";
+    final String text = number.toString();
+    try {
+      final String plain = new BigDecimal(text).toPlainString();
+      // negative zero is formatted with a minus sign
+      return text.startsWith("-") && !plain.startsWith("-") ? "-" + plain : plain;
+    } catch (NumberFormatException nfe) {
+      // infinity or not-a-number
+      return text;
+    }
+  }
+
+  /**
+   * Parses the canonical value that came from the browser.
+   *
+   * @param canonical Canonical value. Values without any digit (other than an empty value) are not numbers.
+   * @return Parsed value.
+   * @throws ParseException When parsing goes wrong.
+   */
+  private T parseCanonicalValue(String canonical) throws ParseException {
+    if (!canonical.isEmpty() && canonical.chars().noneMatch(Character::isDigit))
+      return this.getEmptyValue();
+    // canonical values only need to be localised to go through regular parsing
+    final DecimalFormatSymbols symbols = this.format.getDecimalFormatSymbols();
+    return this.parseRawValue(canonical.replace('-', symbols.getMinusSign()).replace('.', symbols.getDecimalSeparator()), false);
+  }
+
+  private void onCanonicalValueChanged(PropertyChangeEvent event) {
+    // the property is also set by the server, but then the value is already known
+    if (event.isUserOriginated())
+      this.applyCanonicalValue(Objects.toString(event.getValue(), ""), true);
+  }
+
+  /**
+   * Updates the value of this component using the canonical value.
+   *
+   * @param canonical  Canonical value, as sent by the browser.
+   * @param fromClient Whether the value came from the client.
+   */
+  void applyCanonicalValue(String canonical, boolean fromClient) {
+    T value;
+    try {
+      value = this.parseCanonicalValue(canonical);
+    } catch (ParseException | NullPointerException e) {
+      value = this.getEmptyValue();
+    }
+    LOGGER.debug("received canonical value {}, parsed as {}", canonical, value);
+    this.setModelValue(value, fromClient);
+  }
+
   /**
    * Whether or not negative values are allowed.
    * Defaults to {@code true}.
@@ -738,10 +1076,16 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
   /**
    * Returns the raw value, as currently displayed in the underlying text field.
    * This may depend on whether the component has focus, what locale is used, etc.
+   * When client-side formatting is active, the text is not sent to the server, so the current value formatted on the server is returned instead.
    *
    * @return Raw value currently displayed in the underlying text field.
+   * @see #setClientSideFormatting(boolean)
    */
   public String getRawValue() {
+    if (this.isClientSideFormattingActive()) {
+      final T value = this.getValue();
+      return value == null ? "" : this.format.format(value);
+    }
     return this.field.getValue();
   }
 
@@ -914,17 +1258,21 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
 
   @Override
   public void setValueChangeMode(ValueChangeMode valueChangeMode) {
-    this.field.setValueChangeMode(valueChangeMode);
+    if (this.isClientSideFormattingActive())
+      this.clientSideValueChangeMode = valueChangeMode;
+    else this.field.setValueChangeMode(valueChangeMode);
+    this.updateClientSideFormatProfile();
   }
 
   @Override
   public ValueChangeMode getValueChangeMode() {
-    return this.field.getValueChangeMode();
+    return this.isClientSideFormattingActive() ? this.clientSideValueChangeMode : this.field.getValueChangeMode();
   }
 
   @Override
   public void setValueChangeTimeout(int valueChangeTimeout) {
     this.field.setValueChangeTimeout(valueChangeTimeout);
+    this.updateClientSideFormatProfile();
   }
 
   @Override
@@ -1335,6 +1683,40 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
    * @throws ParseException when parsing goes wrong.
    */
   final T parseRawValue(String rawValue) throws ParseException {
+    return this.parseRawValue(rawValue, true);
+  }
+
+  /**
+   * Parses the raw value without {@link DecimalFormat}, if possible.
+   * By default, this is done by {@link NumberParser} for types that parse their values with {@link #fromParsedNumber(NumberParser)}.
+   *
+   * @param rawValue Raw value to parse, not empty. Alternative symbols do not need to be replaced.
+   * @return Outcome of parsing. When it is {@link NumberParser.Result#NUMBER}, the value can be obtained with {@link #getParsedValue()}.
+   */
+  NumberParser.Result parseDirectly(String rawValue) {
+    if (Boolean.TRUE.equals(DIRECT_PARSING_TYPES.get(this.getClass())))
+      return this.parser.parse(rawValue, this.profile);
+    else return NumberParser.Result.UNSUPPORTED;
+  }
+
+  /**
+   * Returns the value successfully parsed by {@link #parseDirectly(String)}.
+   *
+   * @return Typed value, or {@code null} when the conversion is not possible.
+   */
+  T getParsedValue() {
+    return this.fromParsedNumber(this.parser);
+  }
+
+  /**
+   * Parses the raw value. Whenever possible, this is done by {@link #parseDirectly(String)}, without {@link DecimalFormat}.
+   *
+   * @param rawValue         Raw value to parse.
+   * @param throwWhenInvalid When {@code false}, the empty value is returned for values that are known to be invalid, instead of throwing an exception.
+   * @return Parsed number.
+   * @throws ParseException when parsing goes wrong.
+   */
+  private T parseRawValue(String rawValue, boolean throwWhenInvalid) throws ParseException {
     if (rawValue == null)
       rawValue = "";
     if (rawValue.isEmpty()) {
@@ -1342,6 +1724,19 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
         return null;
       else return this.getEmptyValue();
     }
+
+    final NumberParser.Result result = this.parseDirectly(rawValue);
+    if (result == NumberParser.Result.INVALID) {
+      if (throwWhenInvalid)
+        throw new ParseException(rawValue, 0);
+      else return this.getEmptyValue();
+    }
+    else if (result == NumberParser.Result.NUMBER) {
+      final T value = this.getParsedValue();
+      if (value != null)
+        return value;
+    }
+
     // replace alternative characters
     for (char c : this.getNegativeSignAlternatives())
       rawValue = rawValue.replace(c, this.format.getDecimalFormatSymbols().getMinusSign());
@@ -1353,4 +1748,4 @@ public abstract class AbstractSuperNumberField<T extends Number, SELF extends Ab
     return this.parseRawValue(rawValue, this.format);
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,184 @@
+package org.vaadin.miki.superfields.numbers;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * A hand-written parser of {@link BigDecimal}s that works directly on the raw input, using symbols from a {@link NumberFormatProfile}.
+ * It handles plain and grouped numbers, producing exactly the same results as {@link java.text.DecimalFormat#parse(String)} with
+ * {@link java.text.DecimalFormat#isParseBigDecimal()} turned on, as well as numbers in scientific notation.
+ * The unscaled value and the scale are built directly, so the {@link java.text.DecimalFormat} is never modified.
+ * Anything else is reported as {@link NumberParser.Result#UNSUPPORTED}.
+ * Results of parsing are kept in the parser, so a single instance must not be used concurrently.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+final class BigDecimalParser implements Serializable {
+
+  /**
+   * Maximum number of digits that are guaranteed to fit in a {@code long}.
+   */
+  private static final int MAX_LONG_DIGITS = 18;
+
+  private final StringBuilder digits = new StringBuilder();
+
+  private boolean negative;
+
+  private long scale;
+
+  /**
+   * Parses the given text.
+   *
+   * @param rawValue                Raw value, as typed in. Alternative symbols do not need to be replaced.
+   * @param profile                 Profile with symbols to use.
+   * @param exponentSeparators      Characters that separate the exponent (typically both cases of the same letter). Empty when scientific notation is not supported.
+   * @param maximumExponentDigits   Maximum number of digits in the exponent.
+   * @param negativeExponentAllowed Whether the exponent can be negative.
+   * @return Outcome of parsing. When it is {@link NumberParser.Result#NUMBER}, the value can be obtained with {@link #getValue()}.
+   */
+  NumberParser.Result parse(String rawValue, NumberFormatProfile profile, String exponentSeparators, int maximumExponentDigits, boolean negativeExponentAllowed) {
+    if (!profile.isDirectParsingSupported())
+      return NumberParser.Result.UNSUPPORTED;
+
+    this.digits.setLength(0);
+    this.negative = false;
+    this.scale = 0;
+
+    if (rawValue.isEmpty())
+      return NumberParser.Result.INVALID;
+    // when typing, the last character can be a separator or a sign; such input is treated as if it was followed by a zero
+    if (!Character.isDigit(rawValue.charAt(rawValue.length() - 1)))
+      rawValue = rawValue + "0";
+
+    int position = 0;
+    final int length = rawValue.length();
+    if (length > 0 && profile.normalised(rawValue.charAt(0)) == profile.getMinusSign()) {
+      this.negative = true;
+      position = 1;
+    }
+
+    for (int at = position; at < length; at++)
+      if (exponentSeparators.indexOf(profile.normalised(rawValue.charAt(at))) >= 0)
+        return this.parseScientific(rawValue, position, at, profile, maximumExponentDigits, negativeExponentAllowed);
+
+    return this.parsePlain(rawValue, position, profile);
+  }
+
+  /**
+   * Parses a plain number, the same way as {@link java.text.DecimalFormat} does.
+   *
+   * @param rawValue Raw value.
+   * @param position Where the digits start.
+   * @param profile  Profile with symbols to use.
+   * @return Outcome of parsing.
+   */
+  private NumberParser.Result parsePlain(String rawValue, int position, NumberFormatProfile profile) {
+    final int length = rawValue.length();
+    final char decimalSeparator = profile.getDecimalSeparator();
+    final char groupingSeparator = profile.getGroupingSeparator();
+    final boolean groupingUsed = profile.isGroupingUsed();
+
+    boolean sawDigit = false;
+    boolean sawDecimal = false;
+    for (; position < length; position++) {
+      final char c = profile.normalised(rawValue.charAt(position));
+      if (c >= '0' && c <= '9') {
+        sawDigit = true;
+        // leading zeros of the integer part are meaningless, but those in the fraction affect the scale
+        if (c != '0' || this.digits.length() > 0)
+          this.digits.append(c);
+        if (sawDecimal)
+          this.scale++;
+      }
+      else if (c == decimalSeparator) {
+        if (sawDecimal)
+          break;
+        sawDecimal = true;
+      }
+      else if (c == groupingSeparator && groupingUsed) {
+        if (sawDecimal)
+          break;
+      }
+      else return NumberParser.Result.UNSUPPORTED;
+    }
+
+    return sawDigit ? NumberParser.Result.NUMBER : NumberParser.Result.INVALID;
+  }
+
+  /**
+   * Parses a number in scientific notation.
+   *
+   * @param rawValue                Raw value.
+   * @param position                Where the significand starts.
+   * @param separatorPosition       Where the exponent separator is.
+   * @param profile                 Profile with symbols to use.
+   * @param maximumExponentDigits   Maximum number of digits in the exponent.
+   * @param negativeExponentAllowed Whether the exponent can be negative.
+   * @return Outcome of parsing.
+   */
+  private NumberParser.Result parseScientific(String rawValue, int position, int separatorPosition, NumberFormatProfile profile, int maximumExponentDigits, boolean negativeExponentAllowed) {
+    final char decimalSeparator = profile.getDecimalSeparator();
+    boolean sawDecimal = false;
+    // just like new BigDecimal(String), the significand may start with a plus and keeps all its digits
+    if (!this.negative && position < separatorPosition && rawValue.charAt(position) == '+')
+      position++;
+    for (; position < separatorPosition; position++) {
+      final char c = profile.normalised(rawValue.charAt(position));
+      if (c >= '0' && c <= '9') {
+        this.digits.append(c);
+        if (sawDecimal)
+          this.scale++;
+      }
+      else if (c == decimalSeparator && !sawDecimal)
+        sawDecimal = true;
+      else return NumberParser.Result.INVALID;
+    }
+    if (this.digits.length() == 0)
+      return NumberParser.Result.INVALID;
+
+    position = separatorPosition + 1;
+    final int length = rawValue.length();
+    boolean negativeExponent = false;
+    if (position < length) {
+      final char sign = profile.normalised(rawValue.charAt(position));
+      if (sign == profile.getMinusSign() || sign == '-') {
+        if (!negativeExponentAllowed)
+          return NumberParser.Result.INVALID;
+        negativeExponent = true;
+        position++;
+      }
+      else if (sign == '+')
+        position++;
+    }
+    // missing exponent is treated as zero
+    if (length - position > maximumExponentDigits)
+      return NumberParser.Result.INVALID;
+    long exponent = 0;
+    for (; position < length; position++) {
+      final char c = rawValue.charAt(position);
+      if (c < '0' || c > '9')
+        return NumberParser.Result.INVALID;
+      exponent = exponent * 10 + (c - '0');
+      if (exponent > Integer.MAX_VALUE)
+        return NumberParser.Result.INVALID;
+    }
+    this.scale -= negativeExponent ? -exponent : exponent;
+    return this.scale < Integer.MIN_VALUE || this.scale > Integer.MAX_VALUE ? NumberParser.Result.INVALID : NumberParser.Result.NUMBER;
+  }
+
+  /**
+   * Returns the parsed value.
+   *
+   * @return A {@link BigDecimal}.
+   */
+  BigDecimal getValue() {
+    final BigDecimal absolute;
+    if (this.digits.length() <= MAX_LONG_DIGITS)
+      absolute = BigDecimal.valueOf(this.digits.length() == 0 ? 0 : Long.parseLong(this.digits, 0, this.digits.length(), 10), (int) this.scale);
+    else absolute = new BigDecimal(new BigInteger(this.digits.toString()), (int) this.scale);
+    return this.negative ? absolute.negate() : absolute;
+  }
+
+}
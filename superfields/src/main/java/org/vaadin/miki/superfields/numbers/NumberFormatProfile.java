@@ -0,0 +1,322 @@
+package org.vaadin.miki.superfields.numbers;
+
+import java.io.Serializable;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable information about how a number field formats, accepts and parses its input.
+ * Profiles are interned: all {@link AbstractSuperNumberField}s with identical configuration (regardless of session) share the same instance.
+ * As such, the regular expression and the allowed character pattern are computed only once for each configuration.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+public final class NumberFormatProfile implements Serializable {
+
+  /**
+   * All profiles ever created, indexed by their keys.
+   * The number of different configurations in an application is expected to be small, so there is no eviction.
+   */
+  private static final Map<List<Object>, NumberFormatProfile> PROFILES = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the shared profile for the given key, creating it when needed.
+   *
+   * @param key     Key of the profile; a copy of it is stored, so it is safe to modify it afterwards.
+   * @param factory Creates a profile for the (copied) key when there is no profile for it yet.
+   * @return A profile. Never {@code null}.
+   */
+  static NumberFormatProfile intern(List<Object> key, Function<List<Object>, NumberFormatProfile> factory) {
+    // fast path, as most of the time the profile is already there
+    final NumberFormatProfile existing = PROFILES.get(key);
+    if (existing != null)
+      return existing;
+    return PROFILES.computeIfAbsent(Collections.unmodifiableList(new ArrayList<>(key)), factory);
+  }
+
+  private final List<Object> key;
+
+  private final String regularExpression;
+
+  private final Pattern pattern;
+
+  private final String allowedCharPattern;
+
+  private final char groupingSeparator;
+
+  private final char decimalSeparator;
+
+  private final char minusSign;
+
+  private final int groupingSize;
+
+  private final boolean groupingUsed;
+
+  private final int maximumIntegerDigits;
+
+  private final int minimumFractionDigits;
+
+  private final int maximumFractionDigits;
+
+  private final boolean negativeValueAllowed;
+
+  private final boolean integerPartOptional;
+
+  private final String groupingSeparatorAlternatives;
+
+  private final String decimalSeparatorAlternatives;
+
+  private final String negativeSignAlternatives;
+
+  private final boolean directParsingSupported;
+
+  /**
+   * Creates the profile. Should only be called from within {@link #intern(List, Function)}.
+   *
+   * @param key                           Key of the profile.
+   * @param format                        Format to take the symbols and digit limits from. It is not stored.
+   * @param regularExpression             Regular expression matching the input.
+   * @param allowedCharPattern            Pattern of characters that can be typed in.
+   * @param groupingSeparatorAlternatives Alternatives to the grouping separator.
+   * @param decimalSeparatorAlternatives  Alternatives to the decimal separator.
+   * @param negativeSignAlternatives      Alternatives to the negative sign.
+   * @param negativeValueAllowed          Whether negative values are allowed.
+   * @param integerPartOptional           Whether the integer part is optional.
+   */
+  @SuppressWarnings("squid:S107") // this is only ever called from within the package
+  NumberFormatProfile(List<Object> key, DecimalFormat format, String regularExpression, String allowedCharPattern,
+                      Collection<Character> groupingSeparatorAlternatives, Collection<Character> decimalSeparatorAlternatives, Collection<Character> negativeSignAlternatives,
+                      boolean negativeValueAllowed, boolean integerPartOptional) {
+    this.key = key;
+    this.regularExpression = regularExpression;
+    this.pattern = Pattern.compile(regularExpression);
+    this.allowedCharPattern = allowedCharPattern;
+    final DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+    this.groupingSeparator = symbols.getGroupingSeparator();
+    this.decimalSeparator = symbols.getDecimalSeparator();
+    this.minusSign = symbols.getMinusSign();
+    this.groupingSize = format.getGroupingSize();
+    this.groupingUsed = format.isGroupingUsed();
+    this.maximumIntegerDigits = format.getMaximumIntegerDigits();
+    this.minimumFractionDigits = format.getMinimumFractionDigits();
+    this.maximumFractionDigits = format.getMaximumFractionDigits();
+    this.groupingSeparatorAlternatives = asString(groupingSeparatorAlternatives);
+    this.decimalSeparatorAlternatives = asString(decimalSeparatorAlternatives);
+    this.negativeSignAlternatives = asString(negativeSignAlternatives);
+    this.negativeValueAllowed = negativeValueAllowed;
+    this.integerPartOptional = integerPartOptional;
+    this.directParsingSupported = format.getPositivePrefix().isEmpty() && format.getPositiveSuffix().isEmpty()
+        && format.getNegativePrefix().equals(String.valueOf(this.minusSign)) && format.getNegativeSuffix().isEmpty()
+        && format.getMultiplier() == 1 && symbols.getZeroDigit() == '0'
+        && !format.isParseIntegerOnly() && !format.isParseBigDecimal()
+        && this.groupingSeparator != this.decimalSeparator;
+  }
+
+  private static String asString(Collection<Character> characters) {
+    return characters.stream().map(String::valueOf).collect(Collectors.joining());
+  }
+
+  private static Set<Character> asSet(String characters) {
+    final Set<Character> result = new LinkedHashSet<>();
+    for (int i = 0; i < characters.length(); i++)
+      result.add(characters.charAt(i));
+    return Collections.unmodifiableSet(result);
+  }
+
+  /**
+   * Makes sure deserialised profiles are shared as well.
+   *
+   * @return The interned profile with the same key.
+   */
+  private Object readResolve() {
+    return PROFILES.computeIfAbsent(this.key, k -> this);
+  }
+
+  /**
+   * Returns the regular expression that matches the numbers as they are typed.
+   *
+   * @return A regular expression.
+   */
+  public String getRegularExpression() {
+    return regularExpression;
+  }
+
+  /**
+   * Returns the compiled version of {@link #getRegularExpression()}.
+   *
+   * @return A {@link Pattern}.
+   */
+  public Pattern getPattern() {
+    return pattern;
+  }
+
+  /**
+   * Returns the pattern of characters that are allowed to be typed in.
+   *
+   * @return A regular expression with a single character selector.
+   */
+  public String getAllowedCharPattern() {
+    return allowedCharPattern;
+  }
+
+  /**
+   * Returns the main grouping separator.
+   *
+   * @return Grouping separator, as defined by the format.
+   */
+  public char getGroupingSeparator() {
+    return groupingSeparator;
+  }
+
+  /**
+   * Returns the main decimal separator.
+   *
+   * @return Decimal separator, as defined by the format.
+   */
+  public char getDecimalSeparator() {
+    return decimalSeparator;
+  }
+
+  /**
+   * Returns the main negative sign.
+   *
+   * @return Minus sign, as defined by the format.
+   */
+  public char getMinusSign() {
+    return minusSign;
+  }
+
+  /**
+   * Returns the size of a group of digits.
+   *
+   * @return Grouping size, as defined by the format. May be zero.
+   */
+  public int getGroupingSize() {
+    return groupingSize;
+  }
+
+  /**
+   * Checks whether the format uses grouping.
+   *
+   * @return Whether grouping is used.
+   */
+  public boolean isGroupingUsed() {
+    return groupingUsed;
+  }
+
+  /**
+   * Returns the maximum number of integer digits.
+   *
+   * @return Maximum number of integer digits.
+   */
+  public int getMaximumIntegerDigits() {
+    return maximumIntegerDigits;
+  }
+
+  /**
+   * Returns the minimum number of fraction digits.
+   *
+   * @return Minimum number of fraction digits.
+   */
+  public int getMinimumFractionDigits() {
+    return minimumFractionDigits;
+  }
+
+  /**
+   * Returns the maximum number of fraction digits.
+   *
+   * @return Maximum number of fraction digits.
+   */
+  public int getMaximumFractionDigits() {
+    return maximumFractionDigits;
+  }
+
+  /**
+   * Checks whether negative values are allowed.
+   *
+   * @return Whether negative values are allowed.
+   */
+  public boolean isNegativeValueAllowed() {
+    return negativeValueAllowed;
+  }
+
+  /**
+   * Checks whether the integer part is optional.
+   *
+   * @return Whether the integer part is optional.
+   */
+  public boolean isIntegerPartOptional() {
+    return integerPartOptional;
+  }
+
+  /**
+   * Returns the alternatives to the grouping separator.
+   *
+   * @return An unmodifiable set. Never {@code null}, but possibly empty.
+   */
+  public Set<Character> getGroupingSeparatorAlternatives() {
+    return asSet(this.groupingSeparatorAlternatives);
+  }
+
+  /**
+   * Returns the alternatives to the decimal separator.
+   *
+   * @return An unmodifiable set. Never {@code null}, but possibly empty.
+   */
+  public Set<Character> getDecimalSeparatorAlternatives() {
+    return asSet(this.decimalSeparatorAlternatives);
+  }
+
+  /**
+   * Returns the alternatives to the negative sign.
+   *
+   * @return An unmodifiable set. Never {@code null}, but possibly empty.
+   */
+  public Set<Character> getNegativeSignAlternatives() {
+    return asSet(this.negativeSignAlternatives);
+  }
+
+  /**
+   * Checks whether numbers in this profile can be parsed without {@link DecimalFormat}.
+   * This is only possible when the format has no prefixes or suffixes (other than the minus sign) and uses regular digits.
+   *
+   * @return Whether {@link NumberParser} can be used.
+   */
+  boolean isDirectParsingSupported() {
+    return directParsingSupported;
+  }
+
+  /**
+   * Replaces an alternative symbol with the corresponding main symbol.
+   * Alternatives are replaced in the same order as in {@link AbstractSuperNumberField}: negative sign, grouping symbols, decimal separator symbols.
+   *
+   * @param c Character to check.
+   * @return The corresponding main symbol, or {@code c} when it is not an alternative.
+   */
+  char normalised(char c) {
+    if (this.negativeSignAlternatives.indexOf(c) >= 0)
+      c = this.minusSign;
+    if (this.groupingSeparatorAlternatives.indexOf(c) >= 0)
+      c = this.groupingSeparator;
+    if (this.decimalSeparatorAlternatives.indexOf(c) >= 0)
+      c = this.decimalSeparator;
+    return c;
+  }
+
+  @Override
+  public String toString() {
+    return "NumberFormatProfile{" + this.key + "}";
+  }
+}
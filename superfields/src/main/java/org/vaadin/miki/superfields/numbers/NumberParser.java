@@ -0,0 +1,181 @@
+package org.vaadin.miki.superfields.numbers;
+
+import java.io.Serializable;
+
+/**
+ * A hand-written parser of numbers that works directly on the raw input, using symbols from a {@link NumberFormatProfile}.
+ * It handles the most common input (optional minus sign, digits, grouping and decimal separators, and their alternatives) and
+ * produces exactly the same results as {@link java.text.DecimalFormat#parse(String)} followed by {@link Number#intValue()},
+ * {@link Number#longValue()} or {@link Number#doubleValue()}. Anything else is reported as {@link Result#UNSUPPORTED},
+ * and should be handled by {@link java.text.DecimalFormat}.
+ * Results of parsing are kept in the parser, so a single instance must not be used concurrently.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+final class NumberParser implements Serializable {
+
+  /**
+   * Possible outcomes of parsing.
+   */
+  enum Result {
+    /**
+     * The input is a number and its value can be obtained from the parser.
+     */
+    NUMBER,
+    /**
+     * The input is not a number ({@link java.text.DecimalFormat} would throw an exception).
+     */
+    INVALID,
+    /**
+     * The parser cannot handle the input.
+     */
+    UNSUPPORTED
+  }
+
+  /**
+   * Maximum number of significant digits that are guaranteed to fit in a {@code long}.
+   */
+  private static final int MAX_SIGNIFICANT_DIGITS = 18;
+
+  /**
+   * Largest mantissa that is exactly representable as a {@code double}.
+   */
+  private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+
+  /**
+   * Powers of ten that are exactly representable as a {@code double}.
+   */
+  private static final double[] EXACT_POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private boolean negative;
+
+  private long mantissa;
+
+  private int scale;
+
+  /**
+   * Parses the given text.
+   *
+   * @param rawValue Raw value, as typed in. Alternative symbols do not need to be replaced.
+   * @param profile  Profile with symbols to use.
+   * @return Outcome of parsing. When it is {@link Result#NUMBER}, the value can be obtained with {@link #intValue()}, {@link #longValue()} or {@link #doubleValue()}.
+   */
+  Result parse(String rawValue, NumberFormatProfile profile) {
+    if (!profile.isDirectParsingSupported())
+      return Result.UNSUPPORTED;
+
+    this.negative = false;
+    this.mantissa = 0;
+    this.scale = 0;
+
+    final int length = rawValue.length();
+    final char decimalSeparator = profile.getDecimalSeparator();
+    final char groupingSeparator = profile.getGroupingSeparator();
+    final boolean groupingUsed = profile.isGroupingUsed();
+
+    int position = 0;
+    if (length > 0 && profile.normalised(rawValue.charAt(0)) == profile.getMinusSign()) {
+      this.negative = true;
+      position = 1;
+    }
+
+    boolean sawDigit = false;
+    boolean sawDecimal = false;
+    int significantDigits = 0;
+    // zeros at the end of fraction do not change the value, so they are only taken into account when followed by other digits
+    int pendingZeros = 0;
+
+    // the order of checks follows DecimalFormat: digit, decimal separator, grouping separator
+    for (; position < length; position++) {
+      final char c = profile.normalised(rawValue.charAt(position));
+      if (c >= '0' && c <= '9') {
+        sawDigit = true;
+        final int digit = c - '0';
+        if (!sawDecimal) {
+          // leading zeros of the integer part are meaningless
+          if (this.mantissa == 0 && digit == 0)
+            continue;
+          significantDigits++;
+          if (significantDigits > MAX_SIGNIFICANT_DIGITS)
+            return Result.UNSUPPORTED;
+          this.mantissa = this.mantissa * 10 + digit;
+        }
+        else if (digit == 0)
+          pendingZeros++;
+        else {
+          significantDigits = this.mantissa == 0 ? 1 : significantDigits + pendingZeros + 1;
+          if (significantDigits > MAX_SIGNIFICANT_DIGITS)
+            return Result.UNSUPPORTED;
+          for (; pendingZeros > 0; pendingZeros--, this.scale++)
+            this.mantissa *= 10;
+          this.mantissa = this.mantissa * 10 + digit;
+          this.scale++;
+        }
+      }
+      else if (c == decimalSeparator) {
+        // second decimal separator ends parsing
+        if (sawDecimal)
+          break;
+        sawDecimal = true;
+      }
+      else if (c == groupingSeparator && groupingUsed) {
+        // grouping separator in fraction part ends parsing
+        if (sawDecimal)
+          break;
+      }
+      else return Result.UNSUPPORTED;
+    }
+
+    return sawDigit ? Result.NUMBER : Result.INVALID;
+  }
+
+  /**
+   * Checks whether {@link java.text.DecimalFormat} would have returned a {@link Long} for the parsed value.
+   *
+   * @return {@code true} when the value has no fraction part and is not negative zero.
+   */
+  private boolean isIntegral() {
+    return this.scale == 0 && !(this.negative && this.mantissa == 0);
+  }
+
+  /**
+   * Returns the parsed value as {@code int}.
+   *
+   * @return The value, converted the same way as {@link java.text.DecimalFormat#parse(String)} followed by {@link Number#intValue()}.
+   */
+  int intValue() {
+    return this.isIntegral() ? (int) this.longValue() : (int) this.doubleValue();
+  }
+
+  /**
+   * Returns the parsed value as {@code long}.
+   *
+   * @return The value, converted the same way as {@link java.text.DecimalFormat#parse(String)} followed by {@link Number#longValue()}.
+   */
+  long longValue() {
+    if (this.isIntegral())
+      return this.negative ? -this.mantissa : this.mantissa;
+    else return (long) this.doubleValue();
+  }
+
+  /**
+   * Returns the parsed value as {@code double}.
+   *
+   * @return The value, converted the same way as {@link java.text.DecimalFormat#parse(String)} followed by {@link Number#doubleValue()}.
+   */
+  double doubleValue() {
+    if (this.isIntegral())
+      return this.longValue();
+    final double absolute;
+    // both numbers are exact, so a single division is correctly rounded, just like Double.parseDouble
+    if (this.mantissa < MAX_EXACT_DOUBLE_MANTISSA && this.scale < EXACT_POWERS_OF_TEN.length)
+      absolute = this.mantissa / EXACT_POWERS_OF_TEN[this.scale];
+    else absolute = Double.parseDouble(this.mantissa + "E-" + this.scale);
+    return this.negative ? -absolute : absolute;
+  }
+
+}
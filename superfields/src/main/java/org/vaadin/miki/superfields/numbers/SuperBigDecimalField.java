@@ -2,12 +2,16 @@ package org.vaadin.miki.superfields.numbers;
 
 import com.vaadin.flow.component.Tag;
 import com.vaadin.flow.component.dependency.JsModule;
+import org.vaadin.miki.util.ReflectTools;
 import org.vaadin.miki.util.RegexTools;
+import tools.jackson.databind.node.ObjectNode;
 
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.text.ParseException;
+import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 
 /**
  * A field for {@link BigDecimal} values that are properly formatted.
@@ -23,12 +27,34 @@ import java.util.Locale;
 @SuppressWarnings("squid:S110") // yes, it has more than 5 superclasses, but what can I do?
 public class SuperBigDecimalField extends AbstractSuperFloatingPointField<BigDecimal, SuperBigDecimalField> {
 
+    /**
+     * Whether the type parses its values with {@link BigDecimalParser} before anything else.
+     * That is only the case when {@link #parseRawValue(String, DecimalFormat)} is not overwritten in a subclass.
+     */
+    private static final ClassValue<Boolean> DIRECT_PARSING_TYPES = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return ReflectTools.findDeclaringClass(type, "parseRawValue", String.class, DecimalFormat.class).equals(Optional.of(SuperBigDecimalField.class));
+        }
+    };
+
     private int maximumSignificandIntegerDigits = -1;
     private int maximumSignificandFractionDigits = -1;
     private int maximumExponentDigits = 0;
     private boolean negativeExponentAllowed = true;
     private char exponentSeparator = 'e';
 
+    /**
+     * Both cases of {@link #exponentSeparator}, or an empty string when scientific notation is not enabled.
+     * Computed whenever the settings change, as they are needed for every keystroke.
+     */
+    private String exponentSeparators = "";
+
+    /**
+     * Parser used to parse values without {@link DecimalFormat}, when possible.
+     */
+    private final BigDecimalParser parser = new BigDecimalParser();
+
     /**
      * Constructs the field with an empty label, {@link BigDecimal#ZERO} as default value and with default {@link Locale}.
      */
@@ -112,6 +138,33 @@ public class SuperBigDecimalField extends AbstractSuperFloatingPointField<BigDec
         }
     }
 
+    @Override
+    public void setLocale(Locale locale) {
+        super.setLocale(locale);
+        // both cases depend on the locale
+        this.updateExponentSeparators();
+    }
+
+    @Override
+    protected List<Object> buildFormatProfileKey(List<Object> key) {
+        super.buildFormatProfileKey(key);
+        key.add(this.getExponentSeparator());
+        key.add(this.getMaximumExponentDigits());
+        key.add(this.getMaximumSignificandIntegerDigits());
+        key.add(this.getMaximumSignificandFractionDigits());
+        key.add(this.isNegativeExponentAllowed());
+        return key;
+    }
+
+    @Override
+    protected ObjectNode buildClientSideFormatProfile(ObjectNode profile) {
+        super.buildClientSideFormatProfile(profile);
+        // the browser keeps the exponent in the canonical value, so that it is parsed exactly as typed
+        if(this.isScientificNotationEnabled())
+            profile.put("exponentSeparator", String.valueOf(this.getExponentSeparator()));
+        return profile;
+    }
+
     @Override
     protected StringBuilder buildAllowedCharPattern(StringBuilder builder) {
         if(this.isScientificNotationEnabled())
@@ -161,8 +214,39 @@ public class SuperBigDecimalField extends AbstractSuperFloatingPointField<BigDec
         return this.isScientificNotationEnabled() && rawValue.toUpperCase(this.getLocale()).contains(String.valueOf(this.getExponentSeparator()).toUpperCase(this.getLocale()));
     }
 
+    private void updateExponentSeparators() {
+        this.exponentSeparators = this.isScientificNotationEnabled() ?
+            String.valueOf(this.getExponentSeparator()).toLowerCase(this.getLocale()) + String.valueOf(this.getExponentSeparator()).toUpperCase(this.getLocale())
+            : "";
+    }
+
+    private NumberParser.Result parseWithParser(String rawValue) {
+        return this.parser.parse(rawValue, this.getFormatProfile(), this.exponentSeparators, this.getMaximumExponentDigits(), this.isNegativeExponentAllowed());
+    }
+
+    @Override
+    NumberParser.Result parseDirectly(String rawValue) {
+        // subclasses that parse values on their own must get all the input
+        if(Boolean.TRUE.equals(DIRECT_PARSING_TYPES.get(this.getClass())))
+            return this.parseWithParser(rawValue);
+        else return NumberParser.Result.UNSUPPORTED;
+    }
+
+    @Override
+    BigDecimal getParsedValue() {
+        return this.parser.getValue();
+    }
+
     @Override
     protected BigDecimal parseRawValue(String rawValue, DecimalFormat format) throws ParseException {
+        // parseRawValue(String) may have already tried this, but subclasses may call this method directly
+        final NumberParser.Result result = this.parseWithParser(rawValue);
+        if(result == NumberParser.Result.NUMBER)
+            return this.getParsedValue();
+        else if(result == NumberParser.Result.INVALID)
+            throw new ParseException(rawValue, 0);
+
+        // the format is not supported by the parser (e.g. it has a prefix), so the old way is used
         // using scientific notation typing allows for some weird situations, e.g. when the last character can be E or - or + - in general, something outside of 0 to 9
         // and yes, Character.isDigit actually supports more than 0 to 9, let's hope this omission does not bite back
         if(!Character.isDigit(rawValue.charAt(rawValue.length()-1)))
@@ -172,13 +256,10 @@ public class SuperBigDecimalField extends AbstractSuperFloatingPointField<BigDec
             return new BigDecimal(rawValue.replace(format.getDecimalFormatSymbols().getDecimalSeparator(), '.'));
         }
         else {
-            // no idea how decimal formats work, but just in case the instance is shared across many objects...
-            boolean oldParse = format.isParseBigDecimal();
-            format.setParseBigDecimal(true);
-            BigDecimal result = (BigDecimal) format.parse(rawValue);
-            // ...here it returns to the prior state after it was used
-            format.setParseBigDecimal(oldParse);
-            return result;
+            // the format may be shared, so it is never modified
+            final DecimalFormat bigDecimalFormat = (DecimalFormat) format.clone();
+            bigDecimalFormat.setParseBigDecimal(true);
+            return (BigDecimal) bigDecimalFormat.parse(rawValue);
         }
     }
 
@@ -204,6 +285,7 @@ public class SuperBigDecimalField extends AbstractSuperFloatingPointField<BigDec
      */
     public void setMaximumExponentDigits(int maximumExponentDigits) {
         this.maximumExponentDigits = maximumExponentDigits;
+        this.updateExponentSeparators();
         this.updateRegularExpression();
     }
 
@@ -305,6 +387,7 @@ public class SuperBigDecimalField extends AbstractSuperFloatingPointField<BigDec
      */
     public void setExponentSeparator(char exponentSeparator) {
         this.exponentSeparator = exponentSeparator;
+        this.updateExponentSeparators();
         this.updateRegularExpression();
     }
 
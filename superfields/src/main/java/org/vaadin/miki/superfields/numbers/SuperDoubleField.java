@@ -89,6 +89,11 @@ public class SuperDoubleField extends AbstractSuperFloatingPointField<Double, Su
         super(defaultValue, d -> d < 0.0d, Math::abs, label, locale, maxFractionDigits);
     }
 
+    @Override
+    Double fromParsedNumber(NumberParser parsed) {
+        return parsed.doubleValue();
+    }
+
     @Override
     protected Double parseRawValue(String rawValue, DecimalFormat format) throws ParseException {
         return format.parse(rawValue).doubleValue();
@@ -69,6 +69,11 @@ public class SuperIntegerField extends AbstractSuperNumberField<Integer, SuperIn
         super(defaultValue, d -> d < 0, Math::abs, label, locale, 0);
     }
 
+    @Override
+    Integer fromParsedNumber(NumberParser parsed) {
+        return parsed.intValue();
+    }
+
     @Override
     protected Integer parseRawValue(String rawValue, DecimalFormat format) throws ParseException {
         return format.parse(rawValue).intValue();
@@ -69,6 +69,11 @@ public class SuperLongField extends AbstractSuperNumberField<Long, SuperLongFiel
         super(defaultValue, d -> d < 0, Math::abs, label, locale, 0);
     }
 
+    @Override
+    Long fromParsedNumber(NumberParser parsed) {
+        return parsed.longValue();
+    }
+
     @Override
     protected Long parseRawValue(String rawValue, DecimalFormat format) throws ParseException {
         return format.parse(rawValue).longValue();
@@ -2,6 +2,8 @@ package org.vaadin.miki.superfields.object;
 
 import com.vaadin.flow.component.HasValue;
 
+import java.io.Serializable;
+
 /**
  * Marker interface for objects capable of configuring a component used in {@link ObjectField}{@code <T>}.
  * This means any configuration <strong>other than</strong> calling {@link HasValue#setValue(Object)}, as that method is called by {@link ObjectField} automatically.
@@ -12,7 +14,7 @@ import com.vaadin.flow.component.HasValue;
  * @since 2022-09-07
  */
 @FunctionalInterface
-public interface ComponentConfigurator<T> {
+public interface ComponentConfigurator<T> extends Serializable {
 
     /**
      * Configures a given component. Note: do not call {@link HasValue#setValue(Object)} on the given {@code component}.
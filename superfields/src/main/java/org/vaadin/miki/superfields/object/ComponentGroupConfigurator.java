@@ -2,6 +2,7 @@ package org.vaadin.miki.superfields.object;
 
 import com.vaadin.flow.component.HasValue;
 
+import java.io.Serializable;
 import java.util.List;
 
 /**
@@ -11,7 +12,7 @@ import java.util.List;
  * @since 2022-09-01
  */
 @FunctionalInterface
-public interface ComponentGroupConfigurator {
+public interface ComponentGroupConfigurator extends Serializable {
 
     /**
      * Configures the given group of components.
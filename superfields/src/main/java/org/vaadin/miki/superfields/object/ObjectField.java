@@ -10,6 +10,7 @@ import com.vaadin.flow.component.Tag;
 import com.vaadin.flow.component.customfield.CustomField;
 import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.component.orderedlayout.FlexLayout;
+import com.vaadin.flow.function.SerializableFunction;
 import com.vaadin.flow.function.SerializableSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,12 +22,17 @@ import org.vaadin.miki.markers.WithLabelMixin;
 import org.vaadin.miki.markers.WithLabelPositionableMixin;
 import org.vaadin.miki.markers.WithValueMixin;
 import org.vaadin.miki.superfields.layouts.FlexLayoutHelpers;
+import org.vaadin.miki.superfields.lazyload.ComponentObservationEvent;
+import org.vaadin.miki.superfields.lazyload.ComponentObserver;
 import org.vaadin.miki.superfields.object.builder.SimplePropertyComponentBuilder;
 import org.vaadin.miki.superfields.object.reflect.ReflectivePropertyProvider;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -87,6 +93,19 @@ public class ObjectField<T> extends CustomField<T>
 
     private boolean valueChangeInProgress = false;
 
+    private final Set<HasValue<?, ?>> changedComponents = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private SerializableFunction<T, T> modelValueCopier;
+
+    private boolean modelValueChangedInPlace = false;
+
+    private final Map<String, List<Property<T, ?>>> groups = new LinkedHashMap<>();
+    private final Map<String, List<Property<T, ?>>> unbuiltGroups = new LinkedHashMap<>();
+
+    private boolean lazyGroups = false;
+
+    private ComponentObserver groupObserver;
+
     /**
      * Builds an {@link ObjectField} using {@link #DEFAULT_LAYOUT_PROVIDER} for the main layout.
      *
@@ -121,6 +140,11 @@ public class ObjectField<T> extends CustomField<T>
             definition.getSetter().ifPresent(s -> s.accept(object, (P) component.getValue()));
     }
 
+    private static <T, P> void copyPropertyOfObject(T from, T to, Property<T, P> definition) {
+        if(from != null && to != null)
+            definition.getGetter().ifPresent(getter -> definition.getSetter().ifPresent(setter -> setter.accept(to, getter.apply(from))));
+    }
+
     @SuppressWarnings("unchecked") // should be safe
     private <P> void showPropertyOfObject(T object, Property<T, P> definition, HasValue<?, ?> component) {
         if(object != null)
@@ -129,15 +153,48 @@ public class ObjectField<T> extends CustomField<T>
 
     @Override
     protected T generateModelValue() {
-        final var result = this.emptyObjectSupplier.get();
-        this.properties.forEach((def, field) -> this.setPropertyOfObject(result, def, field));
-        LOGGER.debug("ObjectField<{}> - generated model value: {}", this.getDataType().getSimpleName(), result);
+        final var lastValue = this.getValue();
+        final T result;
+        if(this.modelValueCopier != null && lastValue != null) {
+            // only the properties that changed since the last time are set, on a copy (or the same object)
+            result = this.modelValueCopier.apply(lastValue);
+            this.properties.forEach((def, field) -> {
+                if(this.changedComponents.contains(field))
+                    this.setPropertyOfObject(result, def, field);
+            });
+            this.modelValueChangedInPlace = result == lastValue;
+            LOGGER.debug("ObjectField<{}> - updated {} properties of model value: {}", this.getDataType().getSimpleName(), this.changedComponents.size(), result);
+        }
+        else {
+            result = this.emptyObjectSupplier.get();
+            this.properties.forEach((def, field) -> this.setPropertyOfObject(result, def, field));
+            // groups that were not built have no components, so their properties stay as they were
+            this.unbuiltGroups.values().forEach(contents -> contents.forEach(def -> copyPropertyOfObject(lastValue, result, def)));
+            LOGGER.debug("ObjectField<{}> - generated model value: {}", this.getDataType().getSimpleName(), result);
+        }
+        this.changedComponents.clear();
         return result;
     }
 
+    @Override
+    protected boolean valueEquals(T value1, T value2) {
+        // an object changed in place is the same object, but its value is different
+        return !this.modelValueChangedInPlace && super.valueEquals(value1, value2);
+    }
+
+    private static boolean areStructurallyEqual(List<? extends Property<?, ?>> first, List<? extends Property<?, ?>> second) {
+        if(first.size() != second.size())
+            return false;
+        for(int zmp1 = 0; zmp1 < first.size(); zmp1++)
+            if(!first.get(zmp1).isStructurallyEqual(second.get(zmp1)))
+                return false;
+        return true;
+    }
+
     /**
      * Prepares components to display the given value.
      * Does not set any value of any component.
+     * Components of properties that have not changed structurally (see {@link Property#isStructurallyEqual(Property)}) are reused.
      *
      * @param t Value to be shown.
      */
@@ -145,53 +202,200 @@ public class ObjectField<T> extends CustomField<T>
         // get definitions for the object
         final var newDefinitions = this.getPropertyProvider().getObjectPropertyDefinitions(this.dataType, t);
         LOGGER.debug("> obtained {} definitions for {}", newDefinitions.size(), this.dataType);
-        // if the definitions are different from the last used ones, repaint the whole component
-        if(!this.definitions.equals(newDefinitions)) {
-            LOGGER.debug("refreshing properties to {}", newDefinitions);
-            // remove group layouts
-            this.groupLayouts.values().forEach(this.layout::remove);
-            // remove components not in layouts
-            this.componentsNotInGroups.forEach(this.layout::remove);
-
+        if(this.definitions.equals(newDefinitions))
+            return;
+        // when nothing changed structurally, the components stay and only the definitions (with their getters and setters) are replaced
+        if(!this.definitions.isEmpty() && areStructurallyEqual(this.definitions, newDefinitions)) {
+            LOGGER.debug("properties have the same structure, reusing components");
+            final Map<Property<T, ?>, Property<T, ?>> replacements = new HashMap<>();
+            for(int zmp1 = 0; zmp1 < newDefinitions.size(); zmp1++)
+                replacements.put(this.definitions.get(zmp1), newDefinitions.get(zmp1));
+            // order of the map follows the groups, so it must be kept
+            final Map<Property<T, ?>, HasValue<?, ?>> components = new LinkedHashMap<>(this.properties);
             this.properties.clear();
-            this.groupLayouts.clear();
-            this.componentsNotInGroups.clear();
+            components.forEach((definition, component) -> this.properties.put(replacements.get(definition), component));
+            replaceDefinitions(this.groups, replacements);
+            replaceDefinitions(this.unbuiltGroups, replacements);
             this.definitions.clear();
             this.definitions.addAll(newDefinitions);
-            // make groups
-            final Map<String, List<Property<T, ?>>> groupDefinitions = this.getPropertyGroupingProvider().groupDefinitions(this.definitions);
-            // build layouts
-            groupDefinitions.forEach((groupName, groupContents) ->
-                this.getGroupLayoutProvider().buildGroupLayout(groupName, groupContents).ifPresentOrElse(groupLayout -> {
-                    this.groupLayouts.put(groupName, groupLayout);
-                    final var groupComponents = groupContents.stream().map(definition -> {
-                        final var component = this.buildAndConfigureComponentForDefinition(t, definition);
-                        groupLayout.add(component);
-                        this.properties.put(definition, component);
-                        LOGGER.debug("field {} belongs to group {}, added to group layout", definition.getName(), groupName);
-                        return component;
-                    }).toList();
-                    // configure an entire group
-                    this.groupConfigurators.forEach(configurator -> configurator.configureComponentGroup(t, groupName, groupContents, groupComponents));
-                    // add group layout to layout
-                    this.layout.add(groupLayout);
-                }, () ->
-                    groupContents.forEach(definition -> {
-                        final var component = this.buildAndConfigureComponentForDefinition(t, definition);
-                        this.layout.add(component);
-                        this.properties.put(definition, component);
-                        this.componentsNotInGroups.add(component);
-                        LOGGER.debug("field {} belongs to main layout", definition.getName());
-                    })
-                )
-            );
-            // configure all components
-            if(!this.groupConfigurators.isEmpty()) {
-                final var allComponents = this.definitions.stream().map(this.properties::get).toList();
-                this.groupConfigurators.forEach(configurator -> configurator.configureComponentGroup(t, null, this.definitions, allComponents));
-            }
+            return;
+        }
+
+        LOGGER.debug("refreshing properties to {}", newDefinitions);
+        // components of existing properties, by name, so that they can be reused
+        final Map<String, Map.Entry<Property<T, ?>, HasValue<?, ?>>> reusableComponents = new HashMap<>();
+        this.properties.forEach((definition, component) -> reusableComponents.putIfAbsent(definition.getName(), Map.entry(definition, component)));
+        // layouts of groups that were never built are no longer observed
+        if(this.groupObserver != null)
+            this.unbuiltGroups.keySet().forEach(groupName -> this.groupObserver.unobserve(this.groupLayouts.get(groupName)));
+        this.unbuiltGroups.clear();
+        this.groups.clear();
+        // remove group layouts
+        this.groupLayouts.values().forEach(this.layout::remove);
+        // remove components not in layouts
+        this.componentsNotInGroups.forEach(this.layout::remove);
+
+        this.properties.clear();
+        this.groupLayouts.clear();
+        this.componentsNotInGroups.clear();
+        this.definitions.clear();
+        this.definitions.addAll(newDefinitions);
+        // make groups
+        final Map<String, List<Property<T, ?>>> groupDefinitions = this.getPropertyGroupingProvider().groupDefinitions(this.definitions);
+        groupDefinitions.forEach((groupName, groupContents) -> this.groups.put(groupName, List.copyOf(groupContents)));
+        // build layouts
+        groupDefinitions.forEach((groupName, groupContents) ->
+            this.getGroupLayoutProvider().buildGroupLayout(groupName, groupContents).ifPresentOrElse(groupLayout -> {
+                this.groupLayouts.put(groupName, groupLayout);
+                // in lazy mode, the layout stays empty until it is shown (unless there are components to reuse)
+                if(this.isLazyGroups() && groupContents.stream().noneMatch(definition -> reusableComponents.containsKey(definition.getName()))) {
+                    LOGGER.debug("group {} will be built when needed", groupName);
+                    this.unbuiltGroups.put(groupName, List.copyOf(groupContents));
+                    this.observeGroupLayout(groupLayout);
+                }
+                else this.buildGroupComponents(t, groupName, groupContents, groupLayout, reusableComponents);
+                // add group layout to layout
+                this.layout.add(groupLayout);
+            }, () ->
+                groupContents.forEach(definition -> {
+                    final var component = this.reuseOrBuildComponentForDefinition(t, definition, reusableComponents);
+                    this.layout.add(component);
+                    this.properties.put(definition, component);
+                    this.componentsNotInGroups.add(component);
+                    LOGGER.debug("field {} belongs to main layout", definition.getName());
+                })
+            )
+        );
+        this.configureAllComponents(t);
+    }
+
+    /**
+     * Passes all components that are built to {@link ComponentGroupConfigurator}s, as a group without a name.
+     * @param t Object about to be displayed.
+     */
+    private void configureAllComponents(T t) {
+        if(!this.groupConfigurators.isEmpty()) {
+            final var builtDefinitions = this.definitions.stream().filter(this.properties::containsKey).toList();
+            final var allComponents = builtDefinitions.stream().map(this.properties::get).toList();
+            this.groupConfigurators.forEach(configurator -> configurator.configureComponentGroup(t, null, builtDefinitions, allComponents));
+        }
+    }
+
+    private static <T> void replaceDefinitions(Map<String, List<Property<T, ?>>> groups, Map<Property<T, ?>, Property<T, ?>> replacements) {
+        groups.replaceAll((groupName, groupContents) -> groupContents.stream().<Property<T, ?>>map(replacements::get).toList());
+    }
 
+    private void buildGroupComponents(T t, String groupName, List<Property<T, ?>> groupContents, HasComponents groupLayout, Map<String, Map.Entry<Property<T, ?>, HasValue<?, ?>>> reusableComponents) {
+        final List<HasValue<?, ?>> groupComponents = groupContents.stream().<HasValue<?, ?>>map(definition -> {
+            final var component = this.reuseOrBuildComponentForDefinition(t, definition, reusableComponents);
+            groupLayout.add(component);
+            this.properties.put(definition, component);
+            LOGGER.debug("field {} belongs to group {}, added to group layout", definition.getName(), groupName);
+            return component;
+        }).toList();
+        // configure an entire group
+        this.groupConfigurators.forEach(configurator -> configurator.configureComponentGroup(t, groupName, groupContents, groupComponents));
+    }
+
+    private void observeGroupLayout(Component groupLayout) {
+        if(this.groupObserver == null) {
+            this.groupObserver = new ComponentObserver();
+            this.groupObserver.addComponentObservationListener(this::groupLayoutObserved);
+            this.add(this.groupObserver);
+            // observed components stop being observed when detached
+            this.addAttachListener(event -> this.unbuiltGroups.keySet().forEach(groupName -> this.groupObserver.observe(this.groupLayouts.get(groupName))));
         }
+        this.groupObserver.observe(groupLayout);
+    }
+
+    private void groupLayoutObserved(ComponentObservationEvent event) {
+        if(!event.isNotVisible())
+            this.unbuiltGroups.keySet().stream()
+                    .filter(groupName -> this.groupLayouts.get(groupName) == event.getObservedComponent())
+                    .findFirst()
+                    .ifPresent(this::buildGroup);
+    }
+
+    /**
+     * Builds the components of a group that has not been built yet (see {@link #setLazyGroups(boolean)}), and shows the current value in them.
+     * Nothing happens when there is no such group, or when it has already been built.
+     * @param groupName Name of the group.
+     */
+    public void buildGroup(String groupName) {
+        final var groupContents = this.unbuiltGroups.remove(groupName);
+        if(groupContents == null)
+            return;
+        LOGGER.debug("building group {}", groupName);
+        final var groupLayout = this.groupLayouts.get(groupName);
+        if(this.groupObserver != null)
+            this.groupObserver.unobserve(groupLayout);
+        final T value = this.getValue();
+        final boolean changeInProgress = this.valueChangeInProgress;
+        this.valueChangeInProgress = true;
+        this.buildGroupComponents(value, groupName, groupContents, (HasComponents) groupLayout, Collections.emptyMap());
+        if(this.isReadOnly())
+            HasReadOnly.setReadOnly(true, groupLayout);
+        // components follow the order of groups
+        final Map<Property<T, ?>, HasValue<?, ?>> components = new LinkedHashMap<>(this.properties);
+        this.properties.clear();
+        this.groups.values().forEach(contents -> contents.stream().filter(components::containsKey).forEach(definition -> this.properties.put(definition, components.get(definition))));
+        this.configureAllComponents(value);
+        // new components show the current value
+        groupContents.forEach(definition -> this.showPropertyOfObject(value, definition, this.properties.get(definition)));
+        this.valueChangeInProgress = changeInProgress;
+    }
+
+    /**
+     * Builds all the groups that have not been built yet.
+     * @see #buildGroup(String)
+     */
+    public void buildAllGroups() {
+        List.copyOf(this.unbuiltGroups.keySet()).forEach(this::buildGroup);
+    }
+
+    /**
+     * Checks whether the components of a given group have been built.
+     * @param groupName Name of the group.
+     * @return {@code false} when the group exists, but its components are not built yet (see {@link #setLazyGroups(boolean)}); otherwise {@code true}.
+     */
+    public boolean isGroupBuilt(String groupName) {
+        return !this.unbuiltGroups.containsKey(groupName);
+    }
+
+    /**
+     * Checks whether groups of properties are built lazily.
+     * @return When {@code true}, group layouts are empty until they are shown on screen or {@link #buildGroup(String)} is called. Defaults to {@code false}.
+     * @see #setLazyGroups(boolean)
+     */
+    public boolean isLazyGroups() {
+        return lazyGroups;
+    }
+
+    /**
+     * Controls whether groups of properties are built lazily.
+     * In lazy mode, every group that has its own layout (see {@link PropertyGroupLayoutProvider}) starts with an empty layout,
+     * and its components are built the first time that layout becomes visible on screen (or when {@link #buildGroup(String)} is called).
+     * Until then, the values of the group's properties are copied from the current value when a new value is generated.
+     * Properties that are not in a group with a layout are always built immediately.
+     * Each time a group is built, {@link ComponentGroupConfigurator}s receive it, followed by all components built so far (as a group without a name).
+     * Turning the lazy mode off builds all remaining groups; turning it on takes effect when the components are built again.
+     * @param lazyGroups Whether to build groups lazily.
+     */
+    public void setLazyGroups(boolean lazyGroups) {
+        this.lazyGroups = lazyGroups;
+        if(!lazyGroups)
+            this.buildAllGroups();
+    }
+
+    /**
+     * Chains {@link #setLazyGroups(boolean)} and returns itself.
+     * @param lazy Whether to build groups lazily.
+     * @return This.
+     * @see #setLazyGroups(boolean)
+     */
+    public final ObjectField<T> withLazyGroups(boolean lazy) {
+        this.setLazyGroups(lazy);
+        return this;
     }
 
     private <P, C extends Component & HasValue<?, P>> C buildAndConfigureComponentForDefinition(T t, Property<T, P> definition) {
@@ -202,9 +406,22 @@ public class ObjectField<T> extends CustomField<T>
         return result;
     }
 
+    @SuppressWarnings("unchecked") // components are always built by this class, so they are both Components and HasValues
+    private <P, C extends Component & HasValue<?, P>> C reuseOrBuildComponentForDefinition(T t, Property<T, P> definition, Map<String, Map.Entry<Property<T, ?>, HasValue<?, ?>>> reusableComponents) {
+        final var existing = reusableComponents.get(definition.getName());
+        if(existing != null && existing.getKey().isStructurallyEqual(definition)) {
+            reusableComponents.remove(definition.getName());
+            LOGGER.debug("> reusing component for {}", definition.getName());
+            return (C) existing.getValue();
+        }
+        return this.buildAndConfigureComponentForDefinition(t, definition);
+    }
+
     private void valueChangedInSubComponent(ValueChangeEvent<?> event) {
         if(!this.valueChangeInProgress) {
+            this.changedComponents.add(event.getHasValue());
             this.updateValue();
+            this.modelValueChangedInPlace = false;
             LOGGER.debug("ObjectField<{}> - current value after update: {}", this.getDataType().getSimpleName(), this.getValue());
         }
     }
@@ -212,6 +429,9 @@ public class ObjectField<T> extends CustomField<T>
     private void reload() {
         this.reloadNeeded = false;
         this.definitions.clear();
+        // components must be rebuilt, as their configuration may have changed
+        this.properties.clear();
+        this.changedComponents.clear();
     }
 
     /**
@@ -233,6 +453,8 @@ public class ObjectField<T> extends CustomField<T>
         this.prepareComponents(t);
         // set the values of each property
         this.properties.forEach((def, field) -> this.showPropertyOfObject(t, def, field));
+        // all components now show the value
+        this.changedComponents.clear();
         this.valueChangeInProgress = false;
     }
 
@@ -244,6 +466,40 @@ public class ObjectField<T> extends CustomField<T>
         return dataType;
     }
 
+    /**
+     * Returns the function used to copy the value when only the changed properties are set.
+     * @return The function, or {@code null} when every change produces a new object with all the properties set (default).
+     * @see #setModelValueCopier(SerializableFunction)
+     */
+    public SerializableFunction<T, T> getModelValueCopier() {
+        return modelValueCopier;
+    }
+
+    /**
+     * Turns on (or off) tracking of changes in components.
+     * By default, each change in any component produces a new object (from the empty object supplier), and every property is set.
+     * When tracking is on, the current value is passed to the given function, and only the properties with components
+     * that changed since the last time are set on the result. The function should return a copy of its argument.
+     * When it returns the argument itself (e.g. {@link SerializableFunction#identity()}), the current value is modified in place;
+     * value change events are still fired, but with the same object as both old and new value.
+     * Note that properties that are not shown in this component are kept (in the copy), rather than reset to their defaults.
+     * @param copier A function to copy the value. When {@code null}, tracking of changes is turned off.
+     */
+    public void setModelValueCopier(SerializableFunction<T, T> copier) {
+        this.modelValueCopier = copier;
+    }
+
+    /**
+     * Chains {@link #setModelValueCopier(SerializableFunction)} and returns itself.
+     * @param copier A function to copy the value.
+     * @return This.
+     * @see #setModelValueCopier(SerializableFunction)
+     */
+    public final ObjectField<T> withModelValueCopier(SerializableFunction<T, T> copier) {
+        this.setModelValueCopier(copier);
+        return this;
+    }
+
     /**
      * Indicates that reload of data and components is needed.
      */
@@ -3,6 +3,7 @@ package org.vaadin.miki.superfields.object;
 import com.vaadin.flow.function.SerializableBiConsumer;
 import com.vaadin.flow.function.SerializableFunction;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
@@ -21,7 +22,7 @@ import java.util.stream.Collectors;
  * @author miki
  * @since 2022-05-16
  */
-public class Property<T, P> {
+public class Property<T, P> implements Serializable {
 
     private final String name;
     private final Class<T> owner;
@@ -111,6 +112,16 @@ public class Property<T, P> {
         return metadata;
     }
 
+    /**
+     * Checks whether the other property has the same structure as this one: it belongs to the same type, has the same name, value type and {@link PropertyMetadata}.
+     * Unlike {@link #equals(Object)}, setters and getters are not compared, as they are often lambdas created anew each time properties are obtained.
+     * @param other Property to compare to.
+     * @return Whether both properties have the same structure.
+     */
+    public boolean isStructurallyEqual(Property<?, ?> other) {
+        return other != null && Objects.equals(getName(), other.getName()) && Objects.equals(getOwner(), other.getOwner()) && Objects.equals(getType(), other.getType()) && Objects.equals(getMetadata(), other.getMetadata());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
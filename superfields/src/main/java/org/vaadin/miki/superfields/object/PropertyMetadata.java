@@ -1,14 +1,17 @@
 package org.vaadin.miki.superfields.object;
 
+import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * Metadata for a {@link Property}.
+ * Array values are compared by their contents.
  *
  * @author miki
  * @since 2022-09-01
  */
-public class PropertyMetadata {
+public class PropertyMetadata implements Serializable {
 
     private final String name;
     private final Class<?> valueType;
@@ -65,12 +68,12 @@ public class PropertyMetadata {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         PropertyMetadata that = (PropertyMetadata) o;
-        return Objects.equals(getName(), that.getName()) && Objects.equals(getValueType(), that.getValueType()) && Objects.equals(getValue(), that.getValue());
+        return Objects.equals(getName(), that.getName()) && Objects.equals(getValueType(), that.getValueType()) && Objects.deepEquals(getValue(), that.getValue());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getName(), getValueType(), getValue());
+        return Objects.hash(getName(), getValueType(), Arrays.deepHashCode(new Object[]{getValue()}));
     }
 
     @Override
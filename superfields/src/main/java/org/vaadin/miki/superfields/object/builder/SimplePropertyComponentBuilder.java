@@ -9,17 +9,27 @@ import org.slf4j.LoggerFactory;
 import org.vaadin.miki.superfields.object.Property;
 import org.vaadin.miki.superfields.object.PropertyComponentBuilder;
 import org.vaadin.miki.superfields.text.LabelField;
+import org.vaadin.miki.util.ReflectTools;
 import org.vaadin.miki.util.StringTools;
 
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 /**
  * Reference implementation of {@link PropertyComponentBuilder}.
  * In general, it allows building components based on {@link Predicate}&lt;{@link Property}&gt; and provides some helper methods for common use cases.
+ * Builders registered for types (rather than with arbitrary predicates) are matched once per type, and the results are remembered until the registered builders change.
  *
  * @author miki
  * @since 2022-06-06
@@ -35,13 +45,103 @@ public class SimplePropertyComponentBuilder implements PropertyComponentBuilder
      */
     public static final FieldBuilder<?> DEFAULT_BUILDER = property -> new LabelField<>();
 
+    /**
+     * A {@link Predicate} that only depends on the type of the property.
+     * Builders registered with such predicates are matched once per type, rather than tested for each property.
+     */
+    private static final class TypePredicate implements Predicate<Property<?, ?>>, Serializable {
+
+        private final Class<?> type;
+        private final boolean exact;
+        private final boolean ignoringBoxing;
+
+        private TypePredicate(Class<?> type, boolean exact, boolean ignoringBoxing) {
+            this.type = ignoringBoxing ? ReflectTools.wrap(type) : type;
+            this.exact = exact;
+            this.ignoringBoxing = ignoringBoxing;
+        }
+
+        private boolean matchesType(Class<?> propertyType) {
+            if(propertyType == null)
+                return false;
+            final Class<?> checkedType = this.ignoringBoxing ? ReflectTools.wrap(propertyType) : propertyType;
+            return this.exact ? this.type == checkedType : this.type.isAssignableFrom(checkedType);
+        }
+
+        @Override
+        public boolean test(Property<?, ?> property) {
+            return this.matchesType(property.getType());
+        }
+    }
+
+    /**
+     * Registered builders, in the order of registration. Every change clears the lookups made so far.
+     */
+    private final class RegisteredBuilders extends AbstractMap<Predicate<Property<?, ?>>, FieldBuilder<?>> implements Serializable {
+
+        private final Map<Predicate<Property<?, ?>>, FieldBuilder<?>> builders = new LinkedHashMap<>();
+
+        @Override
+        public FieldBuilder<?> put(Predicate<Property<?, ?>> key, FieldBuilder<?> value) {
+            lookups.clear();
+            return this.builders.put(key, value);
+        }
+
+        @Override
+        public FieldBuilder<?> get(Object key) {
+            return this.builders.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return this.builders.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return this.builders.size();
+        }
+
+        @Override
+        public Set<Entry<Predicate<Property<?, ?>>, FieldBuilder<?>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Predicate<Property<?, ?>>, FieldBuilder<?>>> iterator() {
+                    final Iterator<Entry<Predicate<Property<?, ?>>, FieldBuilder<?>>> iterator = builders.entrySet().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<Predicate<Property<?, ?>>, FieldBuilder<?>> next() {
+                            return iterator.next();
+                        }
+
+                        @Override
+                        public void remove() {
+                            iterator.remove();
+                            lookups.clear();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return builders.size();
+                }
+            };
+        }
+    }
+
     /**
      * Returns a {@link Predicate} that checks if a property is exactly of given type.
      * @param type Type to check.
      * @return A {@link Predicate} that checks if the given {@code type} is equal to the property's type.
      */
     public static Predicate<Property<?, ?>> isExactlyType(Class<?> type) {
-        return def -> Objects.equals(type, def.getType());
+        return new TypePredicate(type, true, false);
     }
 
     /**
@@ -50,27 +150,91 @@ public class SimplePropertyComponentBuilder implements PropertyComponentBuilder
      * @return A {@link Predicate} that evaluates to {@code type.isAssignableFrom(property.getType())}.
      */
     public static Predicate<Property<?, ?>> isOfType(Class<?> type) {
-        return def -> type.isAssignableFrom(def.getType());
+        return new TypePredicate(type, false, false);
     }
 
-    private final Map<Predicate<Property<?, ?>>, FieldBuilder<?>> registeredBuilders = new LinkedHashMap<>();
+    /**
+     * Returns a {@link Predicate} that checks if a property is exactly of given type, treating primitive types and their wrappers as the same type.
+     * For example, {@code isExactlyTypeIgnoringBoxing(int.class)} matches both {@code int} and {@link Integer} properties.
+     * @param type Type to check.
+     * @return A {@link Predicate} that checks if the given {@code type} is equal to the property's type, after both are wrapped.
+     */
+    public static Predicate<Property<?, ?>> isExactlyTypeIgnoringBoxing(Class<?> type) {
+        return new TypePredicate(type, true, true);
+    }
+
+    /**
+     * Returns a {@link Predicate} that checks if a property is of the given type, treating primitive types as their wrappers.
+     * For example, {@code isOfTypeIgnoringBoxing(Number.class)} matches {@code int} properties.
+     * @param type Type to check.
+     * @return A {@link Predicate} that evaluates to {@code type.isAssignableFrom(property.getType())}, after both are wrapped.
+     */
+    public static Predicate<Property<?, ?>> isOfTypeIgnoringBoxing(Class<?> type) {
+        return new TypePredicate(type, false, true);
+    }
+
+    private final Map<Class<?>, List<Predicate<Property<?, ?>>>> lookups = new ConcurrentHashMap<>();
+
+    private final Map<Predicate<Property<?, ?>>, FieldBuilder<?>> registeredBuilders = new RegisteredBuilders();
 
     private FieldBuilder<?> defaultBuilder = DEFAULT_BUILDER;
 
     private boolean defaultLabel = true;
 
-    @SuppressWarnings("unchecked") // fine, I guess?
     @Override
     public <P, C extends Component & HasValue<?, P>> Optional<C> buildPropertyField(Property<?, P> property) {
-        final C result;
+        return this.buildPropertyField(property, this.findFieldBuilder(property));
+    }
 
-        final FieldBuilder<P> fieldBuilder = this.registeredBuilders.keySet().stream()
-                .filter(predicate -> predicate.test(property))
-                .findFirst()
-                .map(this.registeredBuilders::get)
-                .map(builder -> (FieldBuilder<P>) builder)
-                .orElse((FieldBuilder<P>) this.defaultBuilder);
-        result = (C) fieldBuilder.buildPropertyField(property);
+    /**
+     * Finds the {@link FieldBuilder} to use for a given property, without building anything.
+     * This is the builder registered with the first matching {@link Predicate}, or the default builder if none matches.
+     * @param property Property to find a builder for.
+     * @return A {@link FieldBuilder}. Never {@code null}.
+     * @param <P> Property value type.
+     */
+    @SuppressWarnings("unchecked") // fine, I guess?
+    public <P> FieldBuilder<P> findFieldBuilder(Property<?, P> property) {
+        final Class<?> type = property.getType();
+        final List<Predicate<Property<?, ?>>> candidates = type == null ? this.findCandidates(null) : this.lookups.computeIfAbsent(type, this::findCandidates);
+        for (Predicate<Property<?, ?>> candidate : candidates)
+            // type predicates among the candidates are known to match
+            if(candidate instanceof TypePredicate || candidate.test(property))
+                return (FieldBuilder<P>) this.registeredBuilders.get(candidate);
+        return (FieldBuilder<P>) this.defaultBuilder;
+    }
+
+    /**
+     * Finds predicates that may match properties of a given type, in the order of registration.
+     * Type predicates are checked here: those that do not match are skipped, and nothing after the first one that matches can ever be used.
+     * An empty result means that the default builder is used for the type.
+     * @param type Type of property.
+     * @return A list of predicates.
+     */
+    private List<Predicate<Property<?, ?>>> findCandidates(Class<?> type) {
+        final List<Predicate<Property<?, ?>>> result = new ArrayList<>();
+        for (Predicate<Property<?, ?>> predicate : this.registeredBuilders.keySet())
+            if(!(predicate instanceof TypePredicate typePredicate))
+                result.add(predicate);
+            else if(typePredicate.matchesType(type)) {
+                result.add(predicate);
+                break;
+            }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Builds a component for a given property with a given {@link FieldBuilder} (usually one found earlier with {@link #findFieldBuilder(Property)}).
+     * The default label is set as in {@link #buildPropertyField(Property)}.
+     * @param property Property to build a component for.
+     * @param fieldBuilder Builder to use.
+     * @return The built component, if any.
+     * @param <P> Property value type.
+     * @param <C> Component type.
+     */
+    @SuppressWarnings("unchecked") // fine, I guess?
+    public <P, C extends Component & HasValue<?, P>> Optional<C> buildPropertyField(Property<?, P> property, FieldBuilder<P> fieldBuilder) {
+        final C result = (C) fieldBuilder.buildPropertyField(property);
 
         if(result instanceof HasLabel hasLabel && this.isDefaultLabel()) {
             final String fieldLabel = StringTools.humanReadable(property.getName());
@@ -114,6 +278,33 @@ public class SimplePropertyComponentBuilder implements PropertyComponentBuilder
         return this;
     }
 
+    /**
+     * Registers a builder for a given {@link Component} for properties of exactly the given {@code valueType}, or its primitive (or wrapper) counterpart.
+     * @param valueType Type of the property.
+     * @param componentSupplier Supplier of component capable of displaying value of the given type.
+     * @param <P> Value type.
+     * @param <C> Component type.
+     * @see #isExactlyTypeIgnoringBoxing(Class)
+     */
+    @SuppressWarnings("unchecked") // should be fine
+    public <P, C extends Component & HasValue<?, P>> void registerTypeIgnoringBoxing(Class<P> valueType, SerializableSupplier<C> componentSupplier) {
+        this.registerBuilder((Predicate<Property<?, P>>)(Predicate<?>) isExactlyTypeIgnoringBoxing(valueType), def -> componentSupplier.get());
+    }
+
+    /**
+     * Chains {@link #registerTypeIgnoringBoxing(Class, SerializableSupplier)} and returns itself.
+     * @param valueType Type of the property.
+     * @param componentSupplier Supplier of component capable of displaying value of the given type.
+     * @return This.
+     * @param <P> Value type.
+     * @param <C> Component type.
+     * @see #registerTypeIgnoringBoxing(Class, SerializableSupplier)
+     */
+    public final <P, C extends Component & HasValue<?, P>> SimplePropertyComponentBuilder withRegisteredTypeIgnoringBoxing(Class<P> valueType, SerializableSupplier<C> componentSupplier) {
+        this.registerTypeIgnoringBoxing(valueType, componentSupplier);
+        return this;
+    }
+
     /**
      * Registers a given {@code builder} with a predicate that checks for a given (not exact) type.
      * @param valueType Type to check.
@@ -125,6 +316,31 @@ public class SimplePropertyComponentBuilder implements PropertyComponentBuilder
         this.registerBuilder((Predicate<Property<?, P>>) (Predicate<?>) isOfType(valueType), builder);
     }
 
+    /**
+     * Registers a given {@code builder} with a predicate that checks for a given (not exact) type, treating primitive types as their wrappers.
+     * @param valueType Type to check.
+     * @param builder Builder to register.
+     * @param <P> Property value type.
+     * @see #isOfTypeIgnoringBoxing(Class)
+     */
+    @SuppressWarnings("unchecked") // should be fine
+    public <P> void registerBuilderIgnoringBoxing(Class<P> valueType, FieldBuilder<P> builder) {
+        this.registerBuilder((Predicate<Property<?, P>>) (Predicate<?>) isOfTypeIgnoringBoxing(valueType), builder);
+    }
+
+    /**
+     * Chains {@link #registerBuilderIgnoringBoxing(Class, FieldBuilder)} and returns itself.
+     * @param valueType Value type to check.
+     * @param builder Builder.
+     * @return This.
+     * @param <P> Property value type.
+     * @see #registerBuilderIgnoringBoxing(Class, FieldBuilder)
+     */
+    public final <P> SimplePropertyComponentBuilder withRegisteredBuilderIgnoringBoxing(Class<P> valueType, FieldBuilder<P> builder) {
+        this.registerBuilderIgnoringBoxing(valueType, builder);
+        return this;
+    }
+
     /**
      * Registers a given {@link Predicate} and its matching {@link FieldBuilder}.
      * @param predicate Predicate.
@@ -4,38 +4,80 @@ import com.vaadin.flow.function.SerializableFunction;
 import org.vaadin.miki.superfields.object.PropertyMetadata;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Provides {@link PropertyMetadata} based on previously registered annotations. Each field together with its setter and getter are scanned.
+ * The registered annotations present on each member are found once and remembered until another annotation is registered.
  *
  * @author miki
  * @since 2022-09-01
  */
 public class AnnotationMetadataProvider implements MetadataProvider {
 
-    private final Map<Class<? extends Annotation>, Function<Annotation, PropertyMetadata>> registeredAnnotations = new HashMap<>();
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    private final Map<Class<? extends Annotation>, SerializableFunction<Annotation, PropertyMetadata>> registeredAnnotations = new HashMap<>();
+
+    // members are not serializable, so the cache is not either; it is created again when needed
+    private transient Map<AnnotatedElement, Annotation[]> presentAnnotations;
 
     @Override
     public Collection<PropertyMetadata> getMetadata(String name, Field field, Method setter, Method getter) {
-        return Stream.of(field, setter, getter)
-                .filter(Objects::nonNull)
-                .map(obj -> this.registeredAnnotations.keySet().stream().map(type -> {
-                    final Annotation annotation = obj.getAnnotation(type);
-                    if(annotation == null) return null;
-                    else return this.registeredAnnotations.get(type).apply(annotation);
-                }).toArray(PropertyMetadata[]::new))
-                .flatMap(Stream::of)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
+        final Annotation[] onField = this.findRegisteredAnnotations(field);
+        final Annotation[] onSetter = this.findRegisteredAnnotations(setter);
+        final Annotation[] onGetter = this.findRegisteredAnnotations(getter);
+        if(onField.length == 0 && onSetter.length == 0 && onGetter.length == 0)
+            return Collections.emptySet();
+        // the same metadata may come from more than one member
+        final Set<PropertyMetadata> result = new HashSet<>();
+        this.addMetadata(result, onField);
+        this.addMetadata(result, onSetter);
+        this.addMetadata(result, onGetter);
+        return result;
+    }
+
+    private void addMetadata(Set<PropertyMetadata> result, Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            final PropertyMetadata metadata = this.registeredAnnotations.get(annotation.annotationType()).apply(annotation);
+            if(metadata != null)
+                result.add(metadata);
+        }
+    }
+
+    /**
+     * Finds registered annotations present on a given member.
+     * @param element Member. May be {@code null}.
+     * @return A non-{@code null}, but possibly empty, array of annotations. Must not be modified.
+     */
+    private Annotation[] findRegisteredAnnotations(AnnotatedElement element) {
+        if(element == null)
+            return NO_ANNOTATIONS;
+        Map<AnnotatedElement, Annotation[]> cache = this.presentAnnotations;
+        if(cache == null) {
+            cache = new ConcurrentHashMap<>();
+            this.presentAnnotations = cache;
+        }
+        return cache.computeIfAbsent(element, member -> {
+            final Annotation[] found = this.registeredAnnotations.keySet().stream().map(member::getAnnotation).filter(Objects::nonNull).toArray(Annotation[]::new);
+            return found.length == 0 ? NO_ANNOTATIONS : found;
+        });
+    }
+
+    private void register(Class<? extends Annotation> annotation, SerializableFunction<Annotation, PropertyMetadata> metadataFunction) {
+        this.registeredAnnotations.put(annotation, metadataFunction);
+        // annotations found so far no longer tell the whole story
+        this.presentAnnotations = null;
     }
 
     /**
@@ -49,7 +91,7 @@ public class AnnotationMetadataProvider implements MetadataProvider {
      * @param <V> Metadata value type.
      */
     public <V, A extends Annotation> void registerAnnotation(String name, Class<V> type, Class<A> annotation, SerializableFunction<A, V> valueFunction) {
-        this.registeredAnnotations.put(annotation, a -> new PropertyMetadata(name, type, valueFunction.apply(annotation.cast(a))));
+        this.register(annotation, a -> new PropertyMetadata(name, type, valueFunction.apply(annotation.cast(a))));
     }
 
     /**
@@ -78,7 +120,7 @@ public class AnnotationMetadataProvider implements MetadataProvider {
      * @param annotation Annotation to map.
      */
     public void registerAnnotation(String name, Class<? extends Annotation> annotation) {
-        this.registeredAnnotations.put(annotation, a -> new PropertyMetadata(name, boolean.class, true));
+        this.register(annotation, a -> new PropertyMetadata(name, boolean.class, true));
     }
 
     /**
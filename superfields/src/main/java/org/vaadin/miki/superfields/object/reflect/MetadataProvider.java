@@ -2,6 +2,7 @@ package org.vaadin.miki.superfields.object.reflect;
 
 import org.vaadin.miki.superfields.object.PropertyMetadata;
 
+import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Collection;
@@ -14,7 +15,7 @@ import java.util.Collection;
  * @since 2022-09-07
  */
 @FunctionalInterface
-public interface MetadataProvider {
+public interface MetadataProvider extends Serializable {
 
     /**
      * Collects {@link PropertyMetadata} for a given property.
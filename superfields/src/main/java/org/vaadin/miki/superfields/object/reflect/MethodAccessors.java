@@ -0,0 +1,246 @@
+package org.vaadin.miki.superfields.object.reflect;
+
+import com.vaadin.flow.function.SerializableBiConsumer;
+import com.vaadin.flow.function.SerializableFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Turns getter and setter {@link Method}s into functions.
+ * Whenever possible, the functions call the methods directly, through classes generated with {@link LambdaMetafactory}.
+ * When access to the declaring class is denied (e.g. it is in a module that is not open), {@link Method#invoke(Object, Object...)} is used instead.
+ * Either way, exceptions thrown by the method are wrapped in {@link IllegalStateException}; errors are passed through.
+ * The functions are serialised as the declaring class, the name and the parameter types of the method only,
+ * and are resolved again on deserialisation. There is one function per method, kept in a {@link ClassValue} of the declaring class.
+ * Functions for classes that do not see this one (e.g. JDK classes, when this library is deployed with an application) are kept here instead,
+ * as otherwise such classes would keep the class loader of this library reachable after the application is undeployed.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+final class MethodAccessors {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodAccessors.class);
+
+    private static final ClassValue<Map<Method, Accessor>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<Method, Accessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    // for classes that may outlive this one; the map goes away together with this class
+    private static final Map<Class<?>, Map<Method, Accessor>> FOREIGN_ACCESSORS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Finds accessors of methods declared in a given class.
+     * Classes that see this one cannot outlive it, so accessors stored in their {@link ClassValue} do not keep anything else loaded.
+     * @param type Type that declares methods.
+     * @return A map with accessors.
+     */
+    private static Map<Method, Accessor> getAccessors(Class<?> type) {
+        if(isVisibleFrom(type.getClassLoader()))
+            return ACCESSORS.get(type);
+        return FOREIGN_ACCESSORS.computeIfAbsent(type, key -> new ConcurrentHashMap<>());
+    }
+
+    private static boolean isVisibleFrom(ClassLoader loader) {
+        if(loader == null)
+            return MethodAccessors.class.getClassLoader() == null;
+        try {
+            return Class.forName(MethodAccessors.class.getName(), false, loader) == MethodAccessors.class;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Base class for accessors. Only identifies the method; the function that calls it is not serialised.
+     */
+    private abstract static class Accessor implements Serializable {
+        private final Class<?> declaringType;
+        private final String name;
+        private final Class<?>[] parameterTypes;
+
+        private Accessor(Method method) {
+            this.declaringType = method.getDeclaringClass();
+            this.name = method.getName();
+            this.parameterTypes = method.getParameterTypes();
+        }
+
+        /**
+         * Replaces a deserialised accessor with the one for the same method in the current JVM.
+         * @return An accessor.
+         * @throws ObjectStreamException When the method no longer exists.
+         */
+        protected Object readResolve() throws ObjectStreamException {
+            try {
+                final Method method = this.declaringType.getDeclaredMethod(this.name, this.parameterTypes);
+                return this.parameterTypes.length == 0 ? getter(method) : setter(method);
+            } catch (NoSuchMethodException e) {
+                throw new InvalidObjectException("method " + this.name + " no longer exists in " + this.declaringType.getName());
+            }
+        }
+    }
+
+    private static final class Getter<T, P> extends Accessor implements SerializableFunction<T, P> {
+        private final transient Function<T, P> function;
+
+        private Getter(Method method) {
+            super(method);
+            this.function = buildGetter(method);
+        }
+
+        @Override
+        public P apply(T t) {
+            return this.function.apply(t);
+        }
+    }
+
+    private static final class Setter<T, P> extends Accessor implements SerializableBiConsumer<T, P> {
+        private final transient BiConsumer<T, P> consumer;
+
+        private Setter(Method method) {
+            super(method);
+            this.consumer = buildSetter(method);
+        }
+
+        @Override
+        public void accept(T t, P p) {
+            this.consumer.accept(t, p);
+        }
+    }
+
+    /**
+     * Returns a getter that calls the given method. The same getter is returned each time for the same method.
+     * @param method A public, non-static method without parameters.
+     * @param <T> Type of the object.
+     * @param <P> Type of the returned value.
+     * @return A getter.
+     */
+    @SuppressWarnings("unchecked") // P is the type of field, so all well here
+    static <T, P> SerializableFunction<T, P> getter(Method method) {
+        return (SerializableFunction<T, P>) getAccessors(method.getDeclaringClass()).computeIfAbsent(method, Getter::new);
+    }
+
+    /**
+     * Returns a setter that calls the given method. The result of the method, if any, is ignored.
+     * The same setter is returned each time for the same method.
+     * @param method A public, non-static method with one parameter.
+     * @param <T> Type of the object.
+     * @param <P> Type of the parameter.
+     * @return A setter.
+     */
+    @SuppressWarnings("unchecked") // types are ensured by the caller
+    static <T, P> SerializableBiConsumer<T, P> setter(Method method) {
+        return (SerializableBiConsumer<T, P>) getAccessors(method.getDeclaringClass()).computeIfAbsent(method, Setter::new);
+    }
+
+    @SuppressWarnings("unchecked") // P is the type of field, so all well here
+    private static <T, P> Function<T, P> buildGetter(Method method) {
+        try {
+            final MethodHandles.Lookup lookup = lookupFor(method);
+            final MethodHandle handle = lookup.unreflect(method);
+            final CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle, handle.type().wrap());
+            final Function<T, P> direct = (Function<T, P>) site.getTarget().invoke();
+            return t -> {
+                try {
+                    return direct.apply(t);
+                } catch (Exception ex) { // NOSONAR checked exceptions are not declared, but can be thrown
+                    throw accessFailed(method, ex);
+                }
+            };
+        } catch (Throwable e) { // NOSONAR anything that goes wrong here means the method cannot be called directly
+            LOGGER.debug("cannot access {} directly, falling back to reflection", method, e);
+            return t -> {
+                try {
+                    return (P) method.invoke(t);
+                } catch (IllegalAccessException | IllegalArgumentException | NullPointerException ex) {
+                    // arguments that cannot be passed (like null for a primitive) fail before the method is called
+                    throw accessFailed(method, ex);
+                } catch (InvocationTargetException ex) {
+                    throw accessFailed(method, ex.getCause());
+                }
+            };
+        }
+    }
+
+    @SuppressWarnings("unchecked") // types are ensured by the caller
+    private static <T, P> BiConsumer<T, P> buildSetter(Method method) {
+        try {
+            final MethodHandles.Lookup lookup = lookupFor(method);
+            final MethodHandle handle = lookup.unreflect(method);
+            final CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    handle, handle.type().wrap().changeReturnType(void.class));
+            final BiConsumer<T, P> direct = (BiConsumer<T, P>) site.getTarget().invoke();
+            return (t, p) -> {
+                try {
+                    direct.accept(t, p);
+                } catch (Exception ex) { // NOSONAR checked exceptions are not declared, but can be thrown
+                    throw accessFailed(method, ex);
+                }
+            };
+        } catch (Throwable e) { // NOSONAR anything that goes wrong here means the method cannot be called directly
+            LOGGER.debug("cannot access {} directly, falling back to reflection", method, e);
+            return (t, p) -> {
+                try {
+                    method.invoke(t, p);
+                } catch (IllegalAccessException | IllegalArgumentException | NullPointerException ex) {
+                    // arguments that cannot be passed (like null for a primitive) fail before the method is called
+                    throw accessFailed(method, ex);
+                } catch (InvocationTargetException ex) {
+                    throw accessFailed(method, ex.getCause());
+                }
+            };
+        }
+    }
+
+    /**
+     * Wraps a problem with calling a method, so that the same exception is thrown regardless of how the method is called.
+     * Errors are not wrapped.
+     * @param method Method that was called.
+     * @param cause What was thrown.
+     * @return An exception to throw.
+     */
+    private static IllegalStateException accessFailed(Method method, Throwable cause) {
+        if(cause instanceof Error error)
+            throw error;
+        return new IllegalStateException("cannot access method "+method.getName(), cause);
+    }
+
+    /**
+     * Obtains a lookup with private access to the class that declares the method, so that generated classes can be defined next to it.
+     * @param method Method.
+     * @return A lookup.
+     * @throws IllegalAccessException When the access is denied.
+     */
+    private static MethodHandles.Lookup lookupFor(Method method) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+    }
+
+    private MethodAccessors() {
+        // no instances allowed
+    }
+}
@@ -0,0 +1,126 @@
+package org.vaadin.miki.superfields.object.reflect;
+
+import com.vaadin.flow.function.SerializableBiConsumer;
+import com.vaadin.flow.function.SerializableFunction;
+import org.vaadin.miki.util.ReflectTools;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Results of scanning a type for fields with getters and setters, shared by all {@link ReflectivePropertyProvider}s.
+ * The scans are kept in a {@link ClassValue}, so they are computed once per type, are safe to use from many threads
+ * and do not prevent unloading of the scanned type (and its class loader) when it is no longer needed.
+ * Fields annotated with {@link Ignore} are not included.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+final class PropertyScan {
+
+    private static final ClassValue<PropertyScan> SCANS = new ClassValue<>() {
+        @Override
+        protected PropertyScan computeValue(Class<?> type) {
+            return new PropertyScan(type);
+        }
+    };
+
+    /**
+     * Returns the scan of a given type, scanning the type if needed.
+     * @param type Type to scan.
+     * @return A scan.
+     */
+    static PropertyScan of(Class<?> type) {
+        return SCANS.get(type);
+    }
+
+    /**
+     * A field with its accessors.
+     */
+    static final class ScannedField {
+        private final Field field;
+        private final Method getter;
+        private final Method setter;
+        private final SerializableFunction<Object, Object> getterFunction;
+        private final SerializableBiConsumer<Object, Object> setterFunction;
+
+        private ScannedField(Field field, Method getter, Method setter) {
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+            this.getterFunction = getter == null ? null : MethodAccessors.getter(getter);
+            this.setterFunction = setter == null ? null : MethodAccessors.setter(setter);
+        }
+
+        Field getField() {
+            return field;
+        }
+
+        Method getGetter() {
+            return getter;
+        }
+
+        Method getSetter() {
+            return setter;
+        }
+
+        /**
+         * Returns a function that calls the getter.
+         * @return A function, or {@code null} when there is no getter.
+         */
+        SerializableFunction<Object, Object> getGetterFunction() {
+            return getterFunction;
+        }
+
+        /**
+         * Returns a function that calls the setter.
+         * @return A function, or {@code null} when there is no setter.
+         */
+        SerializableBiConsumer<Object, Object> getSetterFunction() {
+            return setterFunction;
+        }
+
+        /**
+         * Checks whether the field is marked with {@link UseActualType}.
+         * @return Whether the actual type of the value should be used.
+         */
+        boolean isUsingActualType() {
+            return this.field.isAnnotationPresent(UseActualType.class);
+        }
+    }
+
+    private final List<ScannedField> fields;
+
+    private final boolean usingActualTypes;
+
+    /**
+     * Scans a given type. This always scans, so {@link #of(Class)} should be used instead to get a shared scan.
+     * @param type Type to scan.
+     */
+    PropertyScan(Class<?> type) {
+        this.fields = ReflectTools.extractFieldsWithMethods(type, type.isAnnotationPresent(DoNotScanSuperclasses.class)).entrySet()
+                .stream()
+                .filter(fieldEntry -> !fieldEntry.getKey().isAnnotationPresent(Ignore.class))
+                .map(fieldEntry -> new ScannedField(fieldEntry.getKey(), fieldEntry.getValue()[ReflectTools.GETTER_INDEX], fieldEntry.getValue()[ReflectTools.SETTER_INDEX]))
+                .toList();
+        this.usingActualTypes = this.fields.stream().anyMatch(ScannedField::isUsingActualType);
+    }
+
+    /**
+     * Returns the fields found in the type.
+     * @return An unmodifiable list of fields.
+     */
+    List<ScannedField> getFields() {
+        return fields;
+    }
+
+    /**
+     * Checks whether any field is marked with {@link UseActualType}, in which case the properties depend on the instance.
+     * @return Whether actual types of values are needed.
+     */
+    boolean isUsingActualTypes() {
+        return usingActualTypes;
+    }
+
+}
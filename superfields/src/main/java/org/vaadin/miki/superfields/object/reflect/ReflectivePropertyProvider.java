@@ -9,26 +9,25 @@ import org.vaadin.miki.superfields.object.PropertyProvider;
 import org.vaadin.miki.util.ReflectTools;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Simple reflection-based definition provider.
  * It scans a given type for {@code private} fields (including {@code final}) and corresponding setters and/or getters.
  * Delegates the scanning to {@link ReflectTools#extractFieldsWithMethods(Class, boolean)}.
+ * Results of scanning, along with getters and setters, are shared by all instances of this class.
  * Superclasses are by default included, unless {@link DoNotScanSuperclasses} is used on the type.
  * All fields are included in the results, except fields annotated with {@link Ignore}.
  * The declared field types are used, unless {@link UseActualType} is used, in which case the actual type of the field's value is used.
- * The results are cached, except when a type has {@link UseActualType} annotation on any of its fields.
+ * The resulting properties are cached per instance (as they depend on {@link MetadataProvider}s and other settings),
+ * except when a type has {@link UseActualType} annotation on any of its fields.
+ * Getters and setters call the methods directly whenever the access to the type is allowed, and fall back to reflection otherwise.
  *
  * @author miki
  * @since 2022-06-03
@@ -37,8 +36,7 @@ public class ReflectivePropertyProvider implements PropertyProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ReflectivePropertyProvider.class);
 
-    private final Map<Class<?>, List<Property<?, ?>>> cache = new HashMap<>();
-    private final Set<Class<?>> notCachedTypes = new HashSet<>();
+    private final Map<Class<?>, List<Property<?, ?>>> cache = new ConcurrentHashMap<>();
 
     private final List<MetadataProvider> metadataProviders = new ArrayList<>();
 
@@ -48,70 +46,57 @@ public class ReflectivePropertyProvider implements PropertyProvider {
     @Override
     @SuppressWarnings("unchecked") // should be fine
     public <T> List<Property<T, ?>> getObjectPropertyDefinitions(Class<T> type, T instance) {
-        if(instance != null)
-            type = (Class<T>) instance.getClass();
-        // cache will contain the type anyway, but this explicitly forces recreating the definition
-        if(this.notCachedTypes.contains(type))
-            return this.buildProperties(type, instance);
-        else return (List<Property<T,?>>)(List<?>) this.cache.computeIfAbsent(type, t -> (List<Property<?,?>>)(List<?>) this.buildProperties(t, instance));
+        final Class<T> actualType = instance == null ? type : (Class<T>) instance.getClass();
+        final PropertyScan scan = PropertyScan.of(actualType);
+        // cache is not used when properties depend on the instance
+        if(scan.isUsingActualTypes())
+            return this.buildProperties(actualType, scan, instance);
+        else return (List<Property<T,?>>)(List<?>) this.cache.computeIfAbsent(actualType, t -> (List<Property<?,?>>)(List<?>) this.buildProperties(actualType, scan, null));
     }
 
     @SuppressWarnings("squid:S6204") // this needs to be ? not Object (?)
-    private <T> List<Property<T, ?>> buildProperties(Class<T> type, Object instance) {
-        return ReflectTools.extractFieldsWithMethods(type, type.isAnnotationPresent(DoNotScanSuperclasses.class)).entrySet()
+    private <T> List<Property<T, ?>> buildProperties(Class<T> type, PropertyScan scan, Object instance) {
+        return scan.getFields()
                 .stream()
-                .filter(fieldEntry -> !fieldEntry.getKey().isAnnotationPresent(Ignore.class))
-                .map(fieldEntry -> {
+                .map(scannedField -> {
                     Object fieldValue = null;
-                    if(fieldEntry.getKey().isAnnotationPresent(UseActualType.class)) {
+                    if(instance != null && scannedField.isUsingActualType() && scannedField.getGetterFunction() != null) {
                         try {
-                            this.notCachedTypes.add(type); // do not cache the type
-                            fieldValue = instance == null || fieldEntry.getValue()[ReflectTools.GETTER_INDEX] == null ? null : fieldEntry.getValue()[ReflectTools.GETTER_INDEX].invoke(instance);
-
-                        } catch (IllegalAccessException | InvocationTargetException e) {
-                            LOGGER.warn("could not determine the actual type for field {}.{}; using declared type {} instead", type, fieldEntry.getKey().getName(), fieldEntry.getKey().getType().getSimpleName(), e);
+                            fieldValue = scannedField.getGetterFunction().apply(instance);
+                        } catch (RuntimeException e) {
+                            LOGGER.warn("could not determine the actual type for field {}.{}; using declared type {} instead", type, scannedField.getField().getName(), scannedField.getField().getType().getSimpleName(), e);
                         }
                     }
-                    return this.buildDefinition(type, fieldEntry.getKey(), fieldValue == null ? fieldEntry.getKey().getType() : fieldValue.getClass(), fieldEntry.getValue()[ReflectTools.GETTER_INDEX], fieldEntry.getValue()[ReflectTools.SETTER_INDEX]);
+                    return this.buildDefinition(type, scannedField, fieldValue == null ? scannedField.getField().getType() : fieldValue.getClass());
                 })
             .collect(Collectors.toList());
     }
 
-    private <T, P> SerializableBiConsumer<T, P> getSetterFromMethod(Method method) {
-        if(method != null)
-            return (t, o) -> {
-                try {
-                    method.invoke(t, o);
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    throw new IllegalStateException("cannot access method "+method.getName(), e);
-                }
-            };
+    @SuppressWarnings("unchecked") // setter accepts the type of the field
+    private <T, P> SerializableBiConsumer<T, P> getSetter(PropertyScan.ScannedField scannedField) {
+        if(scannedField.getSetterFunction() != null)
+            return (SerializableBiConsumer<T, P>) scannedField.getSetterFunction();
         else if(this.isUsingFakeSettersWhenNotPresent())
             return (t, p) -> {};
         else return null;
     }
 
     @SuppressWarnings("unchecked") // P is the type of field, so all well here
-    private <T, P> SerializableFunction<T, P> getGetterFromMethod(Method method) {
-        if(method != null)
-            return t -> {
-                try {
-                    return (P) method.invoke(t);
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    throw new IllegalStateException(e);
-                }
-            };
+    private <T, P> SerializableFunction<T, P> getGetter(PropertyScan.ScannedField scannedField) {
+        if(scannedField.getGetterFunction() != null)
+            return (SerializableFunction<T, P>) scannedField.getGetterFunction();
         else if(this.isUsingFakeGettersWhenNotPresent())
             return t -> null;
         else return null;
     }
 
     @SuppressWarnings("unchecked")
-    private <T, P> Property<T, P> buildDefinition(Class<T> type, Field field, Class<?> fieldType, Method getter, Method setter) {
+    private <T, P> Property<T, P> buildDefinition(Class<T> type, PropertyScan.ScannedField scannedField, Class<?> fieldType) {
+        final Field field = scannedField.getField();
         return new Property<>(type, field.getName(), (Class<P>) fieldType,
-                this.getSetterFromMethod(setter),
-                this.getGetterFromMethod(getter),
-                this.metadataProviders.stream().flatMap(provider -> provider.getMetadata(field.getName(), field, setter, getter).stream()).toList()
+                this.getSetter(scannedField),
+                this.getGetter(scannedField),
+                this.metadataProviders.stream().flatMap(provider -> provider.getMetadata(field.getName(), field, scannedField.getSetter(), scannedField.getGetter()).stream()).toList()
         );
     }
 
@@ -0,0 +1,97 @@
+package org.vaadin.miki.superfields.object.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vaadin.miki.superfields.object.Property;
+import org.vaadin.miki.superfields.object.PropertyProvider;
+import org.vaadin.miki.superfields.util.factory.GeneratePropertyProvider;
+import org.vaadin.miki.util.ReflectTools;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link PropertyProvider} that uses providers generated at compile time for types marked with {@link GeneratePropertyProvider}.
+ * All other types are handled by a fallback provider.
+ * Generated providers are found by their name (see {@link #getGeneratedClassName(Class)}) once per type, and then reused.
+ *
+ * @author miki
+ * @since 2026-10-18
+ */
+public class GeneratedPropertyProvider implements PropertyProvider {
+
+    /**
+     * Suffix added to the name of a type to get the name of its generated provider.
+     */
+    public static final String GENERATED_CLASS_SUFFIX = "_PropertyProvider";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeneratedPropertyProvider.class);
+
+    private static final ClassValue<Optional<PropertyProvider>> GENERATED_PROVIDERS = new ClassValue<>() {
+        @Override
+        protected Optional<PropertyProvider> computeValue(Class<?> type) {
+            if(!type.isAnnotationPresent(GeneratePropertyProvider.class))
+                return Optional.empty();
+            final String name = getGeneratedClassName(type);
+            try {
+                final Class<?> providerType = Class.forName(name, true, type.getClassLoader());
+                if(PropertyProvider.class.isAssignableFrom(providerType))
+                    return Optional.of((PropertyProvider) ReflectTools.newInstance(providerType));
+                LOGGER.warn("{} is not a PropertyProvider; it will not be used for {}", name, type.getName());
+            } catch (ClassNotFoundException e) {
+                LOGGER.warn("{} is marked with @GeneratePropertyProvider, but {} was not found; is the annotation processor configured?", type.getName(), name);
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("could not create {}; it will not be used for {}", name, type.getName(), e);
+            }
+            return Optional.empty();
+        }
+    };
+
+    /**
+     * Returns the name of the provider generated for a given type. It is in the same package as the type,
+     * and it is named after the type (including enclosing types, separated with {@code _}), with {@link #GENERATED_CLASS_SUFFIX} appended.
+     * The annotation processor does not generate providers for marked types that would end up with the same name.
+     * @param type Type.
+     * @return Fully qualified name of the generated class.
+     */
+    public static String getGeneratedClassName(Class<?> type) {
+        return type.getName().replace('$', '_') + GENERATED_CLASS_SUFFIX;
+    }
+
+    /**
+     * Finds the provider generated for a given type.
+     * @param type Type.
+     * @return The provider, if the type is marked with {@link GeneratePropertyProvider} and the provider was generated.
+     */
+    public static Optional<PropertyProvider> findGeneratedProvider(Class<?> type) {
+        return GENERATED_PROVIDERS.get(type);
+    }
+
+    private final PropertyProvider fallbackProvider;
+
+    /**
+     * Creates the provider.
+     * @param fallbackProvider Provider to use for types that have no generated providers. Must not be {@code null}.
+     */
+    public GeneratedPropertyProvider(PropertyProvider fallbackProvider) {
+        this.fallbackProvider = Objects.requireNonNull(fallbackProvider);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked") // should be fine
+    public <T> List<Property<T, ?>> getObjectPropertyDefinitions(Class<T> type, T instance) {
+        final Class<T> actualType = instance == null ? type : (Class<T>) instance.getClass();
+        return findGeneratedProvider(actualType)
+                .map(provider -> provider.getObjectPropertyDefinitions(actualType, instance))
+                .orElseGet(() -> this.fallbackProvider.getObjectPropertyDefinitions(type, instance));
+    }
+
+    /**
+     * Returns the provider used for types that have no generated providers.
+     * @return The fallback provider.
+     */
+    public PropertyProvider getFallbackProvider() {
+        return fallbackProvider;
+    }
+}
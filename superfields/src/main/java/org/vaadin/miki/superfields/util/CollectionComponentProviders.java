@@ -184,6 +184,28 @@ public class CollectionComponentProviders {
         return (index, controller) -> new Button(text, event -> controller.add());
     }
 
+    /**
+     * A {@link CollectionComponentProvider} that produces a {@link Button} that adds a number of elements to the beginning of the collection
+     * by calling {@link CollectionController#addAll(int, int)} with {@code 0} as the first parameter.
+     * @param text Text to appear on the button.
+     * @param count Number of elements to add.
+     * @return A {@link CollectionComponentProvider} that produces a {@link Button}.
+     */
+    public static CollectionComponentProvider<Button> addFirstButton(String text, int count) {
+        return (index, controller) -> new Button(text, event -> controller.addAll(0, count));
+    }
+
+    /**
+     * A {@link CollectionComponentProvider} that produces a {@link Button} that adds a number of elements to the end of the collection
+     * by calling {@link CollectionController#addAll(int, int)} with {@link CollectionController#size()} as the first parameter.
+     * @param text Text to appear on the button.
+     * @param count Number of elements to add.
+     * @return A {@link CollectionComponentProvider} that produces a {@link Button}.
+     */
+    public static CollectionComponentProvider<Button> addLastButton(String text, int count) {
+        return (index, controller) -> new Button(text, event -> controller.addAll(controller.size(), count));
+    }
+
     /**
      * A {@link CollectionComponentProvider} that produces an {@link IndexedButton} that removes a given element from the collection by calling {@link CollectionController#remove(int)}.
      * @param text Text to appear on the button.
@@ -0,0 +1,269 @@
+package org.vaadin.miki.superfields.util.factory;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.HasValue;
+import com.vaadin.flow.function.SerializableFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vaadin.miki.superfields.object.ComponentConfigurator;
+import org.vaadin.miki.superfields.object.ComponentGroupConfigurator;
+import org.vaadin.miki.superfields.object.ObjectField;
+import org.vaadin.miki.superfields.object.Property;
+import org.vaadin.miki.superfields.object.PropertyComponentBuilder;
+import org.vaadin.miki.superfields.object.PropertyGroupLayoutProvider;
+import org.vaadin.miki.superfields.object.PropertyGroupingProvider;
+import org.vaadin.miki.superfields.object.PropertyMetadata;
+import org.vaadin.miki.superfields.object.PropertyProvider;
+import org.vaadin.miki.superfields.object.builder.FieldBuilder;
+import org.vaadin.miki.superfields.object.builder.SimplePropertyComponentBuilder;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Everything {@link ObjectFieldFactory} uses to configure {@link ObjectField}s of a given type, prepared once and shared by all such fields.
+ * Apart from the providers and configurators, the plan records, for each property known when it was made, the resolved {@link FieldBuilder},
+ * the label, the group, the position and the style names. Building another field of the same type then only instantiates components.
+ * Properties that were not known when the plan was made (for example, those that depend on the actual type of the value) are handled by the providers, as usual.
+ * Plans are immutable; they are obtained with {@link ObjectFieldFactory#getFormPlan(Class)}.
+ *
+ * @param <T> Type of object the plan is for.
+ * @author miki
+ * @since 2026-10-18
+ */
+public final class FormPlan<T> implements Serializable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FormPlan.class);
+
+    /**
+     * Resolved information about a single property.
+     */
+    public static final class PropertyPlan implements Serializable {
+
+        private final Property<?, ?> property;
+        private final FieldBuilder<?> fieldBuilder;
+        private final String label;
+        private final String group;
+        private final int position;
+        private final String[] styleNames;
+
+        private PropertyPlan(Property<?, ?> property, FieldBuilder<?> fieldBuilder, String label, String group, int position, String[] styleNames) {
+            this.property = property;
+            this.fieldBuilder = fieldBuilder;
+            this.label = label;
+            this.group = group;
+            this.position = position;
+            this.styleNames = styleNames;
+        }
+
+        /**
+         * Returns the property this plan is for.
+         * @return A property.
+         */
+        public Property<?, ?> getProperty() {
+            return property;
+        }
+
+        /**
+         * Returns the builder used to build components for the property.
+         * @return A {@link FieldBuilder}, if the component builder is a {@link SimplePropertyComponentBuilder}.
+         */
+        public Optional<FieldBuilder<?>> getFieldBuilder() {
+            return Optional.ofNullable(fieldBuilder);
+        }
+
+        /**
+         * Returns the label of components for the property.
+         * @return The label.
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Returns the name of the group the property belongs to.
+         * @return Name of the group.
+         */
+        public String getGroup() {
+            return group;
+        }
+
+        /**
+         * Returns the position of the property among all properties of the type, after sorting.
+         * @return Position, starting from {@code 0}.
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        /**
+         * Returns the style names to add to components for the property.
+         * @return A non-{@code null}, but possibly empty, array of style names.
+         */
+        public String[] getStyleNames() {
+            return styleNames.clone();
+        }
+    }
+
+    private final Class<T> dataType;
+    private final PropertyProvider propertyProvider;
+    private final PropertyGroupingProvider groupingProvider;
+    private final PropertyComponentBuilder componentBuilder;
+    private final PropertyGroupLayoutProvider groupLayoutProvider;
+    private final List<ComponentConfigurator<T>> componentConfigurators;
+    private final List<ComponentGroupConfigurator> groupConfigurators;
+
+    private final Map<Property<?, ?>, PropertyPlan> propertyPlans;
+    private final Map<String, List<Property<T, ?>>> groups;
+
+    FormPlan(Class<T> dataType, PropertyProvider propertyProvider, PropertyGroupingProvider groupingProvider, PropertyComponentBuilder componentBuilder,
+             PropertyGroupLayoutProvider groupLayoutProvider, Collection<ComponentConfigurator<T>> componentConfigurators, Collection<ComponentGroupConfigurator> groupConfigurators,
+             SerializableFunction<Property<?, ?>, String> labelProvider) {
+        this.dataType = dataType;
+        this.propertyProvider = propertyProvider;
+        this.groupingProvider = groupingProvider;
+        this.componentBuilder = componentBuilder;
+        this.groupLayoutProvider = groupLayoutProvider;
+        this.componentConfigurators = List.copyOf(componentConfigurators);
+        this.groupConfigurators = List.copyOf(groupConfigurators);
+
+        List<Property<T, ?>> definitions;
+        try {
+            definitions = new ArrayList<>(propertyProvider.getObjectPropertyDefinitions(dataType, null));
+        } catch (RuntimeException e) {
+            LOGGER.debug("properties of {} could not be obtained in advance: \"{}\"", dataType.getSimpleName(), e.getMessage());
+            definitions = new ArrayList<>();
+        }
+        // grouping sorts the definitions, so after that their positions are known
+        final Map<String, List<Property<T, ?>>> groupsFound = new LinkedHashMap<>();
+        groupingProvider.groupDefinitions(definitions).forEach((name, contents) -> groupsFound.put(name, List.copyOf(contents)));
+        this.groups = Collections.unmodifiableMap(groupsFound);
+        final Map<Property<?, ?>, Integer> positions = new IdentityHashMap<>();
+        for (int zmp1 = 0; zmp1 < definitions.size(); zmp1++)
+            positions.put(definitions.get(zmp1), zmp1);
+        // properties are found by identity, as they usually are the same objects each time they are obtained from the provider
+        final Map<Property<?, ?>, PropertyPlan> plans = new IdentityHashMap<>();
+        this.groups.forEach((name, contents) -> contents.forEach(property -> plans.put(property, new PropertyPlan(property,
+                componentBuilder instanceof SimplePropertyComponentBuilder simple ? simple.findFieldBuilder(property) : null,
+                labelProvider.apply(property),
+                name,
+                positions.getOrDefault(property, -1),
+                getStyleNames(property)))));
+        this.propertyPlans = Collections.unmodifiableMap(plans);
+        LOGGER.debug("form plan for {} made with {} properties in {} groups", dataType.getSimpleName(), this.propertyPlans.size(), this.groups.size());
+    }
+
+    private static String[] getStyleNames(Property<?, ?> property) {
+        final PropertyMetadata metadata = property.getMetadata().get(MetadataProperties.COMPONENT_STYLE_METADATA_PROPERTY);
+        return metadata != null && metadata.hasValueOfType(String[].class) ? ((String[]) metadata.getValue()).clone() : new String[0];
+    }
+
+    /**
+     * Returns the type this plan is for.
+     * @return Type.
+     */
+    public Class<T> getDataType() {
+        return dataType;
+    }
+
+    /**
+     * Finds the plan of a given property.
+     * @param property Property. It must be the very same object that was known when this plan was made.
+     * @return A {@link PropertyPlan}, if the property is known.
+     */
+    public Optional<PropertyPlan> findPropertyPlan(Property<?, ?> property) {
+        return Optional.ofNullable(this.propertyPlans.get(property));
+    }
+
+    /**
+     * Returns plans of all properties known in advance.
+     * @return An unmodifiable collection of {@link PropertyPlan}s.
+     */
+    public Collection<PropertyPlan> getPropertyPlans() {
+        return this.propertyPlans.values();
+    }
+
+    /**
+     * Returns the provider of properties.
+     * @return A {@link PropertyProvider}.
+     */
+    public PropertyProvider getPropertyProvider() {
+        return propertyProvider;
+    }
+
+    /**
+     * Returns a grouping provider that reuses the groups found when this plan was made, as long as the properties are the same.
+     * Otherwise, the original grouping provider is used.
+     * @return A {@link PropertyGroupingProvider}.
+     */
+    public PropertyGroupingProvider getGroupingProvider() {
+        return new PropertyGroupingProvider() {
+            @Override
+            @SuppressWarnings("unchecked") // should be fine, the plan is for the same type
+            public <X> Map<String, List<Property<X, ?>>> groupDefinitions(List<Property<X, ?>> definitions) {
+                if (!isPlanned(definitions))
+                    return groupingProvider.groupDefinitions(definitions);
+                // grouping providers are expected to sort the definitions
+                definitions.sort(Comparator.comparingInt(property -> propertyPlans.get(property).getPosition()));
+                final Map<String, List<Property<X, ?>>> result = new LinkedHashMap<>();
+                groups.forEach((name, contents) -> result.put(name, new ArrayList<>((List<Property<X, ?>>) (List<?>) contents)));
+                return result;
+            }
+        };
+    }
+
+    private boolean isPlanned(List<? extends Property<?, ?>> definitions) {
+        return definitions.size() == this.propertyPlans.size() && definitions.stream().allMatch(this.propertyPlans::containsKey);
+    }
+
+    /**
+     * Returns a component builder that uses {@link FieldBuilder}s resolved when this plan was made.
+     * For properties that are not known, the original component builder is used.
+     * @return A {@link PropertyComponentBuilder}.
+     */
+    public PropertyComponentBuilder getComponentBuilder() {
+        if (!(this.componentBuilder instanceof SimplePropertyComponentBuilder simple))
+            return this.componentBuilder;
+        return new PropertyComponentBuilder() {
+            @Override
+            @SuppressWarnings("unchecked") // the builder was resolved for this very property
+            public <P, C extends Component & HasValue<?, P>> Optional<C> buildPropertyField(Property<?, P> property) {
+                final PropertyPlan plan = propertyPlans.get(property);
+                return plan == null ? simple.buildPropertyField(property) : simple.buildPropertyField(property, (FieldBuilder<P>) plan.fieldBuilder);
+            }
+        };
+    }
+
+    /**
+     * Returns the provider of group layouts.
+     * @return A {@link PropertyGroupLayoutProvider}.
+     */
+    public PropertyGroupLayoutProvider getGroupLayoutProvider() {
+        return groupLayoutProvider;
+    }
+
+    /**
+     * Returns component configurators.
+     * @return An unmodifiable list of {@link ComponentConfigurator}s.
+     */
+    public List<ComponentConfigurator<T>> getComponentConfigurators() {
+        return componentConfigurators;
+    }
+
+    /**
+     * Returns component group configurators.
+     * @return An unmodifiable list of {@link ComponentGroupConfigurator}s.
+     */
+    public List<ComponentGroupConfigurator> getGroupConfigurators() {
+        return groupConfigurators;
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.vaadin.miki.superfields.util.factory;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a type for which a {@link org.vaadin.miki.superfields.object.PropertyProvider} should be generated at compile time.
+ * This requires the {@code superfields-processor} annotation processor; without it, the annotation has no effect.
+ * The generated provider is named after the type, with {@code _PropertyProvider} appended, and it is used automatically by {@link ObjectFieldFactory}.
+ * Enclosing types are separated with {@code _}, so marking both {@code Outer.Inner} and {@code Outer_Inner} in the same package is a compilation error.
+ * @author miki
+ * @since 2026-10-18
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface GeneratePropertyProvider {
+
+}
@@ -37,6 +37,7 @@ import org.vaadin.miki.superfields.object.builder.FieldBuilder;
 import org.vaadin.miki.superfields.object.builder.SimplePropertyComponentBuilder;
 import org.vaadin.miki.superfields.object.reflect.AnnotationMetadataProvider;
 import org.vaadin.miki.superfields.object.reflect.ReflectivePropertyProvider;
+import org.vaadin.miki.superfields.object.util.GeneratedPropertyProvider;
 import org.vaadin.miki.superfields.object.util.MetadataBasedGroupingProvider;
 import org.vaadin.miki.superfields.text.LabelField;
 import org.vaadin.miki.superfields.text.SuperTextArea;
@@ -59,6 +60,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Configures {@link ObjectField} to work "out of the box" for most common use cases.
@@ -99,6 +101,10 @@ public class ObjectFieldFactory {
   private final Map<Class<?>, SerializableSupplier<?>> emptyCollectionSuppliers = new HashMap<>();
   private SerializableSupplier<Map<?, ?>> emptyMapSupplier = LinkedHashMap::new;
 
+  private final Map<Class<?>, FormPlan<?>> formPlans = new ConcurrentHashMap<>();
+
+  private boolean lazyGroups = false;
+
   /**
    * Constructs the factory.
    */
@@ -201,14 +207,10 @@ public class ObjectFieldFactory {
             property -> property.getMetadata().containsKey(MetadataProperties.AVAILABLE_ITEMS_METADATA_PROPERTY) && property.getMetadata().get(MetadataProperties.AVAILABLE_ITEMS_METADATA_PROPERTY).hasValueOfType(Collection.class) && !property.getMetadata().containsKey(MetadataProperties.COLLECTION_ELEMENT_TYPE_METADATA_PROPERTY),
             property -> new ComboBox<>("", (List<Object>) property.getMetadata().get(MetadataProperties.AVAILABLE_ITEMS_METADATA_PROPERTY).getValue())
         )
-        .withRegisteredType(Boolean.class, Checkbox::new)
-        .withRegisteredType(boolean.class, Checkbox::new)
-        .withRegisteredType(Integer.class, SuperIntegerField::new)
-        .withRegisteredType(int.class, SuperIntegerField::new)
-        .withRegisteredType(Long.class, SuperLongField::new)
-        .withRegisteredType(long.class, SuperLongField::new)
-        .withRegisteredType(Double.class, SuperDoubleField::new)
-        .withRegisteredType(double.class, SuperDoubleField::new)
+        .withRegisteredTypeIgnoringBoxing(Boolean.class, Checkbox::new)
+        .withRegisteredTypeIgnoringBoxing(Integer.class, SuperIntegerField::new)
+        .withRegisteredTypeIgnoringBoxing(Long.class, SuperLongField::new)
+        .withRegisteredTypeIgnoringBoxing(Double.class, SuperDoubleField::new)
         .withRegisteredType(BigDecimal.class, SuperBigDecimalField::new)
         .withRegisteredType(LocalDate.class, SuperDatePicker::new)
         .withRegisteredType(LocalDateTime.class, SuperDateTimePicker::new)
@@ -256,6 +258,8 @@ public class ObjectFieldFactory {
    * <li>{@link BuildFieldWith} is mapped to {@link MetadataProperties#COMPONENT_BUILDER_METADATA_PROPERTY}</li>
    * </ul>
    * In addition fields without a setter are marked with {@link MetadataProperties#READ_ONLY_METADATA_PROPERTY}, and collections and maps using {@link MetadataProperties#COLLECTION_ELEMENT_TYPE_METADATA_PROPERTY}, {@link MetadataProperties#MAP_KEY_TYPE_METADATA_PROPERTY} and {@link MetadataProperties#MAP_VALUE_TYPE_METADATA_PROPERTY}.
+   * The result is then passed to {@link #buildAndConfigureGeneratedPropertyProvider(PropertyProvider)}.
+   * The annotation processor in {@code superfields-processor} generates the same metadata at compile time, so any change here must be made there as well.
    *
    * @return A {@link ReflectivePropertyProvider}.
    */
@@ -298,6 +302,18 @@ public class ObjectFieldFactory {
     );
   }
 
+  /**
+   * Wraps the provider built by {@link #buildAndConfigurePropertyProvider()}, so that types marked with {@link GeneratePropertyProvider}
+   * use the providers generated for them at compile time (with the same metadata as configured by default), when such providers are present.
+   * Override this method and return the given provider to always use it.
+   *
+   * @param fallbackProvider Provider built by {@link #buildAndConfigurePropertyProvider()}, used for all other types.
+   * @return A {@link GeneratedPropertyProvider}.
+   */
+  protected PropertyProvider buildAndConfigureGeneratedPropertyProvider(PropertyProvider fallbackProvider) {
+    return new GeneratedPropertyProvider(fallbackProvider);
+  }
+
   /**
    * Builds a {@link PropertyGroupingProvider} based on presence of {@link MetadataProperties#GROUP_METADATA_PROPERTY} and {@link MetadataProperties#ORDER_METADATA_PROPERTY}.
    *
@@ -309,9 +325,22 @@ public class ObjectFieldFactory {
         .withSortingMetadataName(MetadataProperties.ORDER_METADATA_PROPERTY);
   }
 
+  /**
+   * Builds the label of a component for a given property: the value of {@link MetadataProperties#CAPTION_METADATA_PROPERTY} or, when there is none, the human-readable name of the property.
+   *
+   * @param definition Property.
+   * @return The label.
+   */
+  protected String buildLabel(Property<?, ?> definition) {
+    final Map<String, PropertyMetadata> metadataMap = definition.getMetadata();
+    if (metadataMap.containsKey(MetadataProperties.CAPTION_METADATA_PROPERTY) && metadataMap.get(MetadataProperties.CAPTION_METADATA_PROPERTY).getValue() != null)
+      return metadataMap.get(MetadataProperties.CAPTION_METADATA_PROPERTY).getValue().toString();
+    else return StringTools.humanReadable(definition.getName());
+  }
+
   /**
    * Builds {@link ComponentConfigurator}s for a given data type:<ul>
-   * <li>components have their label set up according to {@link MetadataProperties#CAPTION_METADATA_PROPERTY} or the field name</li>
+   * <li>components have their label set up according to {@link MetadataProperties#CAPTION_METADATA_PROPERTY} or the field name (see {@link #buildLabel(Property)})</li>
    * <li>components are set to read only based on {@link MetadataProperties#READ_ONLY_METADATA_PROPERTY}</li>
    * <li>components have their style names set up according to {@link MetadataProperties#COMPONENT_STYLE_METADATA_PROPERTY}</li>
    * <li>components have their id set according to {@link MetadataProperties#COMPONENT_ID_METADATA_PROPERTY}</li>
@@ -323,18 +352,16 @@ public class ObjectFieldFactory {
    */
   protected <T> Collection<ComponentConfigurator<T>> buildComponentConfigurators(Class<T> dataType) {
     return Arrays.asList(
-        (object, definition, component) -> {
-          final Map<String, PropertyMetadata> metadataMap = definition.getMetadata();
-          if (metadataMap.containsKey(MetadataProperties.CAPTION_METADATA_PROPERTY) && metadataMap.get(MetadataProperties.CAPTION_METADATA_PROPERTY).getValue() != null)
-            setLabel(component, metadataMap.get(MetadataProperties.CAPTION_METADATA_PROPERTY).getValue().toString());
-          else setLabel(component, StringTools.humanReadable(definition.getName()));
-        },
+        (object, definition, component) -> setLabel(component, this.findPropertyPlan(dataType, definition).map(FormPlan.PropertyPlan::getLabel).orElseGet(() -> this.buildLabel(definition))),
         (object, definition, component) -> {
           if (definition.getMetadata().containsKey(MetadataProperties.READ_ONLY_METADATA_PROPERTY) && definition.getMetadata().get(MetadataProperties.READ_ONLY_METADATA_PROPERTY).getValueType() == boolean.class)
             component.setReadOnly((boolean) definition.getMetadata().get(MetadataProperties.READ_ONLY_METADATA_PROPERTY).getValue());
         },
         (object, definition, component) -> {
-          if (component instanceof HasStyle hasStyle && definition.getMetadata().containsKey(MetadataProperties.COMPONENT_STYLE_METADATA_PROPERTY) && definition.getMetadata().get(MetadataProperties.COMPONENT_STYLE_METADATA_PROPERTY).hasValueOfType(String[].class))
+          final Optional<FormPlan.PropertyPlan> plan = this.findPropertyPlan(dataType, definition);
+          if (component instanceof HasStyle hasStyle && plan.isPresent())
+            hasStyle.addClassNames(plan.get().getStyleNames());
+          else if (component instanceof HasStyle hasStyle && definition.getMetadata().containsKey(MetadataProperties.COMPONENT_STYLE_METADATA_PROPERTY) && definition.getMetadata().get(MetadataProperties.COMPONENT_STYLE_METADATA_PROPERTY).hasValueOfType(String[].class))
             hasStyle.addClassNames((String[]) definition.getMetadata().get(MetadataProperties.COMPONENT_STYLE_METADATA_PROPERTY).getValue());
           if (definition.getMetadata().containsKey(MetadataProperties.COMPONENT_ID_METADATA_PROPERTY) && definition.getMetadata().get(MetadataProperties.COMPONENT_ID_METADATA_PROPERTY).getValue() != null)
             ((Component) component).setId(definition.getMetadata().get(MetadataProperties.COMPONENT_ID_METADATA_PROPERTY).getValue().toString());
@@ -435,25 +462,81 @@ public class ObjectFieldFactory {
   }
 
   /**
-   * Configures a given object field. This will call the following methods, in the given order:<ol>
-   * <li>{@link ObjectField#withPropertyProvider(PropertyProvider)} using {@link #buildAndConfigurePropertyProvider()}</li>
+   * Configures a given object field using the {@link FormPlan} for its type (see {@link #getFormPlan(Class)}).
+   * The plan is made with the following methods, and it is applied in the given order:<ol>
+   * <li>{@link ObjectField#withPropertyProvider(PropertyProvider)} using {@link #buildAndConfigureGeneratedPropertyProvider(PropertyProvider)} on the result of {@link #buildAndConfigurePropertyProvider()}</li>
    * <li>{@link ObjectField#withPropertyGroupingProvider(PropertyGroupingProvider)} using {@link #buildAndConfigureGroupingProvider()}</li>
    * <li>{@link ObjectField#withPropertyComponentBuilder(PropertyComponentBuilder)} using {@link #buildAndConfigureComponentBuilder()}</li>
    * <li>{@link ObjectField#withGroupLayoutProvider(PropertyGroupLayoutProvider)} using {@link #buildAndConfigureGroupLayoutProvider()}</li>
    * <li>{@link ObjectField#withComponentConfigurators(Collection)} using {@link #buildComponentConfigurators(Class)}</li>
    * <li>{@link ObjectField#withComponentGroupConfigurators(Collection)} using {@link #buildComponentGroupConfigurators()}</li>
    * </ol>
+   * Note that the providers and configurators are shared by all fields of the same type, so they should not be modified through the field.
+   * Finally, {@link ObjectField#setLazyGroups(boolean)} is called with {@link #isLazyGroups()}.
    *
    * @param objectField The passed parameter, but with the above-mentioned configuration applied.
    * @param <T>         Type of object to display.
    */
   public final <T> ObjectField<T> configureObjectField(ObjectField<T> objectField) {
-    return objectField.withPropertyProvider(this.buildAndConfigurePropertyProvider())
-        .withPropertyGroupingProvider(this.buildAndConfigureGroupingProvider())
-        .withPropertyComponentBuilder(this.buildAndConfigureComponentBuilder())
-        .withGroupLayoutProvider(this.buildAndConfigureGroupLayoutProvider())
-        .withComponentConfigurators(this.buildComponentConfigurators(objectField.getDataType()))
-        .withComponentGroupConfigurators(this.buildComponentGroupConfigurators());
+    final FormPlan<T> plan = this.getFormPlan(objectField.getDataType());
+    return objectField.withPropertyProvider(plan.getPropertyProvider())
+        .withPropertyGroupingProvider(plan.getGroupingProvider())
+        .withPropertyComponentBuilder(plan.getComponentBuilder())
+        .withGroupLayoutProvider(plan.getGroupLayoutProvider())
+        .withComponentConfigurators(plan.getComponentConfigurators())
+        .withComponentGroupConfigurators(plan.getGroupConfigurators())
+        .withLazyGroups(this.isLazyGroups());
+  }
+
+  /**
+   * Makes a new {@link FormPlan} for a given type. This calls all the {@code build...} methods mentioned in {@link #configureObjectField(ObjectField)}.
+   *
+   * @param type Type to make a plan for.
+   * @param <T>  Type of object.
+   * @return A new {@link FormPlan}.
+   */
+  protected <T> FormPlan<T> buildFormPlan(Class<T> type) {
+    return new FormPlan<>(type,
+        this.buildAndConfigureGeneratedPropertyProvider(this.buildAndConfigurePropertyProvider()),
+        this.buildAndConfigureGroupingProvider(),
+        this.buildAndConfigureComponentBuilder(),
+        this.buildAndConfigureGroupLayoutProvider(),
+        this.buildComponentConfigurators(type),
+        this.buildComponentGroupConfigurators(),
+        this::buildLabel
+    );
+  }
+
+  /**
+   * Returns the {@link FormPlan} for a given type. Plans are made once (with {@link #buildFormPlan(Class)}) and then reused,
+   * until the configuration of this factory changes (or {@link #invalidateFormPlans()} is called).
+   *
+   * @param type Type to get the plan for.
+   * @param <T>  Type of object.
+   * @return A {@link FormPlan}.
+   */
+  @SuppressWarnings("unchecked") // should be fine
+  public <T> FormPlan<T> getFormPlan(Class<T> type) {
+    // not computeIfAbsent, as making a plan may need plans of other types
+    final FormPlan<?> existing = this.formPlans.get(type);
+    if (existing != null)
+      return (FormPlan<T>) existing;
+    final FormPlan<T> plan = this.buildFormPlan(type);
+    final FormPlan<?> previous = this.formPlans.putIfAbsent(type, plan);
+    return previous == null ? plan : (FormPlan<T>) previous;
+  }
+
+  /**
+   * Drops all {@link FormPlan}s made so far, so that new ones are made when needed.
+   * This is called by all methods that change the configuration of this factory. Subclasses that have their own configuration should call it as well.
+   */
+  public void invalidateFormPlans() {
+    this.formPlans.clear();
+  }
+
+  private Optional<FormPlan.PropertyPlan> findPropertyPlan(Class<?> type, Property<?, ?> definition) {
+    final FormPlan<?> plan = this.formPlans.get(type);
+    return plan == null ? Optional.empty() : plan.findPropertyPlan(definition);
   }
 
   /**
@@ -465,6 +548,7 @@ public class ObjectFieldFactory {
    */
   public <T> void registerInstanceProvider(Class<T> type, SerializableSupplier<T> supplier) {
     this.instanceSuppliers.put(type, supplier);
+    this.invalidateFormPlans();
   }
 
   /**
@@ -492,6 +576,7 @@ public class ObjectFieldFactory {
    */
   public <E, C extends Collection<E>> void registerEmptyCollectionProvider(Class<C> collectionType, SerializableSupplier<C> supplier) {
     this.emptyCollectionSuppliers.put(collectionType, supplier);
+    this.invalidateFormPlans();
   }
 
   /**
@@ -526,6 +611,7 @@ public class ObjectFieldFactory {
    */
   public void setEmptyMapSupplier(SerializableSupplier<Map<?, ?>> emptyMapSupplier) {
     this.emptyMapSupplier = emptyMapSupplier;
+    this.invalidateFormPlans();
   }
 
   /**
@@ -546,6 +632,7 @@ public class ObjectFieldFactory {
    */
   public void setCollectionFieldLayoutProvider(CollectionLayoutProvider<?> collectionFieldLayoutProvider) {
     this.collectionFieldLayoutProvider = collectionFieldLayoutProvider;
+    this.invalidateFormPlans();
   }
 
   /**
@@ -565,6 +652,7 @@ public class ObjectFieldFactory {
    */
   public void setMapFieldLayoutProvider(CollectionLayoutProvider<?> mapFieldLayoutProvider) {
     this.mapFieldLayoutProvider = mapFieldLayoutProvider;
+    this.invalidateFormPlans();
   }
 
   /**
@@ -586,6 +674,7 @@ public class ObjectFieldFactory {
    */
   public <L extends Component & HasComponents> void setMapEntryFieldLayoutProvider(SerializableSupplier<L> mapEntryFieldLayoutProvider) {
     this.mapEntryFieldLayoutProvider = mapEntryFieldLayoutProvider;
+    this.invalidateFormPlans();
   }
 
   /**
@@ -607,6 +696,7 @@ public class ObjectFieldFactory {
    */
   public <L extends Component & HasComponents> void setObjectFieldLayoutProvider(SerializableSupplier<L> objectFieldLayoutProvider) {
     this.objectFieldLayoutProvider = objectFieldLayoutProvider;
+    this.invalidateFormPlans();
   }
 
   /**
@@ -628,6 +718,7 @@ public class ObjectFieldFactory {
    */
   public <L extends Component & HasComponents> void setObjectFieldGroupLayoutProvider(SerializableSupplier<L> objectFieldGroupLayoutProvider) {
     this.objectFieldGroupLayoutProvider = objectFieldGroupLayoutProvider;
+    this.invalidateFormPlans();
   }
 
   /**
@@ -646,6 +737,7 @@ public class ObjectFieldFactory {
    */
   public void setGroupLayoutStyleNames(Collection<String> groupLayoutStyleNames) {
     this.groupLayoutStyleNames = groupLayoutStyleNames;
+    this.invalidateFormPlans();
   }
 
   /**
@@ -664,5 +756,27 @@ public class ObjectFieldFactory {
    */
   public void setGroupComponentStyleNames(Collection<String> groupComponentStyleNames) {
     this.groupComponentStyleNames = groupComponentStyleNames;
+    this.invalidateFormPlans();
+  }
+
+  /**
+   * Checks whether {@link ObjectField}s configured by this factory build their groups lazily.
+   *
+   * @return Whether groups are built lazily. Defaults to {@code false}.
+   * @see ObjectField#setLazyGroups(boolean)
+   */
+  public boolean isLazyGroups() {
+    return lazyGroups;
+  }
+
+  /**
+   * Controls whether {@link ObjectField}s configured by this factory (including the nested ones) build their groups lazily.
+   * With many nested objects or collections this avoids building components that are never shown.
+   *
+   * @param lazyGroups Whether groups should be built lazily.
+   * @see ObjectField#setLazyGroups(boolean)
+   */
+  public void setLazyGroups(boolean lazyGroups) {
+    this.lazyGroups = lazyGroups;
   }
 }
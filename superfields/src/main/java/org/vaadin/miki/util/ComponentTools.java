@@ -7,10 +7,16 @@ import com.vaadin.flow.component.HasPlaceholder;
 import com.vaadin.flow.component.shared.HasPrefix;
 import com.vaadin.flow.component.shared.HasSuffix;
 import com.vaadin.flow.component.shared.HasTooltip;
+import com.vaadin.flow.dom.DomListenerRegistration;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.function.SerializableConsumer;
 import org.vaadin.miki.markers.HasDatePattern;
 import org.vaadin.miki.markers.HasHelperPositionable;
 import org.vaadin.miki.markers.HasIcon;
 import org.vaadin.miki.markers.HasLocale;
+import tools.jackson.databind.JsonNode;
+
+import java.util.Optional;
 
 /**
  * @author miki
@@ -44,6 +50,53 @@ public class ComponentTools {
             is.setDatePattern(was.getDatePattern());
     }
 
+    /**
+     * Returns the client-side expression that finds the number in the given attribute of the clicked element.
+     * The outermost marked element between the event target and the element with the listener is used, so that nested components
+     * that use the same attribute do not interfere. When no such element is found, the expression evaluates to {@code -1}.
+     * @param attribute Name of the attribute.
+     * @return A JavaScript expression, to be used as event data.
+     * @see #addDelegatedClickListener(Element, String, SerializableConsumer)
+     */
+    public static String getDelegatedClickExpression(String attribute) {
+        return "(function() {let found = null; "
+                + "for (let node = event.target; node && node !== element; node = node.parentElement) if (node.hasAttribute && node.hasAttribute('" + attribute + "')) found = node; "
+                + "return found === null ? -1 : parseInt(found.getAttribute('" + attribute + "'));})()";
+    }
+
+    /**
+     * Adds a single click listener to the given element, which reports the number stored in an attribute of the clicked descendant element.
+     * This replaces separate listeners on each of the descendants.
+     * @param container Element to listen to.
+     * @param attribute Name of the attribute. Its values should be non-negative integers.
+     * @param listener Receives the number from the attribute. It is not called when the click did not happen on (or inside) a marked element.
+     * @return Registration of the listener.
+     */
+    public static DomListenerRegistration addDelegatedClickListener(Element container, String attribute, SerializableConsumer<Integer> listener) {
+        final String expression = getDelegatedClickExpression(attribute);
+        return container.addEventListener("click", event -> {
+            final JsonNode number = event.getEventData().get(expression);
+            if(number != null && number.isNumber() && number.intValue() >= 0)
+                listener.accept(number.intValue());
+        }).addEventData(expression);
+    }
+
+    /**
+     * Checks whether a component can be clicked, that is, whether it is enabled and visible (including its parents).
+     * Flow blocks events on components that are not, but listeners added with {@link #addDelegatedClickListener(Element, String, SerializableConsumer)}
+     * are on another element and must check this on their own.
+     * @param component Component to check.
+     * @return {@code true} when the component is enabled and visible.
+     */
+    public static boolean isClickable(Component component) {
+        if(!component.getElement().isEnabled())
+            return false;
+        for(Optional<Component> current = Optional.of(component); current.isPresent(); current = current.get().getParent())
+            if(!current.get().isVisible())
+                return false;
+        return true;
+    }
+
     private ComponentTools() {
         // no instances allowed
     }
@@ -6,8 +6,11 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
@@ -24,6 +27,18 @@ public final class ReflectTools {
     public static final int GETTER_INDEX = 0;
     public static final int SETTER_INDEX = 1;
 
+    private static final Map<Class<?>, Class<?>> WRAPPER_TYPES = Map.of(
+            boolean.class, Boolean.class,
+            byte.class, Byte.class,
+            char.class, Character.class,
+            short.class, Short.class,
+            int.class, Integer.class,
+            long.class, Long.class,
+            float.class, Float.class,
+            double.class, Double.class,
+            void.class, Void.class
+    );
+
     /**
      * Attempts to get the value of a {@link Field} of a given name that is declared in given class. {@link Field#trySetAccessible()} will be used.
      * This method will attempt to find a field in the class of the given object, and then it will go up the hierarchy until the field of given name and a compatible type is found.
@@ -61,24 +76,75 @@ public final class ReflectTools {
         return Optional.empty();
     }
 
-    private static Optional<Method> findGetter(Field field, Class<?> type) {
-        for(String prefix: Objects.equals(boolean.class, field.getType()) || Objects.equals(Boolean.class, field.getType()) ? new String[]{"is", "get", "are"} : new String[]{"get"}) {
+    /**
+     * Finds the class that declares the given method, that is, the most specific class that overrides it.
+     * This starts from the given type and goes up the hierarchy, regardless of visibility of the method.
+     *
+     * @param type Type to start with.
+     * @param methodName Name of the method.
+     * @param parameterTypes Types of parameters of the method.
+     * @return The class that (most recently) declares the method, if any was found.
+     */
+    public static Optional<Class<?>> findDeclaringClass(Class<?> type, String methodName, Class<?>... parameterTypes) {
+        Class<?> typeToCheck = type;
+        while(typeToCheck != null) {
             try {
-                final Method method = type.getMethod(prefix + field.getName().substring(0, 1).toUpperCase(Locale.ROOT) + field.getName().substring(1));
-                // compatible type, public and not static
-                if(method.getReturnType().isAssignableFrom(field.getType()) && Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers()))
-                    return Optional.of(method);
+                typeToCheck.getDeclaredMethod(methodName, parameterTypes);
+                return Optional.of(typeToCheck);
             } catch (NoSuchMethodException e) {
-                // method not found, ignore and carry on
+                typeToCheck = typeToCheck.getSuperclass();
             }
         }
         return Optional.empty();
     }
 
-    private static Optional<Method> findSetter(Field field, Class<?> type) {
-        final String setterName = "set" + field.getName().substring(0, 1).toUpperCase(Locale.ROOT) + field.getName().substring(1);
-        for(Method method: type.getMethods()) {
-            if(setterName.equals(method.getName()) && method.getParameterCount() == 1 && field.getType().isAssignableFrom(method.getParameterTypes()[0]) && Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers()))
+    /**
+     * Indexes public methods of a given type (including inherited ones) by their names.
+     * Methods with the same name are kept in the order returned by {@link Class#getMethods()}.
+     * @param type Type.
+     * @return A map of method name to methods.
+     */
+    private static Map<String, List<Method>> indexPublicMethods(Class<?> type) {
+        final Map<String, List<Method>> result = new HashMap<>();
+        for(Method method: type.getMethods())
+            result.computeIfAbsent(method.getName(), name -> new ArrayList<>(1)).add(method);
+        return result;
+    }
+
+    private static String capitalise(String name) {
+        return name.substring(0, 1).toUpperCase(Locale.ROOT) + name.substring(1);
+    }
+
+    /**
+     * Finds a no-argument method of a given name, the same way {@link Class#getMethod(String, Class[])} does:
+     * when there is more than one (e.g. due to covariant return types), the one with the most specific return type is chosen.
+     * @param methods Indexed methods.
+     * @param name Name of the method.
+     * @return The method, if any.
+     */
+    private static Optional<Method> findNoArgMethod(Map<String, List<Method>> methods, String name) {
+        Method result = null;
+        for(Method method: methods.getOrDefault(name, Collections.emptyList()))
+            if(method.getParameterCount() == 0 && (result == null || (result.getReturnType() != method.getReturnType() && result.getReturnType().isAssignableFrom(method.getReturnType()))))
+                result = method;
+        return Optional.ofNullable(result);
+    }
+
+    private static Optional<Method> findGetter(Field field, Map<String, List<Method>> methods) {
+        final String capitalisedName = capitalise(field.getName());
+        for(String prefix: Objects.equals(boolean.class, field.getType()) || Objects.equals(Boolean.class, field.getType()) ? new String[]{"is", "get", "are"} : new String[]{"get"}) {
+            final Optional<Method> method = findNoArgMethod(methods, prefix + capitalisedName)
+                    // compatible type, public and not static
+                    .filter(candidate -> candidate.getReturnType().isAssignableFrom(field.getType()) && Modifier.isPublic(candidate.getModifiers()) && !Modifier.isStatic(candidate.getModifiers()));
+            if(method.isPresent())
+                return method;
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Method> findSetter(Field field, Map<String, List<Method>> methods) {
+        for(Method method: methods.getOrDefault("set" + capitalise(field.getName()), Collections.emptyList())) {
+            if(method.getParameterCount() == 1 && field.getType().isAssignableFrom(method.getParameterTypes()[0]) && Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers()))
                 return Optional.of(method);
         }
         return Optional.empty();
@@ -110,11 +176,13 @@ public final class ReflectTools {
             }
 
             final Set<Field> fieldsWithoutAccessors = new HashSet<>();
+            // public methods are obtained once and found by name
+            final Map<String, List<Method>> publicMethods = indexPublicMethods(type);
 
             result.forEach((field, methods) -> {
                 // 2. find getter and setter
-                findGetter(field, type).ifPresent(method -> methods[GETTER_INDEX] = method);
-                findSetter(field, type).ifPresent(method -> methods[SETTER_INDEX] = method);
+                findGetter(field, publicMethods).ifPresent(method -> methods[GETTER_INDEX] = method);
+                findSetter(field, publicMethods).ifPresent(method -> methods[SETTER_INDEX] = method);
                 // 3. mark for removal if no accessors
                 if (methods[GETTER_INDEX] == null && methods[SETTER_INDEX] == null)
                     fieldsWithoutAccessors.add(field);
@@ -156,6 +224,17 @@ public final class ReflectTools {
         }
     }
 
+    /**
+     * Returns the wrapper type for a given primitive type.
+     * @param type Type.
+     * @return The wrapper type (e.g. {@code Integer.class} for {@code int.class}), or {@code type} itself when it is not primitive.
+     * @param <T> Type.
+     */
+    @SuppressWarnings("unchecked") // should be fine
+    public static <T> Class<T> wrap(Class<T> type) {
+        return type.isPrimitive() ? (Class<T>) WRAPPER_TYPES.get(type) : type;
+    }
+
     private ReflectTools() {
         // instances not allowed
     }
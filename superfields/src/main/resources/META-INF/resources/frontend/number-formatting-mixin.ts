@@ -0,0 +1,293 @@
+import {LitElement} from 'lit';
+
+/**
+ * Format profile, as sent by the server-side component.
+ */
+export interface NumberFormatProfile {
+    groupingSeparator: string;
+    decimalSeparator: string;
+    minusSign: string;
+    groupingSeparatorAlternatives: string;
+    decimalSeparatorAlternatives: string;
+    negativeSignAlternatives: string;
+    groupingSize: number;
+    groupingUsed: boolean;
+    maximumIntegerDigits: number;
+    minimumFractionDigits: number;
+    maximumFractionDigits: number;
+    groupingSeparatorHiddenOnFocus: boolean;
+    autoselect: boolean;
+    valueChangeMode: string;
+    valueChangeTimeout: number;
+    exponentSeparator?: string;
+}
+
+type Constructor<T> = new (...args: any[]) => T;
+
+/**
+ * Canonical value sent when the text is not a number.
+ */
+const NOT_A_NUMBER = 'NaN';
+
+/**
+ * Canonical value: optional minus, digits, optional fraction and optional exponent (in which case the separator is kept as is).
+ */
+const CANONICAL_VALUE = /^(-?)(\d*)(?:\.(\d*))?(?:([^\d.])([+-]?)(\d*))?$/;
+
+/**
+ * Formats and parses numbers in the browser, so that focusing and blurring the field does not need the server.
+ * Only the canonical value (e.g. -1234.5) is synchronised with the server, through the canonicalValue property and canonical-value-changed event.
+ * This requires Flow and a corresponding server-side Java component (any AbstractSuperNumberField) to work properly.
+ */
+export class NumberFormattingMixin {
+    static to<T extends Constructor<LitElement>>(superclass: T) {
+        return class extends superclass {
+
+            formattingMixin?: {
+                textField: any,
+                profile: NumberFormatProfile,
+                focused: boolean,
+                timeout?: number,
+                listeners: { [event: string]: EventListener }
+            };
+
+            _canonicalValue: string = '';
+
+            /**
+             * The canonical value. Setting it (which is what the server does) updates the text in the field.
+             */
+            get canonicalValue(): string {
+                return this._canonicalValue;
+            }
+
+            set canonicalValue(value: string) {
+                this._canonicalValue = value ?? '';
+                this.showCanonicalValue();
+            }
+
+            /**
+             * Turns client-side formatting on or off.
+             * @param textField Text field that displays the value.
+             * @param profile Format profile to use; null turns the formatting off.
+             */
+            setFormatProfile(textField: any, profile: NumberFormatProfile | null) {
+                if (this.formattingMixin !== undefined) {
+                    Object.entries(this.formattingMixin.listeners).forEach(([event, listener]) => this.formattingMixin!.textField.removeEventListener(event, listener));
+                    clearTimeout(this.formattingMixin.timeout);
+                    delete this.formattingMixin;
+                }
+                if (profile) {
+                    const listeners: { [event: string]: EventListener } = {
+                        'focus': () => this.onFormattedFieldFocused(),
+                        'blur': () => this.onFormattedFieldBlurred(),
+                        'input': () => this.onFormattedFieldInput(),
+                        'change': () => this.onFormattedFieldChanged()
+                    };
+                    this.formattingMixin = {textField: textField, profile: profile, focused: textField.hasAttribute('focused'), listeners: listeners};
+                    Object.entries(listeners).forEach(([event, listener]) => textField.addEventListener(event, listener));
+                    this.showCanonicalValue();
+                }
+            }
+
+            onFormattedFieldFocused() {
+                const data = this.formattingMixin!;
+                data.focused = true;
+                if (data.profile.groupingSeparatorHiddenOnFocus) {
+                    this.showText(data.textField.value.split(data.profile.groupingSeparator).join(''));
+                }
+                if (data.profile.autoselect) {
+                    data.textField.inputElement.select();
+                }
+                // the server-side component no longer listens to the text field, so the event is repeated here
+                this.dispatchEvent(new Event('focus'));
+            }
+
+            onFormattedFieldBlurred() {
+                const data = this.formattingMixin!;
+                data.focused = false;
+                if (data.profile.valueChangeMode === 'ON_BLUR') {
+                    this.publishCanonicalValue();
+                }
+                this.showCanonicalValue();
+                this.dispatchEvent(new Event('blur'));
+            }
+
+            onFormattedFieldInput() {
+                const data = this.formattingMixin!;
+                clearTimeout(data.timeout);
+                if (data.profile.valueChangeMode === 'EAGER') {
+                    this.publishCanonicalValue();
+                } else if (data.profile.valueChangeMode === 'LAZY' || data.profile.valueChangeMode === 'TIMEOUT') {
+                    data.timeout = window.setTimeout(() => this.publishCanonicalValue(), data.profile.valueChangeTimeout);
+                }
+            }
+
+            onFormattedFieldChanged() {
+                clearTimeout(this.formattingMixin!.timeout);
+                this.publishCanonicalValue();
+            }
+
+            /**
+             * Parses the text in the field and informs the server about the new canonical value, if it changed.
+             */
+            publishCanonicalValue() {
+                const canonical = this.toCanonicalValue(this.formattingMixin!.textField.value, this.formattingMixin!.profile);
+                if (canonical !== this._canonicalValue) {
+                    this._canonicalValue = canonical;
+                    this.dispatchEvent(new CustomEvent('canonical-value-changed', {detail: {value: canonical}}));
+                }
+            }
+
+            /**
+             * Displays the canonical value, formatted unless the field is focused.
+             */
+            showCanonicalValue() {
+                const data = this.formattingMixin;
+                if (data !== undefined && !data.focused) {
+                    this.showText(this.fromCanonicalValue(this._canonicalValue, data.profile));
+                }
+            }
+
+            showText(text: string) {
+                const textField = this.formattingMixin!.textField;
+                textField.value = text;
+                // invalid input prevention remembers the last valid text
+                if (textField.preventInvalidMixin !== undefined) {
+                    textField.preventInvalidMixin.lastValue = text;
+                }
+            }
+
+            /**
+             * Parses text into canonical value, just like the server-side component would.
+             * @param text Text to parse.
+             * @param profile Profile to use.
+             */
+            toCanonicalValue(text: string, profile: NumberFormatProfile): string {
+                if (text === '') {
+                    return '';
+                }
+                let negative = false;
+                let integer = '';
+                let fraction: string | undefined = undefined;
+                let exponent = '';
+                let exponentSign = '';
+                let inExponent = false;
+                const exponentSeparator = profile.exponentSeparator?.toUpperCase();
+                for (let position = 0; position < text.length; position++) {
+                    // the order of replacing alternatives is the same as on the server
+                    let c = text.charAt(position);
+                    if (profile.negativeSignAlternatives.includes(c)) c = profile.minusSign;
+                    if (profile.groupingSeparatorAlternatives.includes(c)) c = profile.groupingSeparator;
+                    if (profile.decimalSeparatorAlternatives.includes(c)) c = profile.decimalSeparator;
+
+                    if (inExponent) {
+                        if (c >= '0' && c <= '9') exponent += c;
+                        else if (exponent === '' && exponentSign === '' && (c === '+' || c === profile.minusSign)) exponentSign = c === '+' ? '+' : '-';
+                        else break;
+                    }
+                    else if (c >= '0' && c <= '9') {
+                        if (fraction === undefined) integer += c;
+                        else fraction += c;
+                    }
+                    else if (position === 0 && c === profile.minusSign) negative = true;
+                    else if (c === profile.decimalSeparator && fraction === undefined) fraction = '';
+                    else if (c === profile.groupingSeparator && profile.groupingUsed && fraction === undefined) {
+                        // grouping separators are ignored
+                    }
+                    else if (exponentSeparator !== undefined && c.toUpperCase() === exponentSeparator && (integer + (fraction ?? '')) !== '') inExponent = true;
+                    else break;
+                }
+                if (integer === '' && (fraction ?? '') === '') {
+                    return NOT_A_NUMBER;
+                }
+                integer = integer.replace(/^0+/, '');
+                let canonical = (negative ? '-' : '') + (integer === '' ? '0' : integer) + (fraction ? '.' + fraction : '');
+                if (exponent !== '') {
+                    canonical += profile.exponentSeparator + exponentSign + exponent;
+                }
+                return canonical;
+            }
+
+            /**
+             * Formats a canonical value, just like the server-side component would.
+             * @param canonical Canonical value.
+             * @param profile Profile to use.
+             */
+            fromCanonicalValue(canonical: string, profile: NumberFormatProfile): string {
+                const match = CANONICAL_VALUE.exec(canonical);
+                // empty values, infinity and not-a-number are shown as they are
+                if (canonical === '' || match === null) {
+                    return canonical;
+                }
+                const significantInteger = match[2].replace(/^0+/, '');
+                let digits = significantInteger + (match[3] ?? '');
+                // position of the decimal point counted from the start of the digits
+                let point = significantInteger.length;
+                if (match[4] !== undefined && match[6] !== '') {
+                    point += (match[5] === '-' ? -1 : 1) * parseInt(match[6], 10);
+                }
+                if (point < 0) {
+                    digits = '0'.repeat(-point) + digits;
+                    point = 0;
+                } else if (point > digits.length) {
+                    digits = digits + '0'.repeat(point - digits.length);
+                }
+                // half-even rounding, the default of DecimalFormat
+                const kept = point + profile.maximumFractionDigits;
+                if (kept < digits.length) {
+                    const rest = digits.substring(kept);
+                    const last = kept > 0 ? digits.charAt(kept - 1) : '0';
+                    const roundUp = rest.charAt(0) > '5' || (rest.charAt(0) === '5' && (/[1-9]/.test(rest.substring(1)) || '13579'.includes(last)));
+                    digits = digits.substring(0, kept);
+                    if (roundUp) {
+                        digits = NumberFormattingMixin.increment(digits);
+                        if (digits.length > kept) {
+                            point++;
+                        }
+                    }
+                }
+                let integer = digits.substring(0, point).replace(/^0+/, '');
+                let fraction = digits.substring(point).replace(/0+$/, '');
+                if (fraction.length < profile.minimumFractionDigits) {
+                    fraction = fraction + '0'.repeat(profile.minimumFractionDigits - fraction.length);
+                }
+                // just like DecimalFormat, leading zeros are kept when the integer part is truncated
+                if (integer.length > profile.maximumIntegerDigits) {
+                    integer = integer.substring(integer.length - profile.maximumIntegerDigits);
+                }
+                if (integer === '') {
+                    integer = '0';
+                }
+                if (profile.groupingUsed && profile.groupingSize > 0) {
+                    const groups = [];
+                    for (let end = integer.length; end > 0; end -= profile.groupingSize) {
+                        groups.unshift(integer.substring(Math.max(0, end - profile.groupingSize), end));
+                    }
+                    integer = groups.join(profile.groupingSeparator);
+                }
+                return (match[1] === '-' ? profile.minusSign : '') + integer + (fraction === '' ? '' : profile.decimalSeparator + fraction);
+            }
+
+        };
+    }
+
+    /**
+     * Adds one to a string of digits.
+     * @param digits Digits.
+     * @return Digits increased by one; there may be one more digit than before.
+     */
+    static increment(digits: string): string {
+        const result = digits.split('');
+        let position = result.length - 1;
+        for (; position >= 0 && result[position] === '9'; position--) {
+            result[position] = '0';
+        }
+        if (position < 0) {
+            result.unshift('1');
+        } else {
+            result[position] = String.fromCharCode(result[position].charCodeAt(0) + 1);
+        }
+        return result.join('');
+    }
+
+}
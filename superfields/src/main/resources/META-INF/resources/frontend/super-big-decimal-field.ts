@@ -1,8 +1,9 @@
 import {html, LitElement} from 'lit';
 import {customElement} from 'lit/decorators.js';
+import {NumberFormattingMixin} from './number-formatting-mixin';
 
 @customElement('super-big-decimal-field')
-export class SuperBigDecimalField extends LitElement {
+export class SuperBigDecimalField extends NumberFormattingMixin.to(LitElement) {
 
     render() {
         return html`<slot></slot>`;
@@ -1,8 +1,9 @@
 import {html, LitElement} from 'lit';
 import {customElement} from 'lit/decorators.js';
+import {NumberFormattingMixin} from './number-formatting-mixin';
 
 @customElement('super-double-field')
-export class SuperDoubleField extends LitElement {
+export class SuperDoubleField extends NumberFormattingMixin.to(LitElement) {
 
     render() {
         return html`<slot></slot>`;
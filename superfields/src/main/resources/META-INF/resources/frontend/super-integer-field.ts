@@ -1,8 +1,9 @@
 import {html, LitElement} from 'lit';
 import {customElement} from 'lit/decorators.js';
+import {NumberFormattingMixin} from './number-formatting-mixin';
 
 @customElement('super-integer-field')
-export class SuperIntegerField extends LitElement {
+export class SuperIntegerField extends NumberFormattingMixin.to(LitElement) {
 
     render() {
         return html`<slot></slot>`;
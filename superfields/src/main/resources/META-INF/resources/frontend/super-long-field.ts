@@ -1,8 +1,9 @@
 import {html, LitElement} from 'lit';
 import {customElement} from 'lit/decorators.js';
+import {NumberFormattingMixin} from './number-formatting-mixin';
 
 @customElement('super-long-field')
-export class SuperLongField extends LitElement {
+export class SuperLongField extends NumberFormattingMixin.to(LitElement) {
 
     render() {
         return html`<slot></slot>`;
@@ -0,0 +1,90 @@
+package org.vaadin.miki.superfields.collections;
+
+import com.github.mvysny.kaributesting.v10.MockVaadin;
+import com.vaadin.flow.component.HasValue;
+import com.vaadin.flow.component.textfield.TextField;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Basic unit tests for {@link MapField}.
+ * @author miki
+ * @since 2026-10-18
+ */
+public class MapFieldTest {
+
+    private MapField<String, String> mapField;
+    private final List<MapEntryEvent<String, String>> events = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        MockVaadin.setup();
+        this.mapField = new MapField<>(() -> new MapEntryField<String, String>(TextField::new, TextField::new));
+        this.mapField.addMapEntryListener(this.events::add);
+    }
+
+    @After
+    public void tearDown() {
+        MockVaadin.tearDown();
+    }
+
+    private static Map<String, String> map(String... keysAndValues) {
+        final Map<String, String> result = new LinkedHashMap<>();
+        for (int zmp1 = 0; zmp1 < keysAndValues.length; zmp1 += 2)
+            result.put(keysAndValues[zmp1], keysAndValues[zmp1 + 1]);
+        return result;
+    }
+
+    private void assertEvent(Class<?> type, String key, String value) {
+        final MapEntryEvent<String, String> event = this.events.remove(0);
+        Assert.assertEquals(type, event.getClass());
+        Assert.assertEquals(key, event.getKey());
+        Assert.assertEquals(value, event.getValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    private HasValue<?, Map.Entry<String, String>> getEntryField(int index) {
+        return ((CollectionField<Map.Entry<String, String>, ?>) this.mapField.getChildren().filter(CollectionField.class::isInstance).findFirst().orElseThrow()).getField(index);
+    }
+
+    @Test
+    public void testEntryEvents() {
+        this.mapField.setValue(map("a", "1", "b", "2"));
+        this.assertEvent(MapEntryEvent.EntryAdded.class, "a", "1");
+        this.assertEvent(MapEntryEvent.EntryAdded.class, "b", "2");
+        Assert.assertTrue(this.events.isEmpty());
+
+        this.mapField.setValue(map("a", "1", "b", "3", "c", "4"));
+        this.assertEvent(MapEntryEvent.EntryChanged.class, "b", "3");
+        this.assertEvent(MapEntryEvent.EntryAdded.class, "c", "4");
+        Assert.assertTrue(this.events.isEmpty());
+
+        this.getEntryField(0).setValue(Map.entry("d", "1"));
+        this.assertEvent(MapEntryEvent.EntryRemoved.class, "a", "1");
+        this.assertEvent(MapEntryEvent.EntryAdded.class, "d", "1");
+        Assert.assertTrue(this.events.isEmpty());
+    }
+
+    @Test
+    public void testEntryEventsWithIncrementalModel() {
+        this.mapField.setIncrementalModel(true);
+        this.mapField.setValue(map("a", "1", "b", "2"));
+        this.events.clear();
+
+        // the value is changed in place, but the change is still reported
+        final Map<String, String> value = this.mapField.getValue();
+        this.getEntryField(1).setValue(Map.entry("b", "3"));
+        Assert.assertSame(value, this.mapField.getValue());
+        Assert.assertEquals(1, this.events.size());
+        Assert.assertEquals("2", ((MapEntryEvent.EntryChanged<String, String>) this.events.get(0)).getOldValue());
+        this.assertEvent(MapEntryEvent.EntryChanged.class, "b", "3");
+    }
+
+}
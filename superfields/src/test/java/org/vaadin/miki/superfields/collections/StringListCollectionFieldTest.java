@@ -1,19 +1,27 @@
 package org.vaadin.miki.superfields.collections;
 
 import com.github.mvysny.kaributesting.v10.MockVaadin;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.HasStyle;
 import com.vaadin.flow.component.HasValue;
 import com.vaadin.flow.component.orderedlayout.FlexLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.function.SerializableFunction;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.vaadin.miki.markers.HasIndex;
+import org.vaadin.miki.superfields.lazyload.ComponentObservationEvent;
+import org.vaadin.miki.superfields.lazyload.ComponentObserver;
 import org.vaadin.miki.superfields.util.CollectionComponentProviders;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Basic, simple unit tests for {@link CollectionField}.
@@ -166,4 +174,303 @@ public class StringListCollectionFieldTest {
         Assert.assertEquals(1, this.eventCounter);
     }
 
+    @Test
+    public void testIncrementalModel() {
+        this.collectionField.withIncrementalModel(true).setValue(Arrays.asList("this", "is", "a", "test"));
+        this.collectionField.getField(2).setValue("the");
+        final List<String> value = this.collectionField.getValue();
+        Assert.assertEquals(List.of("this", "is", "the", "test"), value);
+        this.eventCounter = 0;
+
+        // changes are made to the same list
+        this.collectionField.getField(3).setValue("value");
+        Assert.assertEquals(1, this.eventCounter);
+        Assert.assertSame(value, this.collectionField.getValue());
+        Assert.assertEquals(List.of("this", "is", "the", "value"), value);
+
+        // adding produces a new list, which is then maintained
+        this.controller.add();
+        final List<String> added = this.collectionField.getValue();
+        Assert.assertNotSame(value, added);
+        Assert.assertEquals(List.of("this", "is", "the", "value", ""), added);
+        this.collectionField.getField(4).setValue("!");
+        Assert.assertSame(added, this.collectionField.getValue());
+        Assert.assertEquals(List.of("this", "is", "the", "value", "!"), added);
+        Assert.assertEquals(3, this.eventCounter);
+    }
+
+    private void assertIndices() {
+        for (int zmp1=0; zmp1 < this.collectionField.size(); zmp1++)
+            Assert.assertEquals(zmp1, ((HasIndex)this.collectionField.getField(zmp1)).getIndex());
+    }
+
+    @Test
+    public void testBulkOperations() {
+        this.collectionField.setCollectionValueComponentProvider(CollectionComponentProviders.rowWithRemoveButtonFirst(CollectionComponentProviders::textField, "remove"));
+        this.collectionField.setValue(Arrays.asList("this", "is", "a", "test"));
+        this.eventCounter = 0;
+
+        this.controller.addAll(1, 3);
+        Assert.assertEquals(1, this.eventCounter);
+        Assert.assertEquals(List.of("this", "", "", "", "is", "a", "test"), this.collectionField.getValue());
+        this.assertIndices();
+        this.assertLayoutMatchesFields();
+
+        this.controller.removeRange(0, 4);
+        Assert.assertEquals(2, this.eventCounter);
+        Assert.assertEquals(List.of("is", "a", "test"), this.collectionField.getValue());
+        this.assertIndices();
+        this.assertLayoutMatchesFields();
+
+        // reuses the component in the range and adds the others
+        final HasValue<?, String> reused = this.collectionField.getField(1);
+        this.collectionField.replaceAll(1, 2, List.of("a", "bulk", "operation"));
+        Assert.assertEquals(3, this.eventCounter);
+        Assert.assertSame(reused, this.collectionField.getField(1));
+        Assert.assertEquals(List.of("is", "a", "bulk", "operation", "test"), this.collectionField.getValue());
+        this.assertIndices();
+        this.assertLayoutMatchesFields();
+
+        this.collectionField.replaceAll(0, 4, List.of("that"));
+        Assert.assertEquals(4, this.eventCounter);
+        Assert.assertEquals(List.of("that", "test"), this.collectionField.getValue());
+        this.assertIndices();
+        this.assertLayoutMatchesFields();
+    }
+
+    private List<HasValue<?, String>> getFields() {
+        return IntStream.range(0, this.collectionField.size()).mapToObj(this.collectionField::getField).collect(Collectors.toList());
+    }
+
+    private void assertLayoutMatchesFields() {
+        final List<HasValue<?, String>> fields = this.getFields();
+        final Component layout = ((Component) fields.get(0)).getParent().orElseThrow();
+        Assert.assertEquals(fields, layout.getChildren().limit(fields.size()).collect(Collectors.toList()));
+        Assert.assertEquals(this.collectionField.getValue(), fields.stream().map(HasValue::getValue).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testKeyedComponentsReusedAndMoved() {
+        this.collectionField.withElementKeyFunction(SerializableFunction.identity()).setValue(Arrays.asList("a", "b", "c", "d"));
+        final List<HasValue<?, String>> original = this.getFields();
+        this.eventCounter = 0;
+
+        // inserting at the head keeps all the components
+        this.collectionField.setValue(Arrays.asList("new", "a", "b", "c", "d"));
+        Assert.assertEquals(1, this.eventCounter);
+        Assert.assertEquals(original, this.getFields().subList(1, 5));
+        this.assertLayoutMatchesFields();
+
+        // reordering and removing moves the components
+        this.collectionField.setValue(Arrays.asList("d", "b", "a"));
+        Assert.assertEquals(List.of(original.get(3), original.get(1), original.get(0)), this.getFields());
+        this.assertLayoutMatchesFields();
+
+        // duplicates are matched in order
+        this.collectionField.setValue(Arrays.asList("a", "d", "a"));
+        Assert.assertSame(original.get(0), this.collectionField.getField(0));
+        Assert.assertSame(original.get(3), this.collectionField.getField(1));
+        this.assertLayoutMatchesFields();
+    }
+
+    @Test
+    public void testKeyedComponentsReindexed() {
+        this.collectionField.setCollectionValueComponentProvider(CollectionComponentProviders.rowWithRemoveButtonFirst(CollectionComponentProviders::textField, "remove"));
+        this.collectionField.setElementKeyFunction(SerializableFunction.identity());
+        this.collectionField.setValue(Arrays.asList("this", "is", "a", "test"));
+        final HasValue<?, String> test = this.collectionField.getField(3);
+        this.collectionField.setValue(Arrays.asList("test", "this", "is", "a"));
+        Assert.assertSame(test, this.collectionField.getField(0));
+        for (int zmp1=0; zmp1 < this.collectionField.size(); zmp1++)
+            Assert.assertEquals(zmp1, ((HasIndex)this.collectionField.getField(zmp1)).getIndex());
+        this.assertLayoutMatchesFields();
+    }
+
+    private void assertWindowIndices() {
+        this.assertWindowIndices(3);
+    }
+
+    private void assertWindowIndices(int windowSize) {
+        final int start = this.collectionField.getWindowStart();
+        final Component layout = ((Component) this.collectionField.getField(start)).getParent().orElseThrow();
+        Assert.assertEquals(Math.min(windowSize, this.collectionField.size()), layout.getChildren().count());
+        for (int zmp1 = start; zmp1 < start + layout.getChildren().count(); zmp1++) {
+            Assert.assertEquals(zmp1, ((HasIndex)this.collectionField.getField(zmp1)).getIndex());
+            Assert.assertEquals(this.collectionField.getValue().get(zmp1), this.collectionField.getField(zmp1).getValue());
+        }
+    }
+
+    private Component findChild(Class<? extends Component> type, String styleName) {
+        return this.collectionField.getChildren()
+                .filter(type::isInstance)
+                .filter(component -> styleName == null || (component instanceof HasStyle hasStyle && hasStyle.hasClassName(styleName)))
+                .findFirst().orElseThrow();
+    }
+
+    @Test
+    public void testVirtualisedWindowFollowsPlaceholders() {
+        this.collectionField.setWindowSize(4);
+        this.collectionField.setVirtualised(true);
+        this.collectionField.setValue(IntStream.range(0, 10).mapToObj(String::valueOf).collect(Collectors.toList()));
+        final ComponentObserver observer = (ComponentObserver) this.findChild(ComponentObserver.class, null);
+        final Component before = this.findChild(Component.class, CollectionField.ELEMENTS_BEFORE_STYLE_NAME);
+        final Component after = this.findChild(Component.class, CollectionField.ELEMENTS_AFTER_STYLE_NAME);
+        // placeholders are never empty, even without the css property
+        Assert.assertEquals("calc(6 * var(--collection-field-element-height, 2.5em))", ((HasStyle) after).getStyle().get("height"));
+
+        // the window moves by half of its size for as long as only one placeholder is visible
+        ComponentUtil.fireEvent(observer, new ComponentObservationEvent(observer, after, 1.0d));
+        Assert.assertEquals(2, this.collectionField.getWindowStart());
+        ComponentUtil.fireEvent(observer, new ComponentObservationEvent(observer, after, 1.0d));
+        Assert.assertEquals(4, this.collectionField.getWindowStart());
+        Assert.assertEquals("calc(4 * var(--collection-field-element-height, 2.5em))", ((HasStyle) before).getStyle().get("height"));
+        // both are visible, so moving would not help
+        ComponentUtil.fireEvent(observer, new ComponentObservationEvent(observer, before, 1.0d));
+        Assert.assertEquals(4, this.collectionField.getWindowStart());
+        ComponentUtil.fireEvent(observer, new ComponentObservationEvent(observer, after, 0.0d));
+        Assert.assertEquals(2, this.collectionField.getWindowStart());
+        this.assertWindowIndices(4);
+
+        // there is nothing to show before the first element
+        this.collectionField.setEstimatedElementHeight("40px");
+        Assert.assertEquals("calc(2 * var(--collection-field-element-height, 40px))", ((HasStyle) before).getStyle().get("height"));
+        ComponentUtil.fireEvent(observer, new ComponentObservationEvent(observer, before, 1.0d));
+        ComponentUtil.fireEvent(observer, new ComponentObservationEvent(observer, before, 1.0d));
+        Assert.assertEquals(0, this.collectionField.getWindowStart());
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> this.collectionField.getField(4));
+    }
+
+    @Test
+    public void testVirtualised() {
+        this.collectionField.setCollectionValueComponentProvider(CollectionComponentProviders.rowWithRemoveButtonFirst(CollectionComponentProviders::textField, "remove"));
+        this.collectionField.setWindowSize(3);
+        this.collectionField.setVirtualised(true);
+        final List<String> elements = IntStream.range(0, 10).mapToObj(String::valueOf).collect(Collectors.toList());
+        this.collectionField.setValue(elements);
+        this.eventCounter = 0;
+        Assert.assertEquals(elements, this.collectionField.getValue());
+        Assert.assertEquals(10, this.collectionField.size());
+        Assert.assertEquals(0, this.collectionField.getWindowStart());
+        this.assertWindowIndices();
+
+        // components are reused when the window moves
+        final HasValue<?, String> first = this.collectionField.getField(0);
+        this.collectionField.setWindowStart(5);
+        Assert.assertEquals(5, this.collectionField.getWindowStart());
+        Assert.assertSame(first, this.collectionField.getField(5));
+        this.assertWindowIndices();
+        this.collectionField.setWindowStart(20);
+        Assert.assertEquals(7, this.collectionField.getWindowStart());
+        this.assertWindowIndices();
+        Assert.assertEquals(0, this.eventCounter);
+
+        // changes made in components survive moving the window
+        this.collectionField.getField(8).setValue("eight");
+        Assert.assertEquals(1, this.eventCounter);
+        this.collectionField.setWindowStart(0);
+        Assert.assertEquals("eight", this.collectionField.getValue().get(8));
+
+        this.controller.add(1);
+        Assert.assertEquals(2, this.eventCounter);
+        Assert.assertEquals(11, this.collectionField.getValue().size());
+        Assert.assertEquals("", this.collectionField.getValue().get(1));
+        this.assertWindowIndices();
+
+        this.controller.removeRange(0, 5);
+        Assert.assertEquals(3, this.eventCounter);
+        Assert.assertEquals(List.of("4", "5", "6", "7", "eight", "9"), this.collectionField.getValue());
+        this.assertWindowIndices();
+
+        // all elements get their components back
+        this.collectionField.setVirtualised(false);
+        Assert.assertEquals(List.of("4", "5", "6", "7", "eight", "9"), this.collectionField.getValue());
+        Assert.assertEquals(3, this.eventCounter);
+        this.assertIndices();
+        this.assertLayoutMatchesFields();
+    }
+
+    private static void applyEvents(List<CollectionElementEvent<String>> events, List<String> elements) {
+        for (CollectionElementEvent<String> event : events) {
+            if (event instanceof CollectionElementEvent.ElementAdded<String>)
+                elements.add(event.getIndex(), event.getValue());
+            else if (event instanceof CollectionElementEvent.ElementRemoved<String>)
+                Assert.assertEquals(event.getValue(), elements.remove(event.getIndex()));
+            else if (event instanceof CollectionElementEvent.ElementChanged<String> changed)
+                Assert.assertEquals(changed.getOldValue(), elements.set(event.getIndex(), event.getValue()));
+        }
+        events.clear();
+    }
+
+    @Test
+    public void testElementEvents() {
+        final List<CollectionElementEvent<String>> events = new ArrayList<>();
+        this.collectionField.addCollectionElementListener(events::add);
+        final List<String> replayed = new ArrayList<>();
+
+        this.collectionField.setValue(Arrays.asList("this", "is", "a", "test"));
+        Assert.assertEquals(4, events.size());
+        applyEvents(events, replayed);
+        Assert.assertEquals(this.collectionField.getValue(), replayed);
+
+        this.collectionField.getField(1).setValue("was");
+        Assert.assertEquals(1, events.size());
+        Assert.assertTrue(events.get(0) instanceof CollectionElementEvent.ElementChanged);
+        Assert.assertEquals(1, events.get(0).getIndex());
+        applyEvents(events, replayed);
+        Assert.assertEquals(this.collectionField.getValue(), replayed);
+
+        this.controller.addAll(1, 2);
+        Assert.assertEquals(2, events.size());
+        applyEvents(events, replayed);
+        Assert.assertEquals(this.collectionField.getValue(), replayed);
+
+        this.controller.removeRange(0, 2);
+        Assert.assertEquals(2, events.size());
+        applyEvents(events, replayed);
+        Assert.assertEquals(this.collectionField.getValue(), replayed);
+
+        this.collectionField.replaceAll(0, 1, List.of("it", "still"));
+        Assert.assertEquals(2, events.size());
+        applyEvents(events, replayed);
+        Assert.assertEquals(List.of("it", "still", "was", "a", "test"), replayed);
+
+        // only the differences are reported
+        this.collectionField.setValue(Arrays.asList("it", "still", "is"));
+        Assert.assertEquals(3, events.size());
+        applyEvents(events, replayed);
+        Assert.assertEquals(this.collectionField.getValue(), replayed);
+
+        // the same indices when virtualised
+        this.collectionField.setWindowSize(2);
+        this.collectionField.setVirtualised(true);
+        this.collectionField.setWindowStart(1);
+        this.collectionField.getField(2).setValue("was");
+        this.controller.remove(0);
+        Assert.assertEquals(2, events.size());
+        applyEvents(events, replayed);
+        Assert.assertEquals(List.of("still", "was"), replayed);
+        Assert.assertEquals(this.collectionField.getValue(), replayed);
+    }
+
+    @Test
+    public void testElementEventsWhenValueIsSetByValueChangeListener() {
+        final List<CollectionElementEvent<String>> events = new ArrayList<>();
+        final List<String> replayed = new ArrayList<>();
+        this.collectionField.setValue(Arrays.asList("at", "most"));
+        this.collectionField.addCollectionElementListener(events::add);
+        replayed.addAll(this.collectionField.getValue());
+        this.collectionField.addValueChangeListener(event -> {
+            if(event.getValue().size() > 2)
+                this.collectionField.setValue(List.of("two"));
+        });
+
+        this.controller.add();
+        Assert.assertEquals(List.of("two"), this.collectionField.getValue());
+        // the element added is reported before the value set by the listener
+        Assert.assertTrue(events.get(0) instanceof CollectionElementEvent.ElementAdded);
+        Assert.assertEquals(2, events.get(0).getIndex());
+        applyEvents(events, replayed);
+        Assert.assertEquals(this.collectionField.getValue(), replayed);
+    }
+
 }
\ No newline at end of file
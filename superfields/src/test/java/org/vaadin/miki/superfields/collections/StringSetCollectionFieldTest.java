@@ -9,8 +9,10 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -91,5 +93,29 @@ public class StringSetCollectionFieldTest {
 
     }
 
+    @Test
+    public void testElementEventsFollowRemovedDuplicates() {
+        final List<CollectionElementEvent<String>> events = new ArrayList<>();
+        this.collectionField.addCollectionElementListener(events::add);
+        final List<String> replayed = new ArrayList<>();
+        this.collectionField.setValue(new LinkedHashSet<>(Arrays.asList("set", "has", "no", "duplicates")));
+        this.controller.add();
+
+        // the second empty element is added and then removed
+        this.controller.add();
+        Assert.assertEquals(5, this.collectionField.size());
+        // the duplicate is changed and then removed
+        this.collectionField.getField(4).setValue("no");
+        Assert.assertEquals(4, this.collectionField.size());
+
+        for (CollectionElementEvent<String> event : events) {
+            if (event instanceof CollectionElementEvent.ElementAdded<String>)
+                replayed.add(event.getIndex(), event.getValue());
+            else if (event instanceof CollectionElementEvent.ElementRemoved<String>)
+                Assert.assertEquals(event.getValue(), replayed.remove(event.getIndex()));
+            else replayed.set(event.getIndex(), event.getValue());
+        }
+        Assert.assertEquals(new ArrayList<>(this.collectionField.getValue()), replayed);
+    }
 
 }
@@ -2,14 +2,21 @@ package org.vaadin.miki.superfields.componentselect;
 
 import com.github.mvysny.kaributesting.v10.MockVaadin;
 import com.vaadin.flow.component.AbstractField;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.customfield.CustomField;
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.JacksonUtils;
+import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.vaadin.miki.superfields.layouts.FlexLayoutHelpers;
+import org.vaadin.miki.util.ComponentTools;
+import tools.jackson.databind.node.ObjectNode;
 
 /**
  * @author miki
@@ -156,4 +163,34 @@ public class ComponentSelectTest {
       Assert.assertFalse(this.select.getComponent(zmp1).getThemeNames().contains(ButtonVariant.LUMO_PRIMARY.getVariantName()));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testDelegatedClickHandling() {
+    UI.getCurrent().add(this.select);
+    this.select.setDelegatedClickHandlingEnabled(true);
+    for(int zmp1=0; zmp1<OPTIONS.length; zmp1++)
+      Assert.assertEquals(String.valueOf(zmp1), this.select.getComponent(zmp1).getElement().getAttribute(ComponentSelect.OPTION_INDEX_ATTRIBUTE));
+    final Element layout = this.select.getComponent(0).getParent().orElseThrow().getElement();
+    final ObjectNode data = JacksonUtils.createObjectNode();
+    data.put(ComponentTools.getDelegatedClickExpression(ComponentSelect.OPTION_INDEX_ATTRIBUTE), 3);
+    layout.getNode().getFeature(ElementListenerMap.class).fireEvent(new DomEvent(layout, "click", data));
+    Assert.assertEquals(OPTIONS[3], this.select.getValue());
+    Assert.assertEquals(1, this.eventCounter);
+    Assert.assertEquals(3, this.mostRecentlySelectedButton);
+
+    // disabled and invisible options cannot be clicked, even if the browser reports them
+    this.select.getComponent(2).setEnabled(false);
+    data.put(ComponentTools.getDelegatedClickExpression(ComponentSelect.OPTION_INDEX_ATTRIBUTE), 2);
+    layout.getNode().getFeature(ElementListenerMap.class).fireEvent(new DomEvent(layout, "click", data));
+    this.select.getComponent(4).setVisible(false);
+    data.put(ComponentTools.getDelegatedClickExpression(ComponentSelect.OPTION_INDEX_ATTRIBUTE), 4);
+    layout.getNode().getFeature(ElementListenerMap.class).fireEvent(new DomEvent(layout, "click", data));
+    Assert.assertEquals(OPTIONS[3], this.select.getValue());
+    Assert.assertEquals(1, this.eventCounter);
+
+    this.select.setDelegatedClickHandlingEnabled(false);
+    Assert.assertFalse(this.select.getComponent(0).getElement().hasAttribute(ComponentSelect.OPTION_INDEX_ATTRIBUTE));
+    this.select.getComponent(1).click();
+    Assert.assertEquals(OPTIONS[1], this.select.getValue());
+  }
+
+}
@@ -1,19 +1,31 @@
 package org.vaadin.miki.superfields.itemgrid;
 
 import com.github.mvysny.kaributesting.v10.MockVaadin;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.html.Paragraph;
 import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.dom.DomEvent;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.JacksonUtils;
+import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.vaadin.miki.util.ComponentTools;
+import tools.jackson.databind.node.ObjectNode;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class ItemGridTest {
 
@@ -301,4 +313,227 @@ public class ItemGridTest {
         Assert.assertEquals("value cells are still clickable", 3, this.eventCounter);
     }
 
-}
\ No newline at end of file
+    private void assertRowsMatchCells() {
+        for(int row = 0; row < this.grid.getRowCount(); row++) {
+            final List<CellInformation<String>> rowCells = this.grid.getRowCellInformation(row);
+            final Component rowComponent = rowCells.get(0).getComponent().getParent().orElseThrow();
+            Assert.assertEquals("components in row "+row+" must be in the order of cells", rowCells.stream().map(CellInformation::getComponent).toList(), rowComponent.getChildren().toList());
+        }
+    }
+
+    @Test
+    public void testIncrementalRepaintReusesComponents() {
+        this.grid.setIncrementalRepaintEnabled(true);
+        this.grid.setItems("A", "B", "C", "D", "E");
+        final Map<String, Component> components = this.grid.getCellInformation().stream().collect(Collectors.toMap(CellInformation::getValue, CellInformation::getComponent));
+        this.grid.setValue("C");
+        this.eventCounter = 0;
+
+        // appending does not touch existing cells
+        this.grid.setItems("A", "B", "C", "D", "E", "F");
+        Assert.assertEquals(2, this.grid.getRowCount());
+        Assert.assertEquals(6, this.grid.size());
+        components.forEach((value, component) -> Assert.assertSame("component for "+value+" should be reused", component, this.grid.getCellInformation(value).orElseThrow().getComponent()));
+        this.assertRowsMatchCells();
+
+        // removing the first item moves all other cells
+        this.grid.setItems("B", "C", "D", "E", "F");
+        Assert.assertEquals(5, this.grid.size());
+        Assert.assertFalse(this.grid.getCellInformation("A").isPresent());
+        Assert.assertNull(components.get("A").getParent().orElse(null));
+        final CellInformation<String> movedCell = this.grid.getCellInformation(0, 0).orElseThrow();
+        Assert.assertEquals("B", movedCell.getValue());
+        Assert.assertSame(components.get("B"), movedCell.getComponent());
+        Assert.assertTrue("class names should follow the new position", movedCell.getComponent().getElement().getClassList().contains("item-grid-cell-column-even"));
+        Assert.assertFalse(movedCell.getComponent().getElement().getClassList().contains("item-grid-cell-column-odd"));
+        this.assertRowsMatchCells();
+
+        // selection follows the moved cell
+        Assert.assertEquals(0, this.eventCounter);
+        Assert.assertEquals("C", this.grid.getSelectedCellInformation().map(CellInformation::getValue).orElse(null));
+        this.grid.simulateCellClick(0, 1);
+        Assert.assertNull(this.grid.getValue());
+        Assert.assertFalse(components.get("C").getElement().getClassList().contains(ItemGrid.DEFAULT_SELECTED_ITEM_CLASS_NAME));
+    }
+
+    @Test
+    public void testIncrementalRepaintWithPadding() {
+        this.grid.setIncrementalRepaintEnabled(true);
+        this.grid.setRowPaddingStrategy(RowPaddingStrategies.LAST_ROW_FILL_END);
+        this.grid.setItems("A", "B", "C", "D");
+        Assert.assertEquals(6, this.grid.size());
+        final Component padding = this.grid.getCellInformation(1, 2).orElseThrow().getComponent();
+
+        this.grid.setItems("A", "B", "C", "D", "E");
+        Assert.assertEquals(6, this.grid.size());
+        Assert.assertEquals("E", this.grid.getCellInformation(1, 1).map(CellInformation::getValue).orElse(null));
+        Assert.assertSame("padding cell in the same place should be reused", padding, this.grid.getCellInformation(1, 2).orElseThrow().getComponent());
+        this.assertRowsMatchCells();
+
+        this.grid.setItems("A", "B");
+        Assert.assertEquals(1, this.grid.getRowCount());
+        Assert.assertEquals(3, this.grid.size());
+        Assert.assertFalse(this.grid.getCellInformation(0, 2).orElseThrow().isValueCell());
+        this.assertRowsMatchCells();
+    }
+
+    private void assertLookupsMatchCells() {
+        final List<CellInformation<String>> cells = this.grid.getCellInformation();
+        for(CellInformation<String> cell : cells) {
+            Assert.assertEquals(Optional.of(cell), this.grid.getCellInformation(cell.getRow(), cell.getColumn()));
+            Assert.assertEquals(cells.stream().filter(other -> Objects.equals(other.getValue(), cell.getValue())).findFirst(), this.grid.getCellInformation(cell.getValue()));
+        }
+        for(int row = -1; row <= this.grid.getRowCount(); row++) {
+            final int currentRow = row;
+            Assert.assertEquals(cells.stream().filter(cell -> cell.getRow() == currentRow).toList(), this.grid.getRowCellInformation(row));
+        }
+        for(int column = -1; column <= this.grid.getColumnCount(); column++) {
+            final int currentColumn = column;
+            Assert.assertEquals(cells.stream().filter(cell -> cell.getColumn() == currentColumn).toList(), this.grid.getColumnCellInformation(column));
+        }
+        Assert.assertFalse(this.grid.getCellInformation("no such value").isPresent());
+        Assert.assertFalse(this.grid.getCellInformation(this.grid.getRowCount(), 0).isPresent());
+    }
+
+    @Test
+    public void testLookupsFollowChanges() {
+        this.grid.setItems("A", "B", "C", "D", "E", "F", "G");
+        this.assertLookupsMatchCells();
+        this.grid.setColumnCount(2);
+        this.assertLookupsMatchCells();
+        this.grid.setRowPaddingStrategy(RowPaddingStrategies.FIRST_ROW_FILL_BEGINNING);
+        this.assertLookupsMatchCells();
+        this.grid.setIncrementalRepaintEnabled(true);
+        this.grid.setItems("G", "B", "A", "H", "A");
+        this.assertLookupsMatchCells();
+        this.grid.setItems();
+        this.assertLookupsMatchCells();
+        Assert.assertTrue(this.grid.getRowCellInformation(0).isEmpty());
+    }
+
+    @Test
+    public void testLazyLoadingRendersOnlyRowsNearVisibleOnes() {
+        final List<String> items = IntStream.range(0, 1000).mapToObj(i -> "item"+i).toList();
+        final List<Integer> fetched = new ArrayList<>();
+        this.grid.setColumnCount(5);
+        this.grid.setDataProvider(DataProvider.fromCallbacks(query -> {
+            fetched.add(query.getLimit());
+            return items.stream().skip(query.getOffset()).limit(query.getLimit());
+        }, query -> items.size()));
+
+        // 200 rows, of which the first block and one block of overscan are rendered
+        Assert.assertEquals(200, this.grid.getRowCount());
+        Assert.assertEquals(200, this.grid.size());
+        Assert.assertEquals(Arrays.asList(100, 100), fetched);
+        Assert.assertTrue(this.grid.getCellInformation("item199").isPresent());
+        Assert.assertFalse(this.grid.getCellInformation("item200").isPresent());
+
+        // selecting something that is not rendered
+        this.grid.setValue("item900");
+        Assert.assertEquals(1, this.eventCounter);
+        Assert.assertEquals("item900", this.grid.getValue());
+        Assert.assertFalse(this.grid.getSelectedCellInformation().isPresent());
+
+        // scrolling to the end renders the last blocks and removes the first ones
+        this.grid.simulateBlockVisibility(9, true);
+        this.grid.simulateBlockVisibility(0, false);
+        Assert.assertEquals(200, this.grid.size());
+        Assert.assertFalse(this.grid.getCellInformation("item0").isPresent());
+        final CellInformation<String> selected = this.grid.getSelectedCellInformation().orElseThrow();
+        Assert.assertEquals("item900", selected.getValue());
+        Assert.assertEquals(180, selected.getRow());
+        Assert.assertTrue(selected.getComponent().getElement().getClassList().contains(ItemGrid.DEFAULT_SELECTED_ITEM_CLASS_NAME));
+        Assert.assertEquals(Optional.of(selected), this.grid.getCellInformation(180, 0));
+
+        this.grid.simulateCellClick(180, 1);
+        Assert.assertEquals(2, this.eventCounter);
+        Assert.assertEquals("item901", this.grid.getValue());
+        Assert.assertFalse(selected.getComponent().getElement().getClassList().contains(ItemGrid.DEFAULT_SELECTED_ITEM_CLASS_NAME));
+
+        // regular items turn lazy loading off
+        this.grid.setItems("A", "B");
+        Assert.assertFalse(this.grid.getDataProvider().isPresent());
+        Assert.assertEquals(1, this.grid.getRowCount());
+        Assert.assertEquals(2, this.grid.size());
+    }
+
+    @Test
+    public void testLazyLoadingFollowsDataProviderOnlyWhenAttached() {
+        final List<String> items = new ArrayList<>(Arrays.asList("A", "B", "C"));
+        final List<Integer> fetched = new ArrayList<>();
+        final DataProvider<String, Void> dataProvider = DataProvider.fromCallbacks(query -> {
+            fetched.add(query.getLimit());
+            return items.stream().skip(query.getOffset()).limit(query.getLimit());
+        }, query -> items.size());
+        this.grid.setDataProvider(dataProvider);
+        Assert.assertEquals(3, this.grid.size());
+
+        // not attached, so changes are not followed
+        fetched.clear();
+        items.add("D");
+        dataProvider.refreshAll();
+        Assert.assertTrue(fetched.isEmpty());
+        Assert.assertEquals(3, this.grid.size());
+
+        UI.getCurrent().add(this.grid);
+        dataProvider.refreshAll();
+        Assert.assertFalse(fetched.isEmpty());
+        Assert.assertEquals(4, this.grid.size());
+
+        // detaching stops listening
+        UI.getCurrent().remove(this.grid);
+        fetched.clear();
+        items.add("E");
+        dataProvider.refreshAll();
+        Assert.assertTrue(fetched.isEmpty());
+        Assert.assertEquals(4, this.grid.size());
+
+        // attaching again catches up with the changes
+        UI.getCurrent().add(this.grid);
+        Assert.assertFalse(fetched.isEmpty());
+        Assert.assertEquals(5, this.grid.size());
+    }
+
+    private static void fireDelegatedClick(Element element, int position) {
+        final ObjectNode data = JacksonUtils.createObjectNode();
+        data.put(ComponentTools.getDelegatedClickExpression(ItemGrid.CELL_POSITION_ATTRIBUTE), position);
+        element.getNode().getFeature(ElementListenerMap.class).fireEvent(new DomEvent(element, "click", data));
+    }
+
+    @Test
+    public void testDelegatedClickHandling() {
+        UI.getCurrent().add(this.grid);
+        this.grid.setDelegatedClickHandlingEnabled(true);
+        this.grid.setItems("A", "B", "C", "D", "E");
+        Assert.assertEquals("4", this.grid.getCellInformation("E").orElseThrow().getComponent().getElement().getAttribute(ItemGrid.CELL_POSITION_ATTRIBUTE));
+        final Element contents = this.grid.getCellInformation("A").orElseThrow().getComponent().getParent().orElseThrow().getParent().orElseThrow().getElement();
+
+        fireDelegatedClick(contents, 4);
+        Assert.assertEquals(1, this.eventCounter);
+        Assert.assertEquals("E", this.grid.getValue());
+        fireDelegatedClick(contents, -1);
+        Assert.assertEquals("clicks outside of cells should be ignored", 1, this.eventCounter);
+        fireDelegatedClick(contents, 4);
+        Assert.assertEquals(2, this.eventCounter);
+        Assert.assertNull(this.grid.getValue());
+
+        // moved cells are marked with their new positions
+        this.grid.setIncrementalRepaintEnabled(true);
+        this.grid.setItems("B", "C", "D", "E");
+        Assert.assertEquals("3", this.grid.getCellInformation("E").orElseThrow().getComponent().getElement().getAttribute(ItemGrid.CELL_POSITION_ATTRIBUTE));
+        fireDelegatedClick(contents, 3);
+        Assert.assertEquals("E", this.grid.getValue());
+
+        // disabled and invisible cells cannot be clicked, even if the browser reports them
+        this.grid.getCellInformation("D").orElseThrow().getComponent().getElement().setEnabled(false);
+        fireDelegatedClick(contents, 2);
+        Assert.assertEquals("E", this.grid.getValue());
+        this.grid.getCellInformation("C").orElseThrow().getComponent().setVisible(false);
+        fireDelegatedClick(contents, 1);
+        Assert.assertEquals("E", this.grid.getValue());
+
+        this.grid.setDelegatedClickHandlingEnabled(false);
+        Assert.assertTrue(this.grid.getCellComponents().noneMatch(component -> component.getElement().hasAttribute(ItemGrid.CELL_POSITION_ATTRIBUTE)));
+    }
+
+}
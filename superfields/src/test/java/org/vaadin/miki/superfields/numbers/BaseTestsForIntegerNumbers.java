@@ -7,12 +7,14 @@ import com.vaadin.flow.data.binder.Binder;
 import com.vaadin.flow.data.binder.ValidationResult;
 import com.vaadin.flow.data.binder.Validator;
 import com.vaadin.flow.data.binder.ValueContext;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.shared.Registration;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -417,4 +419,53 @@ class BaseTestsForIntegerNumbers<T extends Number> {
     Assert.assertTrue(this.field.getNegativeSignAlternatives().isEmpty());
   }
 
+  @Test
+  public void testFormatProfileSharedBetweenFields() {
+    final AbstractSuperNumberField<T, ?> other = this.fieldSupplier.get();
+    Assert.assertSame("fields with the same configuration must share the profile", this.field.getFormatProfile(), other.getFormatProfile());
+    other.setMaximumIntegerDigits(5);
+    Assert.assertNotSame("changing configuration must change the profile", this.field.getFormatProfile(), other.getFormatProfile());
+    Assert.assertEquals(5, other.getFormatProfile().getMaximumIntegerDigits());
+    this.field.setMaximumIntegerDigits(5);
+    Assert.assertSame("same configuration must result in the same profile", this.field.getFormatProfile(), other.getFormatProfile());
+    Assert.assertEquals(this.field.getRegexp(), other.getRegexp());
+  }
+
+  @Test
+  public void testFormatProfileFollowsAlternatives() {
+    final NumberFormatProfile before = this.field.getFormatProfile();
+    this.field.setNegativeSignAlternatives(Set.of('%'));
+    Assert.assertNotSame(before, this.field.getFormatProfile());
+    Assert.assertTrue(this.field.getFormatProfile().getNegativeSignAlternatives().contains('%'));
+    this.field.setNegativeSignAlternatives(Set.of());
+    Assert.assertSame(before, this.field.getFormatProfile());
+  }
+
+  @Test
+  public void testClientSideFormatting() {
+    Assert.assertFalse(this.field.isClientSideFormattingActive());
+    this.field.setValueChangeMode(ValueChangeMode.EAGER);
+    this.field.setClientSideFormatting(true);
+    Assert.assertTrue("client-side formatting must be active for plain formats", this.field.isClientSideFormattingActive());
+    Assert.assertEquals("value change mode must be kept", ValueChangeMode.EAGER, this.field.getValueChangeMode());
+
+    this.field.setValue(this.baseTestNumber);
+    Assert.assertEquals(new BigDecimal(this.baseTestNumber.toString()).toPlainString(), this.field.getElement().getProperty("canonicalValue"));
+
+    this.field.applyCanonicalValue(new BigDecimal(this.negativeTestNumber.toString()).toPlainString(), true);
+    Assert.assertEquals(0, new BigDecimal(this.negativeTestNumber.toString()).compareTo(new BigDecimal(this.field.getValue().toString())));
+
+    final String formatted = this.field.getRawValue();
+    Assert.assertFalse("raw value must be formatted on the server", formatted.isEmpty());
+
+    this.field.setClientSideFormatting(false);
+    Assert.assertFalse(this.field.isClientSideFormattingActive());
+    Assert.assertEquals(ValueChangeMode.EAGER, this.field.getValueChangeMode());
+    Assert.assertEquals("text field must show the value set while formatting in the browser", formatted, this.field.getRawValue());
+
+    this.field.setClientSideFormatting(true);
+    this.field.applyCanonicalValue("NaN", true);
+    Assert.assertEquals(this.field.getEmptyValue(), this.field.getValue());
+  }
+
 }
@@ -0,0 +1,102 @@
+package org.vaadin.miki.superfields.numbers;
+
+import com.github.mvysny.kaributesting.v10.MockVaadin;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.Set;
+
+public class NumberParserTest {
+
+  private static final String[] INPUTS = {
+      "0", "-0", "1", "-1", "12", "123", "1234", "12345678", "-12345678", "007", "-007",
+      "1#234", "1#234#567", "#123", "123#", "-#1", "12#34#5",
+      "1@5", "-1@5", "@5", "-@5", "0@0", "-0@0", "-0@000", "12@50", "12@00", "12@0001",
+      "3@14159265358979", "0@1", "0@2", "0@3", "-0@3", "0@000000000000000000000001",
+      "9007199254740993@5", "123456789012345678", "1234567890123456789", "123456789012345678901234",
+      "2147483648", "-2147483649", "9223372036854775807", "-9223372036854775808",
+      "1@2@3", "1@2#3", "1@23456789012345678",
+      "-", "@", "#", "-#", "-@", "--1", "1-", "1e5", "1E5", "a", "1a", "+1"
+  };
+
+  private final NumberParser parser = new NumberParser();
+
+  @Before
+  public void setUp() {
+    MockVaadin.setup();
+  }
+
+  @After
+  public void tearDown() {
+    MockVaadin.tearDown();
+  }
+
+  private static String localised(String input, DecimalFormat format) {
+    return input.replace('#', format.getDecimalFormatSymbols().getGroupingSeparator())
+        .replace('@', format.getDecimalFormatSymbols().getDecimalSeparator())
+        .replace('-', format.getDecimalFormatSymbols().getMinusSign());
+  }
+
+  private void checkSameAsDecimalFormat(NumberFormatProfile profile, Locale locale) {
+    final DecimalFormat format = (DecimalFormat) NumberFormat.getInstance(locale);
+    for (String input : INPUTS) {
+      final String text = localised(input, format);
+      Number expected;
+      try {
+        expected = format.parse(text);
+      } catch (ParseException pe) {
+        expected = null;
+      }
+      final NumberParser.Result result = this.parser.parse(text, profile);
+      if (expected == null)
+        Assert.assertNotEquals("parser must not accept " + text + " for " + locale, NumberParser.Result.NUMBER, result);
+      else if (result == NumberParser.Result.NUMBER) {
+        Assert.assertEquals(text + " for " + locale, expected.intValue(), this.parser.intValue());
+        Assert.assertEquals(text + " for " + locale, expected.longValue(), this.parser.longValue());
+        Assert.assertEquals(text + " for " + locale, Double.doubleToRawLongBits(expected.doubleValue()), Double.doubleToRawLongBits(this.parser.doubleValue()));
+      }
+      else Assert.assertEquals("parser must not reject " + text + " for " + locale, NumberParser.Result.UNSUPPORTED, result);
+    }
+  }
+
+  @Test
+  public void testSameResultsAsDecimalFormat() {
+    for (Locale locale : new Locale[]{Locale.ENGLISH, Locale.GERMANY, Locale.FRANCE, new Locale("pl", "PL"), new Locale("de", "CH"), new Locale("sv", "SE")})
+      this.checkSameAsDecimalFormat(new SuperDoubleField(locale).getFormatProfile(), locale);
+  }
+
+  @Test
+  public void testInvalidInputIsReportedWithoutException() {
+    final NumberFormatProfile profile = new SuperIntegerField(Locale.ENGLISH).getFormatProfile();
+    Assert.assertEquals(NumberParser.Result.INVALID, this.parser.parse("-", profile));
+    Assert.assertEquals(NumberParser.Result.INVALID, this.parser.parse(",", profile));
+  }
+
+  @Test
+  public void testAlternativesAreRecognised() {
+    final SuperDoubleField field = new SuperDoubleField(Locale.ENGLISH)
+        .withGroupingSeparatorAlternatives('_')
+        .withNegativeSignAlternatives('~');
+    field.setDecimalSeparatorAlternatives(Set.of(';'));
+    Assert.assertEquals(NumberParser.Result.NUMBER, this.parser.parse("~1_234;5", field.getFormatProfile()));
+    Assert.assertEquals(-1234.5, this.parser.doubleValue(), 0);
+  }
+
+  @Test
+  public void testFieldsStillParseWithOverriddenMethod() {
+    final SuperIntegerField field = new SuperIntegerField(Locale.ENGLISH) {
+      @Override
+      protected Integer parseRawValue(String rawValue, DecimalFormat format) {
+        return 42;
+      }
+    };
+    Assert.assertEquals(Integer.valueOf(42), field.generateModelValue());
+  }
+
+}
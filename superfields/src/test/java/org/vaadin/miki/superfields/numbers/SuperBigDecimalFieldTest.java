@@ -23,6 +23,20 @@ public class SuperBigDecimalFieldTest extends BaseTestsForFloatingPointNumbers<B
             "-0,4e2", BigDecimal.valueOf(-40)
     );
 
+    /**
+     * A field that understands one word, on top of what the regular field does.
+     */
+    private static final class WordyBigDecimalField extends SuperBigDecimalField {
+        private WordyBigDecimalField() {
+            super(Locale.ENGLISH);
+        }
+
+        @Override
+        protected BigDecimal parseRawValue(String rawValue, DecimalFormat format) throws ParseException {
+            return "ten".equals(rawValue) ? BigDecimal.TEN : super.parseRawValue(rawValue, format);
+        }
+    }
+
     public SuperBigDecimalFieldTest() {
         super(
                 ()->new SuperBigDecimalField(new Locale("pl", "PL"), 5),
@@ -184,4 +198,44 @@ public class SuperBigDecimalFieldTest extends BaseTestsForFloatingPointNumbers<B
         }
     }
 
+    @Test
+    public void testParsingKeepsScaleAndDoesNotModifyFormat() throws ParseException {
+        final DecimalFormat format = (DecimalFormat) DecimalFormat.getInstance(Locale.ENGLISH);
+        this.getField().setDecimalFormat(format);
+        this.getField().setMaximumFractionDigits(5);
+        Assert.assertEquals(new BigDecimal("1234.50"), this.getField().parseRawValue("1,234.50"));
+        Assert.assertEquals(new BigDecimal("12.0"), this.getField().parseRawValue("12."));
+        Assert.assertEquals(new BigDecimal("0.00"), this.getField().parseRawValue("-0.00"));
+        Assert.assertEquals(new BigDecimal("123456789012345678901234.5"), this.getField().parseRawValue("123456789012345678901234.5"));
+        Assert.assertFalse("parsing must not modify the format", format.isParseBigDecimal());
+        // formats with a prefix are still parsed by the format itself
+        format.setPositivePrefix("$");
+        this.getField().setDecimalFormat(format);
+        Assert.assertEquals(new BigDecimal("12.5"), this.getField().parseRawValue("$12.5"));
+        Assert.assertFalse("parsing must not modify the format", format.isParseBigDecimal());
+    }
+
+    @Test
+    public void testScientificNotationFollowsExponentSettings() throws ParseException {
+        this.getField().withLocale(Locale.ENGLISH)
+            .withMaximumExponentDigits(2)
+            .withExponentSeparator('x');
+        Assert.assertEquals(new BigDecimal("1.50E+3"), this.getField().parseRawValue("1.50x3"));
+        Assert.assertEquals(new BigDecimal("2.5E-12"), this.getField().parseRawValue("2.5X-12"));
+        Assert.assertEquals(new BigDecimal("4E+0"), this.getField().parseRawValue("4x"));
+        Assert.assertThrows(ParseException.class, () -> this.getField().parseRawValue("1x123"));
+        this.getField().setNegativeExponentAllowed(false);
+        Assert.assertThrows(ParseException.class, () -> this.getField().parseRawValue("1x-2"));
+        this.getField().setMaximumExponentDigits(0);
+        Assert.assertThrows(ParseException.class, () -> this.getField().parseRawValue("1x2"));
+    }
+
+    @Test
+    public void testOverriddenParsingIsNotBypassed() throws ParseException {
+        final WordyBigDecimalField field = new WordyBigDecimalField();
+        Assert.assertEquals(BigDecimal.TEN, field.parseRawValue("ten"));
+        Assert.assertEquals(new BigDecimal("1234.5"), field.parseRawValue("1,234.5"));
+        Assert.assertThrows(ParseException.class, () -> field.parseRawValue("eleven"));
+    }
+
 }
\ No newline at end of file
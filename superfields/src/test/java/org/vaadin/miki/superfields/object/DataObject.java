@@ -8,6 +8,7 @@ import org.vaadin.miki.superfields.util.factory.FieldCaption;
 import org.vaadin.miki.superfields.util.factory.FieldGroup;
 import org.vaadin.miki.superfields.util.factory.FieldOrder;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -20,7 +21,7 @@ import java.util.Objects;
  * @author miki
  * @since 2022-06-23
  */
-public class DataObject implements DataInterface {
+public class DataObject implements DataInterface, Serializable {
 
     public static DataObject build() {
         try {
@@ -0,0 +1,76 @@
+package org.vaadin.miki.superfields.object;
+
+import com.github.mvysny.kaributesting.v10.MockVaadin;
+import com.vaadin.flow.component.HasLabel;
+import com.vaadin.flow.component.HasValue;
+import com.vaadin.flow.component.orderedlayout.FlexLayout;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.vaadin.miki.superfields.util.factory.FormPlan;
+import org.vaadin.miki.superfields.util.factory.ObjectFieldFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author miki
+ * @since 2026-10-18
+ */
+public class FormPlanTest {
+
+    private ObjectFieldFactory factory;
+
+    @Before
+    public void setup() {
+        MockVaadin.setup();
+        this.factory = new ObjectFieldFactory();
+    }
+
+    @After
+    public void tearDown() {
+        MockVaadin.tearDown();
+    }
+
+    @Test
+    public void testFormPlanReusedForFieldsOfSameType() {
+        final ObjectField<DataObject> first = this.factory.buildAndConfigureObjectField(DataObject.class);
+        final ObjectField<DataObject> second = this.factory.buildAndConfigureObjectField(DataObject.class);
+        final FormPlan<DataObject> plan = this.factory.getFormPlan(DataObject.class);
+        Assert.assertSame(plan.getPropertyProvider(), first.getPropertyProvider());
+        Assert.assertSame(plan.getPropertyProvider(), second.getPropertyProvider());
+
+        // everything is resolved in advance
+        Assert.assertEquals(DataObjectConfiguration.EXPECTED_FIELDS.size(), plan.getPropertyPlans().size());
+        plan.getPropertyPlans().forEach(propertyPlan -> {
+            Assert.assertEquals(DataObjectConfiguration.EXPECTED_CAPTIONS.get(propertyPlan.getProperty().getName()), propertyPlan.getLabel());
+            Assert.assertTrue(propertyPlan.getFieldBuilder().isPresent());
+        });
+        Assert.assertArrayEquals(new String[]{"stylish"}, plan.getPropertyPlans().stream().filter(propertyPlan -> "currency".equals(propertyPlan.getProperty().getName())).findFirst().orElseThrow().getStyleNames());
+
+        // both fields look the same
+        final List<String> firstNames = new ArrayList<>();
+        final List<String> secondNames = new ArrayList<>();
+        first.getPropertiesAndComponents().keySet().forEach(property -> firstNames.add(property.getName()));
+        second.getPropertiesAndComponents().keySet().forEach(property -> secondNames.add(property.getName()));
+        Assert.assertEquals(firstNames, secondNames);
+        Assert.assertEquals(first.getGroupLayouts().keySet(), second.getGroupLayouts().keySet());
+        for (Map.Entry<Property<DataObject, ?>, HasValue<?, ?>> entry : second.getPropertiesAndComponents().entrySet()) {
+            Assert.assertTrue(DataObjectConfiguration.EXPECTED_FIELDS.get(entry.getKey().getName()).isInstance(entry.getValue()));
+            Assert.assertEquals(DataObjectConfiguration.EXPECTED_CAPTIONS.get(entry.getKey().getName()), ((HasLabel) entry.getValue()).getLabel());
+        }
+    }
+
+    @Test
+    public void testFormPlanDroppedWhenConfigurationChanges() {
+        final FormPlan<DataObject> plan = this.factory.getFormPlan(DataObject.class);
+        Assert.assertSame(plan, this.factory.getFormPlan(DataObject.class));
+        this.factory.setObjectFieldGroupLayoutProvider(FlexLayout::new);
+        final FormPlan<DataObject> newPlan = this.factory.getFormPlan(DataObject.class);
+        Assert.assertNotSame(plan, newPlan);
+        Assert.assertSame(newPlan, this.factory.getFormPlan(DataObject.class));
+    }
+
+}
@@ -5,16 +5,25 @@ import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.HasLabel;
 import com.vaadin.flow.component.HasStyle;
 import com.vaadin.flow.component.HasValue;
+import com.vaadin.flow.function.SerializableBiConsumer;
+import com.vaadin.flow.function.SerializableFunction;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.vaadin.miki.superfields.util.factory.MetadataProperties;
 import org.vaadin.miki.superfields.util.factory.ObjectFieldFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -36,6 +45,8 @@ public class ObjectFieldTest {
         else return null;
     }
 
+    private static final int SERIALISED_SIZE_BUDGET = 128 * 1024;
+
     private ObjectField<DataObject> field;
 
     @Before
@@ -116,4 +127,231 @@ public class ObjectFieldTest {
         this.field.getPropertiesAndComponents().forEach((def, component) -> Assert.assertEquals(String.format("value of property %s differs", def.getName()), def.getGetter().get().apply(value), component.getValue()));
     }
 
-}
\ No newline at end of file
+    private static <T, P> Property<T, P> copyOf(Property<T, P> property, PropertyMetadata... extraMetadata) {
+        // new lambdas every time, just like a provider that does not cache anything
+        final List<PropertyMetadata> metadata = new ArrayList<>(property.getMetadata().values());
+        metadata.removeIf(data -> Stream.of(extraMetadata).anyMatch(extra -> extra.getName().equals(data.getName())));
+        metadata.addAll(List.of(extraMetadata));
+        return new Property<>(property.getOwner(), property.getName(), property.getType(),
+                property.getSetter().map(setter -> (SerializableBiConsumer<T, P>) (object, value) -> setter.accept(object, value)).orElse(null),
+                property.getGetter().map(getter -> (SerializableFunction<T, P>) object -> getter.apply(object)).orElse(null),
+                metadata);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testComponentsReusedWhenPropertiesHaveSameStructure() {
+        final PropertyProvider original = this.field.getPropertyProvider();
+        final String[] caption = new String[1];
+        this.field.setPropertyProvider(new PropertyProvider() {
+            @Override
+            public <T> List<Property<T, ?>> getObjectPropertyDefinitions(Class<T> type, T instance) {
+                return original.getObjectPropertyDefinitions(type, instance).stream()
+                        .<Property<T, ?>>map(property -> caption[0] != null && "description".equals(property.getName()) ? copyOf(property, new PropertyMetadata(MetadataProperties.CAPTION_METADATA_PROPERTY, String.class, caption[0])) : copyOf(property))
+                        .toList();
+            }
+        });
+        this.field.setValue(DataObject.build());
+        final Map<String, HasValue<?, ?>> components = new HashMap<>();
+        this.field.getPropertiesAndComponents().forEach((property, component) -> components.put(property.getName(), component));
+        final List<Component> layouts = List.copyOf(this.field.getGroupLayouts().values());
+
+        // definitions are different objects, but nothing should be rebuilt
+        final DataObject value = new DataObject();
+        value.setText("another value");
+        this.field.setValue(value);
+        Assert.assertEquals(components.size(), this.field.getPropertiesAndComponents().size());
+        this.field.getPropertiesAndComponents().forEach((property, component) -> Assert.assertSame(components.get(property.getName()), component));
+        Assert.assertEquals(layouts, List.copyOf(this.field.getGroupLayouts().values()));
+        Assert.assertEquals("another value", components.get("text").getValue());
+        // and new setters are used
+        ((HasValue<?, String>) components.get("text")).setValue("typed in");
+        Assert.assertEquals("typed in", this.field.getValue().getText());
+
+        // once metadata of one property changes, only that component is replaced
+        caption[0] = "changed";
+        final DataObject last = DataObject.build();
+        this.field.setValue(last);
+        Assert.assertEquals(components.size(), this.field.getPropertiesAndComponents().size());
+        this.field.getPropertiesAndComponents().forEach((property, component) -> {
+            if("description".equals(property.getName())) {
+                Assert.assertNotSame(components.get(property.getName()), component);
+                Assert.assertEquals("changed", extractLabel(component));
+            }
+            else Assert.assertSame(components.get(property.getName()), component);
+            Assert.assertTrue(((Component) component).getParent().isPresent());
+        });
+        Assert.assertEquals(last.getDescription(), this.field.getPropertiesAndComponents().entrySet().stream().filter(entry -> "description".equals(entry.getKey().getName())).findFirst().orElseThrow().getValue().getValue());
+    }
+
+    private static DataObject copyOf(DataObject object) {
+        final DataObject result = new DataObject();
+        result.setText(object.getText());
+        result.setDate(object.getDate());
+        result.setTimestamp(object.getTimestamp());
+        result.setCheck(object.isCheck());
+        result.setNumber(object.getNumber());
+        result.setCurrency(object.getCurrency());
+        result.setDescription(object.getDescription());
+        result.setHidden(object.getHidden());
+        return result;
+    }
+
+    private void countSetterCalls(Map<String, Integer> counters) {
+        final PropertyProvider original = this.field.getPropertyProvider();
+        this.field.setPropertyProvider(new PropertyProvider() {
+            @Override
+            public <T> List<Property<T, ?>> getObjectPropertyDefinitions(Class<T> type, T instance) {
+                return original.getObjectPropertyDefinitions(type, instance).stream()
+                        .<Property<T, ?>>map(property -> countingSetterOf(property, counters))
+                        .toList();
+            }
+        });
+    }
+
+    private static <T, P> Property<T, P> countingSetterOf(Property<T, P> property, Map<String, Integer> counters) {
+        return new Property<>(property.getOwner(), property.getName(), property.getType(),
+                property.getSetter().map(setter -> (SerializableBiConsumer<T, P>) (object, value) -> {
+                    counters.merge(property.getName(), 1, Integer::sum);
+                    setter.accept(object, value);
+                }).orElse(null),
+                property.getGetter().orElse(null),
+                List.copyOf(property.getMetadata().values()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOnlyChangedPropertiesSetOnCopy() {
+        final Map<String, Integer> counters = new HashMap<>();
+        this.countSetterCalls(counters);
+        this.field.setModelValueCopier(ObjectFieldTest::copyOf);
+        final DataObject value = DataObject.build();
+        value.setHidden(7);
+        this.field.setValue(value);
+        Assert.assertTrue(counters.isEmpty());
+
+        final List<DataObject> values = new ArrayList<>();
+        this.field.addValueChangeListener(event -> values.add(event.getValue()));
+        final HasValue<?, String> text = (HasValue<?, String>) this.field.getPropertiesAndComponents().entrySet().stream()
+                .filter(entry -> "text".equals(entry.getKey().getName())).findFirst().orElseThrow().getValue();
+        text.setValue("changed text");
+        Assert.assertEquals(Map.of("text", 1), counters);
+        Assert.assertEquals(1, values.size());
+        final DataObject result = values.get(0);
+        Assert.assertNotSame(value, result);
+        Assert.assertEquals("changed text", result.getText());
+        // everything else is copied, even the property that is not shown
+        value.setText("changed text");
+        Assert.assertEquals(value, result);
+        Assert.assertEquals(7, result.getHidden(), 0.0f);
+
+        // next change sets only the changed property again
+        text.setValue("again");
+        Assert.assertEquals(Map.of("text", 2), counters);
+        Assert.assertEquals("again", this.field.getValue().getText());
+        Assert.assertEquals("changed text", result.getText());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testChangedPropertiesSetInPlace() {
+        this.field.withModelValueCopier(SerializableFunction.identity()).setValue(DataObject.build());
+        final DataObject value = this.field.getValue();
+        final List<DataObject> values = new ArrayList<>();
+        this.field.addValueChangeListener(event -> values.add(event.getValue()));
+        final HasValue<?, String> description = (HasValue<?, String>) this.field.getPropertiesAndComponents().entrySet().stream()
+                .filter(entry -> "description".equals(entry.getKey().getName())).findFirst().orElseThrow().getValue();
+        description.setValue("modified in place");
+        Assert.assertEquals(1, values.size());
+        Assert.assertSame(value, values.get(0));
+        Assert.assertSame(value, this.field.getValue());
+        Assert.assertEquals("modified in place", value.getDescription());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSerialisedWithinBudget() throws IOException, ClassNotFoundException {
+        final ObjectField<DataObject> original = new ObjectField<>(DataObject.class, DataObject::new);
+        final DataObject value = new DataObject();
+        value.setText("serialised");
+        value.setNumber(2026);
+        value.setCurrency(BigDecimal.valueOf(1018));
+        original.setValue(value);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(original);
+        }
+        // getters and setters are written as class and method names only
+        Assert.assertTrue("serialised field takes "+bytes.size()+" bytes", bytes.size() < SERIALISED_SIZE_BUDGET);
+
+        final ObjectField<DataObject> copy;
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (ObjectField<DataObject>) input.readObject();
+        }
+        Assert.assertEquals(value, copy.getValue());
+        Assert.assertEquals(original.getPropertiesAndComponents().size(), copy.getPropertiesAndComponents().size());
+        // accessors work after deserialisation
+        final DataObject other = new DataObject();
+        copy.getPropertiesAndComponents().keySet().forEach(property -> property.getSetter().ifPresent(setter ->
+                ((SerializableBiConsumer<DataObject, Object>) setter).accept(other, property.getGetter().orElseThrow().apply(value))));
+        Assert.assertEquals(value, other);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGroupsBuiltLazily() {
+        final DataObject value = new DataObject();
+        value.setText("hello, lazy world");
+        value.setCheck(true);
+        value.setDescription("Only some components are built.");
+        value.setCurrency(BigDecimal.valueOf(4321));
+        value.setDate(LocalDate.of(2022, 6, 23));
+        value.setNumber(1992);
+        value.setTimestamp(LocalDateTime.of(2020, 5, 3, 17, 3, 0));
+        // configurators of all components get all the components built so far
+        final List<Integer> configuredSizes = new ArrayList<>();
+        this.field.addComponentGroupConfigurators(new ComponentGroupConfigurator() {
+            @Override
+            public <X> void configureComponentGroup(X object, String groupName, List<Property<X, ?>> definitions, List<? extends HasValue<?, ?>> components) {
+                if (groupName == null)
+                    configuredSizes.add(components.size());
+            }
+        });
+        this.field.withLazyGroups(true).setValue(value);
+        Assert.assertEquals(List.of(4), configuredSizes);
+        // groups have layouts, but no components
+        Assert.assertEquals(2, this.field.getGroupLayouts().size());
+        Assert.assertFalse(this.field.isGroupBuilt("currency-check"));
+        Assert.assertFalse(this.field.isGroupBuilt("random-group"));
+        Assert.assertEquals(0, this.field.getGroupLayouts().get("currency-check").getChildren().count());
+        Assert.assertArrayEquals(new String[]{"text", "description", "timestamp", "fixed"},
+                this.field.getPropertiesAndComponents().keySet().stream().map(Property::getName).toArray(String[]::new));
+
+        // properties of groups that are not built are kept
+        final HasValue<?, String> text = (HasValue<?, String>) this.field.getPropertiesAndComponents().entrySet().stream()
+                .filter(entry -> "text".equals(entry.getKey().getName())).findFirst().orElseThrow().getValue();
+        text.setValue("lazy");
+        Assert.assertNotSame(value, this.field.getValue());
+        value.setText("lazy");
+        Assert.assertEquals(value, this.field.getValue());
+
+        // building a group shows the current value and keeps the order of components
+        this.field.buildGroup("currency-check");
+        Assert.assertTrue(this.field.isGroupBuilt("currency-check"));
+        Assert.assertEquals(List.of(4, 6), configuredSizes);
+        Assert.assertEquals(2, this.field.getGroupLayouts().get("currency-check").getChildren().count());
+        Assert.assertArrayEquals(new String[]{"text", "description", "check", "currency", "timestamp", "fixed"},
+                this.field.getPropertiesAndComponents().keySet().stream().map(Property::getName).toArray(String[]::new));
+        this.field.getPropertiesAndComponents().forEach((def, component) -> Assert.assertEquals(def.getGetter().orElseThrow().apply(value), component.getValue()));
+        Assert.assertEquals(value, this.field.getValue());
+
+        // turning the lazy mode off builds everything
+        this.field.setLazyGroups(false);
+        Assert.assertTrue(this.field.isGroupBuilt("random-group"));
+        Assert.assertEquals(List.of(4, 6, 8), configuredSizes);
+        Assert.assertArrayEquals(new String[]{"text", "description", "check", "currency", "timestamp", "date", "number", "fixed"},
+                this.field.getPropertiesAndComponents().keySet().stream().map(Property::getName).toArray(String[]::new));
+    }
+
+}
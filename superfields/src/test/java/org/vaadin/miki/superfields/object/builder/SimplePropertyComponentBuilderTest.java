@@ -0,0 +1,75 @@
+package org.vaadin.miki.superfields.object.builder;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.vaadin.miki.superfields.object.Property;
+import org.vaadin.miki.superfields.text.LabelField;
+
+import java.util.function.Predicate;
+
+/**
+ * @author miki
+ * @since 2026-10-18
+ */
+public class SimplePropertyComponentBuilderTest {
+
+    private static final FieldBuilder<Object> NUMBER = property -> new LabelField<>();
+    private static final FieldBuilder<Object> EXACT_INT = property -> new LabelField<>();
+    private static final FieldBuilder<Object> NAMED = property -> new LabelField<>();
+    private static final FieldBuilder<Object> TEXT = property -> new LabelField<>();
+
+    private static <P> Property<Object, P> property(String name, Class<P> type) {
+        return new Property<>(Object.class, name, type, null, null);
+    }
+
+    private SimplePropertyComponentBuilder builder;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.builder = new SimplePropertyComponentBuilder()
+                .withRegisteredBuilder(property -> "special".equals(property.getName()), NAMED)
+                .withRegisteredBuilder((Predicate<Property<?, Object>>) (Predicate<?>) SimplePropertyComponentBuilder.isExactlyTypeIgnoringBoxing(int.class), EXACT_INT)
+                .withRegisteredBuilder((Predicate<Property<?, Object>>) (Predicate<?>) SimplePropertyComponentBuilder.isOfTypeIgnoringBoxing(Number.class), NUMBER)
+                .withRegisteredBuilder((Predicate<Property<?, Object>>) (Predicate<?>) SimplePropertyComponentBuilder.isExactlyType(String.class), TEXT);
+    }
+
+    @Test
+    public void testTypesMatchedIgnoringBoxing() {
+        Assert.assertSame(EXACT_INT, this.builder.findFieldBuilder(property("primitive", int.class)));
+        Assert.assertSame(EXACT_INT, this.builder.findFieldBuilder(property("boxed", Integer.class)));
+        Assert.assertSame(NUMBER, this.builder.findFieldBuilder(property("primitive", long.class)));
+        Assert.assertSame(NUMBER, this.builder.findFieldBuilder(property("boxed", Double.class)));
+        Assert.assertSame(TEXT, this.builder.findFieldBuilder(property("text", String.class)));
+        // exact type only
+        Assert.assertSame(this.builder.getDefaultBuilder(), this.builder.findFieldBuilder(property("characters", CharSequence.class)));
+        Assert.assertSame(this.builder.getDefaultBuilder(), this.builder.findFieldBuilder(property("check", boolean.class)));
+    }
+
+    @Test
+    public void testPredicatesRegisteredEarlierTakePrecedence() {
+        // the same type is looked up twice, with different results
+        Assert.assertSame(EXACT_INT, this.builder.findFieldBuilder(property("number", int.class)));
+        Assert.assertSame(NAMED, this.builder.findFieldBuilder(property("special", int.class)));
+        Assert.assertSame(NAMED, this.builder.findFieldBuilder(property("special", Object.class)));
+        Assert.assertSame(this.builder.getDefaultBuilder(), this.builder.findFieldBuilder(property("other", Object.class)));
+    }
+
+    @Test
+    public void testLookupsForgottenWhenBuildersChange() {
+        Assert.assertSame(this.builder.getDefaultBuilder(), this.builder.findFieldBuilder(property("check", boolean.class)));
+        Assert.assertSame(EXACT_INT, this.builder.findFieldBuilder(property("number", int.class)));
+
+        final FieldBuilder<Boolean> check = property -> new LabelField<>();
+        this.builder.registerBuilderIgnoringBoxing(Boolean.class, check);
+        Assert.assertSame(check, this.builder.findFieldBuilder(property("check", boolean.class)));
+
+        // changes made through the map also count
+        this.builder.getRegisteredBuilders().keySet().removeIf(predicate -> this.builder.getRegisteredBuilders().get(predicate) == EXACT_INT);
+        Assert.assertSame(NUMBER, this.builder.findFieldBuilder(property("number", int.class)));
+        this.builder.getRegisteredBuilders().clear();
+        Assert.assertSame(this.builder.getDefaultBuilder(), this.builder.findFieldBuilder(property("number", int.class)));
+    }
+
+}
@@ -6,9 +6,12 @@ import org.vaadin.miki.superfields.object.DataObject;
 import org.vaadin.miki.superfields.util.factory.FieldGroup;
 import org.vaadin.miki.superfields.util.factory.FieldOrder;
 import org.vaadin.miki.superfields.object.Property;
+import org.vaadin.miki.superfields.object.PropertyMetadata;
 import org.vaadin.miki.superfields.object.PropertyProvider;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
@@ -72,4 +75,20 @@ public class ReflectiveDefinitionProviderTest {
         );
     }
 
+    @Test
+    public void testAnnotationsFoundAgainAfterRegistering() throws NoSuchFieldException, NoSuchMethodException {
+        final AnnotationMetadataProvider provider = new AnnotationMetadataProvider()
+                .withRegisteredAnnotation("order", FieldOrder.class, int.class, FieldOrder::value);
+        final Collection<PropertyMetadata> first = provider.getMetadata("date", DataObject.class.getDeclaredField("date"), DataObject.class.getMethod("setDate", LocalDate.class), DataObject.class.getMethod("getDate"));
+        Assert.assertEquals(Set.of(new PropertyMetadata("order", int.class, 11)), Set.copyOf(first));
+        // the same metadata is found on the second call
+        Assert.assertEquals(Set.copyOf(first), Set.copyOf(provider.getMetadata("date", DataObject.class.getDeclaredField("date"), DataObject.class.getMethod("setDate", LocalDate.class), DataObject.class.getMethod("getDate"))));
+
+        provider.registerAnnotation("group", String.class, FieldGroup.class, FieldGroup::value);
+        Assert.assertEquals(Set.of(new PropertyMetadata("order", int.class, 11), new PropertyMetadata("group", String.class, "random-group")),
+                Set.copyOf(provider.getMetadata("date", DataObject.class.getDeclaredField("date"), DataObject.class.getMethod("setDate", LocalDate.class), DataObject.class.getMethod("getDate"))));
+        // nothing to find, nothing to return
+        Assert.assertTrue(provider.getMetadata("text", DataObject.class.getDeclaredField("text"), null, null).isEmpty());
+    }
+
 }
\ No newline at end of file
@@ -7,7 +7,16 @@ import org.vaadin.miki.superfields.object.DataObject;
 import org.vaadin.miki.superfields.object.DataObjectConfiguration;
 import org.vaadin.miki.superfields.object.Property;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 
 public class ReflectivePropertyProviderTest {
 
@@ -19,4 +28,116 @@ public class ReflectivePropertyProviderTest {
         DataObjectConfiguration.EXPECTED_FIELDS.keySet().forEach(name -> Assert.assertTrue(String.format("did not find property %s", name), definitions.stream().anyMatch(prop -> name.equals(prop.getName()))));
     }
 
-}
\ No newline at end of file
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAccessorsCallMethods() {
+        final List<Property<DataObject, ?>> definitions = new ReflectivePropertyProvider().getObjectPropertyDefinitions(DataObject.class, null);
+        final DataObject object = new DataObject();
+        final Property<DataObject, Object> text = (Property<DataObject, Object>) definitions.stream().filter(prop -> "text".equals(prop.getName())).findFirst().orElseThrow();
+        final Property<DataObject, Object> number = (Property<DataObject, Object>) definitions.stream().filter(prop -> "number".equals(prop.getName())).findFirst().orElseThrow();
+        final Property<DataObject, Object> check = (Property<DataObject, Object>) definitions.stream().filter(prop -> "check".equals(prop.getName())).findFirst().orElseThrow();
+
+        text.getSetter().orElseThrow().accept(object, "this is text");
+        number.getSetter().orElseThrow().accept(object, 42);
+        check.getSetter().orElseThrow().accept(object, true);
+        Assert.assertEquals("this is text", object.getText());
+        Assert.assertEquals(42, object.getNumber());
+        Assert.assertTrue(object.isCheck());
+        Assert.assertEquals("this is text", text.getGetter().orElseThrow().apply(object));
+        Assert.assertEquals(42, number.getGetter().orElseThrow().apply(object));
+        Assert.assertEquals(true, check.getGetter().orElseThrow().apply(object));
+    }
+
+    @Test
+    public void testAccessorsFallBackToReflection() throws NoSuchMethodException {
+        // java.lang is not open, so the method cannot be called directly
+        Assert.assertEquals(Integer.valueOf(4), MethodAccessors.<String, Integer>getter(String.class.getMethod("length")).apply("text"));
+        final StringBuilder builder = new StringBuilder();
+        MethodAccessors.<StringBuilder, Integer>setter(StringBuilder.class.getMethod("setLength", int.class)).accept(builder.append("text"), 2);
+        Assert.assertEquals("te", builder.toString());
+    }
+
+    /**
+     * A class with a getter that always fails.
+     */
+    public static class Failing {
+        public String getFailure() {
+            throw new UnsupportedOperationException("failure");
+        }
+
+        public void setCount(int count) {
+            // nothing to do, only the argument matters
+        }
+    }
+
+    private static void assertWrapped(Runnable call, String methodName, Class<? extends Throwable> cause) {
+        try {
+            call.run();
+            Assert.fail("the call should have failed");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("cannot access method "+methodName, e.getMessage());
+            Assert.assertEquals(cause, e.getCause().getClass());
+        }
+    }
+
+    @Test
+    public void testAccessorsWrapExceptionsTheSameWay() throws NoSuchMethodException {
+        final Method getFailure = Failing.class.getMethod("getFailure");
+        final Method get = Optional.class.getMethod("get");
+        final Method setCount = Failing.class.getMethod("setCount", int.class);
+        final Method setLength = StringBuilder.class.getMethod("setLength", int.class);
+        // called directly
+        assertWrapped(() -> MethodAccessors.getter(getFailure).apply(new Failing()), "getFailure", UnsupportedOperationException.class);
+        assertWrapped(() -> MethodAccessors.setter(setCount).accept(new Failing(), null), "setCount", NullPointerException.class);
+        // called through reflection, as java.util and java.lang are not open
+        assertWrapped(() -> MethodAccessors.getter(get).apply(Optional.empty()), "get", NoSuchElementException.class);
+        assertWrapped(() -> MethodAccessors.setter(setLength).accept(new StringBuilder(), -1), "setLength", StringIndexOutOfBoundsException.class);
+        // arguments rejected before the method is called
+        assertWrapped(() -> MethodAccessors.setter(setLength).accept(new StringBuilder(), null), "setLength", IllegalArgumentException.class);
+        assertWrapped(() -> MethodAccessors.getter(get).apply(null), "get", NullPointerException.class);
+    }
+
+    @Test
+    public void testProvidersShareAccessorsButNotSettings() {
+        final ReflectivePropertyProvider first = new ReflectivePropertyProvider();
+        final ReflectivePropertyProvider second = new ReflectivePropertyProvider().withUsingFakeSettersWhenNotPresent(true);
+        final List<Property<DataObject, ?>> firstDefinitions = first.getObjectPropertyDefinitions(DataObject.class, null);
+        final List<Property<DataObject, ?>> secondDefinitions = second.getObjectPropertyDefinitions(DataObject.class, null);
+        // results are cached per provider
+        Assert.assertSame(firstDefinitions, first.getObjectPropertyDefinitions(DataObject.class, null));
+        Assert.assertEquals(firstDefinitions.size(), secondDefinitions.size());
+        for (Property<DataObject, ?> property : firstDefinitions) {
+            final Property<DataObject, ?> other = secondDefinitions.stream().filter(prop -> prop.getName().equals(property.getName())).findFirst().orElseThrow();
+            // accessors are shared
+            Assert.assertSame(property.getGetter().orElse(null), other.getGetter().orElse(null));
+            if (property.getSetter().isPresent())
+                Assert.assertSame(property.getSetter().get(), other.getSetter().orElseThrow());
+            // but fake setters are only present in the second provider
+            else Assert.assertTrue(other.getSetter().isPresent());
+        }
+        Assert.assertTrue(firstDefinitions.stream().anyMatch(prop -> prop.getSetter().isEmpty()));
+    }
+
+    @Test
+    public void testAccessorsSerialisedAsNames() throws IOException, ClassNotFoundException, NoSuchMethodException {
+        final Object getter = MethodAccessors.getter(DataObject.class.getMethod("getText"));
+        final Object setter = MethodAccessors.setter(DataObject.class.getMethod("setText", String.class));
+        final Object reflective = MethodAccessors.getter(String.class.getMethod("length"));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(getter);
+            output.writeObject(setter);
+            output.writeObject(reflective);
+        }
+        Assert.assertTrue("accessors take "+bytes.size()+" bytes", bytes.size() < 1024);
+
+        // deserialised accessors are the very same objects
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Assert.assertSame(getter, input.readObject());
+            Assert.assertSame(setter, input.readObject());
+            Assert.assertSame(reflective, input.readObject());
+        }
+    }
+
+}
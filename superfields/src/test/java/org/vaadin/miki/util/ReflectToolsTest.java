@@ -9,6 +9,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.vaadin.miki.superfields.object.DataObject;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
@@ -23,6 +24,62 @@ public class ReflectToolsTest {
 
     }
 
+    public static class DescribedBase {
+        String describe(String text) {
+            return text;
+        }
+    }
+
+    public static class DescribedChild extends DescribedBase {
+
+    }
+
+    public static class DescribedGrandChild extends DescribedChild {
+        @Override
+        String describe(String text) {
+            return "grand " + text;
+        }
+    }
+
+    public static class Accessed {
+        private Integer value;
+        private boolean active;
+        private String hidden;
+
+        public Number getValue() {
+            return value;
+        }
+
+        public void setValue(Object value) {
+            // not a setter, the parameter type does not match
+        }
+
+        public void setValue(Integer value) {
+            this.value = value;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public static void setActive(boolean active) {
+            // not a setter, it is static
+        }
+    }
+
+    public static class AccessedChild extends Accessed {
+        private boolean active;
+
+        @Override
+        public Integer getValue() {
+            return 1;
+        }
+
+        public boolean getActive() {
+            return active;
+        }
+    }
+
     private static void checkType(String field, int index, Class<?> expected) throws NoSuchFieldException {
         final Optional<Class<?>> perhaps = ReflectTools.extractGenericType(ReflectToolsTest.class.getDeclaredField(field), index);
         Assert.assertTrue(perhaps.isPresent());
@@ -74,4 +131,25 @@ public class ReflectToolsTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void findDeclaringClassOfOverriddenMethod() {
+        Assert.assertEquals(Optional.of(DescribedBase.class), ReflectTools.findDeclaringClass(DescribedChild.class, "describe", String.class));
+        Assert.assertEquals(Optional.of(DescribedGrandChild.class), ReflectTools.findDeclaringClass(DescribedGrandChild.class, "describe", String.class));
+        Assert.assertTrue(ReflectTools.findDeclaringClass(DescribedGrandChild.class, "describe").isEmpty());
+    }
+
+    @Test
+    public void extractFieldsWithGettersAndSetters() throws NoSuchMethodException {
+        final Map<String, Method[]> methods = new HashMap<>();
+        ReflectTools.extractFieldsWithMethods(AccessedChild.class, false).forEach((field, accessors) -> methods.putIfAbsent(field.getDeclaringClass().getSimpleName() + "." + field.getName(), accessors));
+        Assert.assertEquals(Set.of("Accessed.value", "Accessed.active", "AccessedChild.active"), methods.keySet());
+        // the overriding getter has the most specific return type
+        Assert.assertEquals(AccessedChild.class.getMethod("getValue"), methods.get("Accessed.value")[ReflectTools.GETTER_INDEX]);
+        Assert.assertEquals(Integer.class, methods.get("Accessed.value")[ReflectTools.GETTER_INDEX].getReturnType());
+        Assert.assertEquals(Accessed.class.getMethod("setValue", Integer.class), methods.get("Accessed.value")[ReflectTools.SETTER_INDEX]);
+        // "is" comes before "get" for booleans
+        Assert.assertEquals(Accessed.class.getMethod("isActive"), methods.get("AccessedChild.active")[ReflectTools.GETTER_INDEX]);
+        Assert.assertNull(methods.get("AccessedChild.active")[ReflectTools.SETTER_INDEX]);
+    }
+
+}